@@ -3,6 +3,7 @@ package com.hyderabadinfra.common.events;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class PropertyEvent {
     
@@ -11,7 +12,8 @@ public class PropertyEvent {
         PROPERTY_UPDATED,
         PROPERTY_DELETED,
         PROPERTY_VIEWED,
-        PROPERTY_FAVORITED
+        PROPERTY_FAVORITED,
+        PROPERTY_UNFAVORITED
     }
     
     private String propertyId;
@@ -20,6 +22,31 @@ public class PropertyEvent {
     private BigDecimal price;
     private String location;
     private String propertyType;
+    
+    // Listing snapshot carried on create/update so read-side projections
+    // (e.g. the search-service index) don't have to call back for the row
+    private String description;
+    private String address;
+    private String city;
+    private String state;
+    private String pincode;
+    private String listingType;
+    private Integer bedrooms;
+    private Integer bathrooms;
+    private Integer areaSqft;
+    private String furnishedStatus;
+    private String amenities;
+    private String status;
+    private String contactName;
+    private String contactPhone;
+    private Boolean isFeatured;
+    private Boolean isVerified;
+    private Double latitude;
+    private Double longitude;
+    private List<String> imageUrls;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+    
     private EventType eventType;
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime timestamp;
@@ -87,6 +114,166 @@ public class PropertyEvent {
         this.propertyType = propertyType;
     }
     
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getAddress() {
+        return address;
+    }
+    
+    public void setAddress(String address) {
+        this.address = address;
+    }
+    
+    public String getCity() {
+        return city;
+    }
+    
+    public void setCity(String city) {
+        this.city = city;
+    }
+    
+    public String getState() {
+        return state;
+    }
+    
+    public void setState(String state) {
+        this.state = state;
+    }
+    
+    public String getPincode() {
+        return pincode;
+    }
+    
+    public void setPincode(String pincode) {
+        this.pincode = pincode;
+    }
+    
+    public String getListingType() {
+        return listingType;
+    }
+    
+    public void setListingType(String listingType) {
+        this.listingType = listingType;
+    }
+    
+    public Integer getBedrooms() {
+        return bedrooms;
+    }
+    
+    public void setBedrooms(Integer bedrooms) {
+        this.bedrooms = bedrooms;
+    }
+    
+    public Integer getBathrooms() {
+        return bathrooms;
+    }
+    
+    public void setBathrooms(Integer bathrooms) {
+        this.bathrooms = bathrooms;
+    }
+    
+    public Integer getAreaSqft() {
+        return areaSqft;
+    }
+    
+    public void setAreaSqft(Integer areaSqft) {
+        this.areaSqft = areaSqft;
+    }
+    
+    public String getFurnishedStatus() {
+        return furnishedStatus;
+    }
+    
+    public void setFurnishedStatus(String furnishedStatus) {
+        this.furnishedStatus = furnishedStatus;
+    }
+    
+    public String getAmenities() {
+        return amenities;
+    }
+    
+    public void setAmenities(String amenities) {
+        this.amenities = amenities;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getContactName() {
+        return contactName;
+    }
+    
+    public void setContactName(String contactName) {
+        this.contactName = contactName;
+    }
+    
+    public String getContactPhone() {
+        return contactPhone;
+    }
+    
+    public void setContactPhone(String contactPhone) {
+        this.contactPhone = contactPhone;
+    }
+    
+    public Boolean getIsFeatured() {
+        return isFeatured;
+    }
+    
+    public void setIsFeatured(Boolean isFeatured) {
+        this.isFeatured = isFeatured;
+    }
+    
+    public Boolean getIsVerified() {
+        return isVerified;
+    }
+    
+    public void setIsVerified(Boolean isVerified) {
+        this.isVerified = isVerified;
+    }
+    
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
+    public List<String> getImageUrls() {
+        return imageUrls;
+    }
+    
+    public void setImageUrls(List<String> imageUrls) {
+        this.imageUrls = imageUrls;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
     public EventType getEventType() {
         return eventType;
     }
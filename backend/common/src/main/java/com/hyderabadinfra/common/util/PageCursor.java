@@ -0,0 +1,64 @@
+package com.hyderabadinfra.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset pagination cursors.
+ *
+ * A cursor records the ordering it was issued for plus the sort key values of the
+ * last row returned (sort field value, then id). Decoding checks the ordering, so a
+ * cursor can't be replayed against a different sort. Null key values are kept distinct
+ * from empty strings.
+ */
+public final class PageCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String NULL_PART = "~";
+
+    private PageCursor() {
+    }
+
+    public static String encode(String ordering, String... keys) {
+        StringBuilder cursor = new StringBuilder(encodePart(ordering));
+        for (String key : keys) {
+            cursor.append('.').append(key != null ? encodePart(key) : NULL_PART);
+        }
+        return cursor.toString();
+    }
+
+    /**
+     * Key values of a cursor issued for {@code ordering}.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another ordering
+     */
+    public static List<String> decode(String cursor, String ordering, int keyCount) {
+        String[] parts = cursor.split("\\.", -1);
+        if (parts.length != keyCount + 1) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        List<String> keys = new ArrayList<>(keyCount + 1);
+        try {
+            for (String part : parts) {
+                keys.add(NULL_PART.equals(part) ? null : decodePart(part));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!ordering.equals(keys.remove(0))) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+        return keys;
+    }
+
+    private static String encodePart(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodePart(String value) {
+        return new String(DECODER.decode(value), StandardCharsets.UTF_8);
+    }
+}
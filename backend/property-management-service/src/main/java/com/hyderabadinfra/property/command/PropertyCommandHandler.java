@@ -3,12 +3,13 @@ package com.hyderabadinfra.property.command;
 import com.hyderabadinfra.common.events.PropertyEvents;
 import com.hyderabadinfra.common.events.UserActivityEvent;
 import com.hyderabadinfra.property.domain.Property;
+import com.hyderabadinfra.property.outbox.EventOutbox;
 import com.hyderabadinfra.property.repository.PropertyRepository;
+import com.hyderabadinfra.property.view.PropertyViewCounter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
@@ -30,7 +31,7 @@ public class PropertyCommandHandler {
     private PropertyRepository propertyRepository;
     
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private EventOutbox eventOutbox;
     
     @Autowired
     private RestTemplate restTemplate;
@@ -38,6 +39,9 @@ public class PropertyCommandHandler {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private PropertyViewCounter propertyViewCounter;
+    
     // Kafka Topics
     private static final String PROPERTY_EVENTS_TOPIC = "property-events";
     private static final String USER_ACTIVITY_TOPIC = "user-activity";
@@ -64,7 +68,8 @@ public class PropertyCommandHandler {
             property.setCreatedAt(Instant.now());
             property.setUpdatedAt(Instant.now());
             
-            Property savedProperty = propertyRepository.save(property);
+            // Flushed before the events are queued, so they are queued in commit order
+            Property savedProperty = propertyRepository.saveAndFlush(property);
             
             // Publish Property Created Event
             PropertyEvents.PropertyCreatedEvent propertyEvent = new PropertyEvents.PropertyCreatedEvent(
@@ -80,7 +85,7 @@ public class PropertyCommandHandler {
                 savedProperty.getAreaSqft()
             );
             
-            kafkaTemplate.send(PROPERTY_EVENTS_TOPIC, savedProperty.getId(), propertyEvent);
+            eventOutbox.enqueue(PROPERTY_EVENTS_TOPIC, savedProperty.getId(), propertyEvent);
             
             // Publish User Activity Event
             UserActivityEvent activityEvent = new UserActivityEvent(
@@ -90,7 +95,7 @@ public class PropertyCommandHandler {
                 savedProperty
             );
             
-            kafkaTemplate.send(USER_ACTIVITY_TOPIC, command.getUserId(), activityEvent);
+            eventOutbox.enqueue(USER_ACTIVITY_TOPIC, command.getUserId(), activityEvent);
             
             // Update user profile via RestTemplate (sync communication)
             updateUserPropertyCount(command.getUserId());
@@ -114,16 +119,14 @@ public class PropertyCommandHandler {
             Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new RuntimeException("Property not found: " + propertyId));
             
-            // Increment view count
-            property.setViewCount(property.getViewCount() + 1);
-            property.setLastViewedAt(Instant.now());
-            propertyRepository.save(property);
+            // view_count and last_viewed_at are written in batches by PropertyViewCounter
+            propertyViewCounter.recordCommandView(propertyId);
             
             // Publish Property Viewed Event
             PropertyEvents.PropertyViewedEvent viewEvent = new PropertyEvents.PropertyViewedEvent(
                 propertyId, property.getUserId(), viewerUserId);
             
-            kafkaTemplate.send(PROPERTY_EVENTS_TOPIC, propertyId, viewEvent);
+            eventOutbox.publishBestEffort(PROPERTY_EVENTS_TOPIC, propertyId, viewEvent);
             
             // Publish User Activity Event
             UserActivityEvent activityEvent = new UserActivityEvent(
@@ -133,7 +136,7 @@ public class PropertyCommandHandler {
                 property
             );
             
-            kafkaTemplate.send(USER_ACTIVITY_TOPIC, viewerUserId, activityEvent);
+            eventOutbox.publishBestEffort(USER_ACTIVITY_TOPIC, viewerUserId, activityEvent);
             
             logger.info("Property view recorded - Property: {}, Viewer: {}", propertyId, viewerUserId);
             
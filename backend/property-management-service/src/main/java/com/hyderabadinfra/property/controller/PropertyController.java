@@ -1,8 +1,11 @@
 package com.hyderabadinfra.property.controller;
 
 import com.hyderabadinfra.common.dto.ApiResponse;
+import com.hyderabadinfra.common.dto.CursorPage;
+import com.hyderabadinfra.property.dto.FavoriteResponse;
 import com.hyderabadinfra.property.dto.PropertyRequest;
 import com.hyderabadinfra.property.dto.PropertyResponse;
+import com.hyderabadinfra.property.favorite.FavoriteService;
 import com.hyderabadinfra.property.service.PropertyService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/properties")
@@ -25,6 +29,9 @@ public class PropertyController {
     @Autowired
     private PropertyService propertyService;
     
+    @Autowired
+    private FavoriteService favoriteService;
+    
     @PostMapping
     public ResponseEntity<ApiResponse<PropertyResponse>> createProperty(
             @RequestHeader("X-User-Id") String userId,
@@ -79,14 +86,19 @@ public class PropertyController {
         }
     }
     
+    // page is deprecated and only honoured without a cursor; it goes next release
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<PropertyResponse>>> getAllProperties(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<ApiResponse<CursorPage<PropertyResponse>>> getAllProperties(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
-            Page<PropertyResponse> properties = propertyService.getAllProperties(page, size, sortBy, sortDir);
+            CursorPage<PropertyResponse> properties = page != null && (cursor == null || cursor.isBlank())
+                ? propertyService.getAllProperties(page, size, sortBy, sortDir)
+                : propertyService.getAllProperties(cursor, size, sortBy, sortDir, includeTotal);
             return ResponseEntity.ok(ApiResponse.success(properties));
         } catch (Exception e) {
             logger.error("Failed to get properties - {}", e.getMessage());
@@ -94,13 +106,18 @@ public class PropertyController {
         }
     }
     
+    // page is deprecated and only honoured without a cursor; it goes next release
     @GetMapping("/my-properties")
-    public ResponseEntity<ApiResponse<Page<PropertyResponse>>> getMyProperties(
+    public ResponseEntity<ApiResponse<CursorPage<PropertyResponse>>> getMyProperties(
             @RequestHeader("X-User-Id") String userId,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
-            Page<PropertyResponse> properties = propertyService.getPropertiesByOwner(userId, page, size);
+            CursorPage<PropertyResponse> properties = page != null && (cursor == null || cursor.isBlank())
+                ? propertyService.getPropertiesByOwner(userId, page, size)
+                : propertyService.getPropertiesByOwner(userId, cursor, size, includeTotal);
             return ResponseEntity.ok(ApiResponse.success(properties));
         } catch (Exception e) {
             logger.error("Failed to get properties for user: {} - {}", userId, e.getMessage());
@@ -173,18 +190,71 @@ public class PropertyController {
     }
     
     @PostMapping("/{propertyId}/favorite")
-    public ResponseEntity<ApiResponse<String>> toggleFavorite(
+    public ResponseEntity<ApiResponse<FavoriteResponse>> toggleFavorite(
             @PathVariable String propertyId,
             @RequestHeader("X-User-Id") String userId) {
         try {
-            propertyService.toggleFavorite(propertyId, userId);
-            return ResponseEntity.ok(ApiResponse.success("Property favorited successfully"));
+            FavoriteResponse favorite = favoriteService.toggle(userId, propertyId);
+            return ResponseEntity.ok(ApiResponse.success(
+                favorite.isFavorited() ? "Property favorited successfully" : "Property unfavorited successfully", favorite));
         } catch (Exception e) {
             logger.error("Failed to toggle favorite for property: {} by user: {} - {}", propertyId, userId, e.getMessage());
             return ResponseEntity.badRequest().body(ApiResponse.error("Failed to toggle favorite", e.getMessage()));
         }
     }
     
+    @PutMapping("/{propertyId}/favorite")
+    public ResponseEntity<ApiResponse<FavoriteResponse>> addFavorite(
+            @PathVariable String propertyId,
+            @RequestHeader("X-User-Id") String userId) {
+        try {
+            FavoriteResponse favorite = favoriteService.add(userId, propertyId);
+            return ResponseEntity.ok(ApiResponse.success("Property favorited successfully", favorite));
+        } catch (Exception e) {
+            logger.error("Failed to favorite property: {} by user: {} - {}", propertyId, userId, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to favorite property", e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/{propertyId}/favorite")
+    public ResponseEntity<ApiResponse<FavoriteResponse>> removeFavorite(
+            @PathVariable String propertyId,
+            @RequestHeader("X-User-Id") String userId) {
+        try {
+            FavoriteResponse favorite = favoriteService.remove(userId, propertyId);
+            return ResponseEntity.ok(ApiResponse.success("Property unfavorited successfully", favorite));
+        } catch (Exception e) {
+            logger.error("Failed to unfavorite property: {} by user: {} - {}", propertyId, userId, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to unfavorite property", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/favorites/status")
+    public ResponseEntity<ApiResponse<Map<String, Boolean>>> getFavoriteStatus(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam List<String> propertyIds) {
+        try {
+            Map<String, Boolean> favorites = favoriteService.areFavorites(userId, propertyIds);
+            return ResponseEntity.ok(ApiResponse.success(favorites));
+        } catch (Exception e) {
+            logger.error("Failed to get favorite status for user: {} - {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to get favorite status", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/favorites")
+    public ResponseEntity<ApiResponse<List<String>>> getFavorites(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            List<String> favorites = favoriteService.favoriteIds(userId, Math.min(Math.max(limit, 1), 500));
+            return ResponseEntity.ok(ApiResponse.success(favorites));
+        } catch (Exception e) {
+            logger.error("Failed to get favorites for user: {} - {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to get favorites", e.getMessage()));
+        }
+    }
+    
     @PatchMapping("/{propertyId}/status")
     public ResponseEntity<ApiResponse<String>> updatePropertyStatus(
             @PathVariable String propertyId,
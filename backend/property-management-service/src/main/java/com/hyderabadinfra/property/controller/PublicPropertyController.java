@@ -1,8 +1,9 @@
 package com.hyderabadinfra.property.controller;
 
 import com.hyderabadinfra.common.dto.ApiResponse;
+import com.hyderabadinfra.common.dto.CursorPage;
 import com.hyderabadinfra.property.dto.PropertyResponse;
-import com.hyderabadinfra.property.service.PropertyService;
+import com.hyderabadinfra.property.readmodel.PropertyReadService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,13 +21,14 @@ public class PublicPropertyController {
     
     private static final Logger logger = LoggerFactory.getLogger(PublicPropertyController.class);
     
+    // Served from the denormalized read model; owner-facing reads stay on PropertyService
     @Autowired
-    private PropertyService propertyService;
+    private PropertyReadService propertyReadService;
     
     @GetMapping("/{propertyId}")
     public ResponseEntity<ApiResponse<PropertyResponse>> getPropertyById(@PathVariable String propertyId) {
         try {
-            PropertyResponse property = propertyService.getPropertyById(propertyId);
+            PropertyResponse property = propertyReadService.getPropertyById(propertyId);
             return ResponseEntity.ok(ApiResponse.success(property));
         } catch (Exception e) {
             logger.error("Failed to get property: {} - {}", propertyId, e.getMessage());
@@ -34,14 +36,19 @@ public class PublicPropertyController {
         }
     }
     
+    // page is deprecated and only honoured without a cursor; it goes next release
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<PropertyResponse>>> getAllProperties(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<ApiResponse<CursorPage<PropertyResponse>>> getAllProperties(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
-            Page<PropertyResponse> properties = propertyService.getAllProperties(page, size, sortBy, sortDir);
+            CursorPage<PropertyResponse> properties = page != null && (cursor == null || cursor.isBlank())
+                ? propertyReadService.getAllProperties(page, size, sortBy, sortDir)
+                : propertyReadService.getAllProperties(cursor, size, sortBy, sortDir, includeTotal);
             return ResponseEntity.ok(ApiResponse.success(properties));
         } catch (Exception e) {
             logger.error("Failed to get properties - {}", e.getMessage());
@@ -55,7 +62,7 @@ public class PublicPropertyController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            Page<PropertyResponse> properties = propertyService.searchProperties(query, page, size);
+            Page<PropertyResponse> properties = propertyReadService.searchProperties(query, page, size);
             return ResponseEntity.ok(ApiResponse.success(properties));
         } catch (Exception e) {
             logger.error("Failed to search properties with query: {} - {}", query, e.getMessage());
@@ -77,7 +84,7 @@ public class PublicPropertyController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy) {
         try {
-            Page<PropertyResponse> properties = propertyService.getPropertiesWithFilters(
+            Page<PropertyResponse> properties = propertyReadService.getPropertiesWithFilters(
                 city, propertyType, listingType, minPrice, maxPrice, bedrooms, minArea, maxArea, page, size, sortBy
             );
             return ResponseEntity.ok(ApiResponse.success(properties));
@@ -92,7 +99,7 @@ public class PublicPropertyController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            Page<PropertyResponse> properties = propertyService.getFeaturedProperties(page, size);
+            Page<PropertyResponse> properties = propertyReadService.getFeaturedProperties(page, size);
             return ResponseEntity.ok(ApiResponse.success(properties));
         } catch (Exception e) {
             logger.error("Failed to get featured properties - {}", e.getMessage());
@@ -105,7 +112,7 @@ public class PublicPropertyController {
             @PathVariable String propertyId,
             @RequestParam(defaultValue = "5") int limit) {
         try {
-            List<PropertyResponse> properties = propertyService.getSimilarProperties(propertyId, limit);
+            List<PropertyResponse> properties = propertyReadService.getSimilarProperties(propertyId, limit);
             return ResponseEntity.ok(ApiResponse.success(properties));
         } catch (Exception e) {
             logger.error("Failed to get similar properties for: {} - {}", propertyId, e.getMessage());
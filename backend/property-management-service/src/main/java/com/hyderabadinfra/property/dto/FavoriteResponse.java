@@ -0,0 +1,45 @@
+package com.hyderabadinfra.property.dto;
+
+/**
+ * A user's favorite state for one listing after a change, with the listing's new count.
+ */
+public class FavoriteResponse {
+    
+    private String propertyId;
+    private boolean favorited;
+    private long favoritesCount;
+    
+    // Constructors
+    public FavoriteResponse() {}
+    
+    public FavoriteResponse(String propertyId, boolean favorited, long favoritesCount) {
+        this.propertyId = propertyId;
+        this.favorited = favorited;
+        this.favoritesCount = favoritesCount;
+    }
+    
+    // Getters and setters
+    public String getPropertyId() {
+        return propertyId;
+    }
+    
+    public void setPropertyId(String propertyId) {
+        this.propertyId = propertyId;
+    }
+    
+    public boolean isFavorited() {
+        return favorited;
+    }
+    
+    public void setFavorited(boolean favorited) {
+        this.favorited = favorited;
+    }
+    
+    public long getFavoritesCount() {
+        return favoritesCount;
+    }
+    
+    public void setFavoritesCount(long favoritesCount) {
+        this.favoritesCount = favoritesCount;
+    }
+}
@@ -33,6 +33,7 @@ public class PropertyResponse {
     private String amenities;
     private String nearbyFacilities;
     private List<PropertyImageResponse> images;
+    private String primaryImageUrl;
     private String ownerId;
     private String contactName;
     private String contactPhone;
@@ -76,6 +77,11 @@ public class PropertyResponse {
         this.images = property.getImages().stream()
                 .map(PropertyImageResponse::new)
                 .collect(Collectors.toList());
+        this.primaryImageUrl = this.images.stream()
+                .filter(image -> Boolean.TRUE.equals(image.getIsPrimary()))
+                .map(PropertyImageResponse::getImageUrl)
+                .findFirst()
+                .orElse(this.images.isEmpty() ? null : this.images.get(0).getImageUrl());
         this.ownerId = property.getOwnerId();
         this.contactName = property.getContactName();
         this.contactPhone = property.getContactPhone();
@@ -276,6 +282,14 @@ public class PropertyResponse {
         this.images = images;
     }
     
+    public String getPrimaryImageUrl() {
+        return primaryImageUrl;
+    }
+    
+    public void setPrimaryImageUrl(String primaryImageUrl) {
+        this.primaryImageUrl = primaryImageUrl;
+    }
+    
     public String getOwnerId() {
         return ownerId;
     }
@@ -0,0 +1,77 @@
+package com.hyderabadinfra.property.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event written together with the change it describes and not yet published to Kafka.
+ * Rows are written and relayed by {@link com.hyderabadinfra.property.outbox.EventOutbox}
+ * and {@link com.hyderabadinfra.property.outbox.OutboxRelay} with plain SQL; the entity
+ * defines the table's schema.
+ */
+@Entity
+@Table(name = "property_outbox")
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "topic", nullable = false)
+    private String topic;
+    
+    @Column(name = "event_key")
+    private String eventKey;
+    
+    // The record value exactly as it is sent
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public OutboxEvent() {}
+    
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTopic() {
+        return topic;
+    }
+    
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+    
+    public String getEventKey() {
+        return eventKey;
+    }
+    
+    public void setEventKey(String eventKey) {
+        this.eventKey = eventKey;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -15,7 +15,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "properties")
+@Table(name = "properties", indexes = {
+    @Index(name = "idx_properties_status_created", columnList = "status, created_at, id"),
+    @Index(name = "idx_properties_owner_created", columnList = "owner_id, created_at, id")
+})
 public class Property {
     
     @Id
@@ -128,7 +131,8 @@ public class Property {
     @Column(name = "views_count", nullable = false)
     private Long viewsCount = 0L;
     
-    @Column(name = "favorites_count", nullable = false)
+    // Maintained by FavoriteService in SQL; a stale loaded value must not overwrite it
+    @Column(name = "favorites_count", nullable = false, updatable = false)
     private Long favoritesCount = 0L;
     
     @Column(name = "latitude")
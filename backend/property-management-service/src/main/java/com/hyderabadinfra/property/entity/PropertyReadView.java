@@ -0,0 +1,449 @@
+package com.hyderabadinfra.property.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only copy of a listing as the public endpoints return it: every
+ * {@link com.hyderabadinfra.property.dto.PropertyResponse} field, with the images
+ * pre-rendered as a JSON array and the primary image's URL. Rows are written by
+ * {@link com.hyderabadinfra.property.readmodel.PropertyReadProjector} with plain SQL
+ * and read by {@link com.hyderabadinfra.property.readmodel.PropertyReadService}; the
+ * entity defines the table's schema.
+ */
+@Entity
+@Table(name = "property_read_view", indexes = {
+    @Index(name = "idx_read_view_status_created", columnList = "status, created_at, id"),
+    @Index(name = "idx_read_view_status_price", columnList = "status, price, id"),
+    @Index(name = "idx_read_view_city_status_created", columnList = "city, status, created_at"),
+    @Index(name = "idx_read_view_featured_status_created", columnList = "is_featured, status, created_at")
+})
+public class PropertyReadView {
+    
+    @Id
+    @Column(name = "id")
+    private String id;
+    
+    @Column(name = "title")
+    private String title;
+    
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+    
+    @Column(name = "price", precision = 15, scale = 2)
+    private BigDecimal price;
+    
+    @Column(name = "location")
+    private String location;
+    
+    @Column(name = "address")
+    private String address;
+    
+    @Column(name = "city")
+    private String city;
+    
+    @Column(name = "state")
+    private String state;
+    
+    @Column(name = "pincode")
+    private String pincode;
+    
+    @Column(name = "property_type")
+    private String propertyType;
+    
+    @Column(name = "listing_type")
+    private String listingType;
+    
+    @Column(name = "bedrooms")
+    private Integer bedrooms;
+    
+    @Column(name = "bathrooms")
+    private Integer bathrooms;
+    
+    @Column(name = "area_sqft")
+    private Integer areaSqft;
+    
+    @Column(name = "parking_spaces")
+    private Integer parkingSpaces;
+    
+    @Column(name = "floor_number")
+    private Integer floorNumber;
+    
+    @Column(name = "total_floors")
+    private Integer totalFloors;
+    
+    @Column(name = "age_of_property")
+    private Integer ageOfProperty;
+    
+    @Column(name = "facing")
+    private String facing;
+    
+    @Column(name = "furnished_status")
+    private String furnishedStatus;
+    
+    @Column(name = "amenities", columnDefinition = "TEXT")
+    private String amenities;
+    
+    @Column(name = "nearby_facilities", columnDefinition = "TEXT")
+    private String nearbyFacilities;
+    
+    @Column(name = "owner_id")
+    private String ownerId;
+    
+    @Column(name = "contact_name")
+    private String contactName;
+    
+    @Column(name = "contact_phone")
+    private String contactPhone;
+    
+    @Column(name = "contact_email")
+    private String contactEmail;
+    
+    @Column(name = "is_featured")
+    private Boolean isFeatured;
+    
+    @Column(name = "is_verified")
+    private Boolean isVerified;
+    
+    @Column(name = "status")
+    private String status;
+    
+    @Column(name = "views_count")
+    private Long viewsCount;
+    
+    @Column(name = "favorites_count")
+    private Long favoritesCount;
+    
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "primary_image_url")
+    private String primaryImageUrl;
+    
+    // JSON array of PropertyResponse.PropertyImageResponse, in display order
+    @Column(name = "images", columnDefinition = "TEXT")
+    private String images;
+    
+    // When the row was last refreshed from properties
+    @Column(name = "projected_at")
+    private LocalDateTime projectedAt;
+    
+    // Constructors
+    public PropertyReadView() {}
+    
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public BigDecimal getPrice() {
+        return price;
+    }
+    
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+    
+    public String getAddress() {
+        return address;
+    }
+    
+    public void setAddress(String address) {
+        this.address = address;
+    }
+    
+    public String getCity() {
+        return city;
+    }
+    
+    public void setCity(String city) {
+        this.city = city;
+    }
+    
+    public String getState() {
+        return state;
+    }
+    
+    public void setState(String state) {
+        this.state = state;
+    }
+    
+    public String getPincode() {
+        return pincode;
+    }
+    
+    public void setPincode(String pincode) {
+        this.pincode = pincode;
+    }
+    
+    public String getPropertyType() {
+        return propertyType;
+    }
+    
+    public void setPropertyType(String propertyType) {
+        this.propertyType = propertyType;
+    }
+    
+    public String getListingType() {
+        return listingType;
+    }
+    
+    public void setListingType(String listingType) {
+        this.listingType = listingType;
+    }
+    
+    public Integer getBedrooms() {
+        return bedrooms;
+    }
+    
+    public void setBedrooms(Integer bedrooms) {
+        this.bedrooms = bedrooms;
+    }
+    
+    public Integer getBathrooms() {
+        return bathrooms;
+    }
+    
+    public void setBathrooms(Integer bathrooms) {
+        this.bathrooms = bathrooms;
+    }
+    
+    public Integer getAreaSqft() {
+        return areaSqft;
+    }
+    
+    public void setAreaSqft(Integer areaSqft) {
+        this.areaSqft = areaSqft;
+    }
+    
+    public Integer getParkingSpaces() {
+        return parkingSpaces;
+    }
+    
+    public void setParkingSpaces(Integer parkingSpaces) {
+        this.parkingSpaces = parkingSpaces;
+    }
+    
+    public Integer getFloorNumber() {
+        return floorNumber;
+    }
+    
+    public void setFloorNumber(Integer floorNumber) {
+        this.floorNumber = floorNumber;
+    }
+    
+    public Integer getTotalFloors() {
+        return totalFloors;
+    }
+    
+    public void setTotalFloors(Integer totalFloors) {
+        this.totalFloors = totalFloors;
+    }
+    
+    public Integer getAgeOfProperty() {
+        return ageOfProperty;
+    }
+    
+    public void setAgeOfProperty(Integer ageOfProperty) {
+        this.ageOfProperty = ageOfProperty;
+    }
+    
+    public String getFacing() {
+        return facing;
+    }
+    
+    public void setFacing(String facing) {
+        this.facing = facing;
+    }
+    
+    public String getFurnishedStatus() {
+        return furnishedStatus;
+    }
+    
+    public void setFurnishedStatus(String furnishedStatus) {
+        this.furnishedStatus = furnishedStatus;
+    }
+    
+    public String getAmenities() {
+        return amenities;
+    }
+    
+    public void setAmenities(String amenities) {
+        this.amenities = amenities;
+    }
+    
+    public String getNearbyFacilities() {
+        return nearbyFacilities;
+    }
+    
+    public void setNearbyFacilities(String nearbyFacilities) {
+        this.nearbyFacilities = nearbyFacilities;
+    }
+    
+    public String getOwnerId() {
+        return ownerId;
+    }
+    
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+    
+    public String getContactName() {
+        return contactName;
+    }
+    
+    public void setContactName(String contactName) {
+        this.contactName = contactName;
+    }
+    
+    public String getContactPhone() {
+        return contactPhone;
+    }
+    
+    public void setContactPhone(String contactPhone) {
+        this.contactPhone = contactPhone;
+    }
+    
+    public String getContactEmail() {
+        return contactEmail;
+    }
+    
+    public void setContactEmail(String contactEmail) {
+        this.contactEmail = contactEmail;
+    }
+    
+    public Boolean getIsFeatured() {
+        return isFeatured;
+    }
+    
+    public void setIsFeatured(Boolean isFeatured) {
+        this.isFeatured = isFeatured;
+    }
+    
+    public Boolean getIsVerified() {
+        return isVerified;
+    }
+    
+    public void setIsVerified(Boolean isVerified) {
+        this.isVerified = isVerified;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Long getViewsCount() {
+        return viewsCount;
+    }
+    
+    public void setViewsCount(Long viewsCount) {
+        this.viewsCount = viewsCount;
+    }
+    
+    public Long getFavoritesCount() {
+        return favoritesCount;
+    }
+    
+    public void setFavoritesCount(Long favoritesCount) {
+        this.favoritesCount = favoritesCount;
+    }
+    
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public String getPrimaryImageUrl() {
+        return primaryImageUrl;
+    }
+    
+    public void setPrimaryImageUrl(String primaryImageUrl) {
+        this.primaryImageUrl = primaryImageUrl;
+    }
+    
+    public String getImages() {
+        return images;
+    }
+    
+    public void setImages(String images) {
+        this.images = images;
+    }
+    
+    public LocalDateTime getProjectedAt() {
+        return projectedAt;
+    }
+    
+    public void setProjectedAt(LocalDateTime projectedAt) {
+        this.projectedAt = projectedAt;
+    }
+}
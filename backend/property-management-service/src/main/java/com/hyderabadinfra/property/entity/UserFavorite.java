@@ -0,0 +1,85 @@
+package com.hyderabadinfra.property.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One user's favorite listing. The table is written by
+ * {@link com.hyderabadinfra.property.favorite.FavoriteService} with plain SQL; the entity
+ * defines its schema.
+ */
+@Entity
+@Table(name = "user_favorites", indexes = {
+    @Index(name = "idx_user_favorites_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_user_favorites_property", columnList = "property_id")
+})
+@IdClass(UserFavorite.Key.class)
+public class UserFavorite {
+    
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    
+    @Id
+    @Column(name = "property_id", nullable = false)
+    private String propertyId;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public UserFavorite() {}
+    
+    // Getters and setters
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
+    public String getPropertyId() {
+        return propertyId;
+    }
+    
+    public void setPropertyId(String propertyId) {
+        this.propertyId = propertyId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public static class Key implements Serializable {
+        
+        private String userId;
+        private String propertyId;
+        
+        public Key() {}
+        
+        public Key(String userId, String propertyId) {
+            this.userId = userId;
+            this.propertyId = propertyId;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(propertyId, key.propertyId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, propertyId);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.hyderabadinfra.property.favorite;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Redis set of each user's favorite property ids, so "is favorited?" for a whole result
+ * page is one SMISMEMBER instead of a query.
+ *
+ * A set is loaded from user_favorites on first use and expires after {@code cache-ttl}.
+ * It always contains a marker member, so an empty but loaded set still exists and the
+ * marker doubles as the "is it loaded?" check in the same round trip.
+ *
+ * Every committed change bumps a per-user version and patches the set if it is loaded.
+ * A load only stores its rows if the version is unchanged since before it read them,
+ * so a load racing a toggle can never cache the pre-toggle state.
+ */
+@Component
+public class FavoriteMembership {
+
+    private static final String LOADED_MARKER = "~";
+
+    // KEYS: set, version. ARGV: version read before loading, ttl seconds, property ids
+    private static final RedisScript<Long> LOAD = new DefaultRedisScript<>("""
+            local version = redis.call('GET', KEYS[2]) or ''
+            if version ~= ARGV[1] then
+              return 0
+            end
+            redis.call('DEL', KEYS[1])
+            for i = 3, #ARGV do
+              redis.call('SADD', KEYS[1], ARGV[i])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS: set, version. ARGV: 'add' or 'remove', property id, ttl seconds
+    private static final RedisScript<Long> CHANGE = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[3])
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              if ARGV[1] == 'add' then
+                redis.call('SADD', KEYS[1], ARGV[2])
+              else
+                redis.call('SREM', KEYS[1], ARGV[2])
+              end
+            end
+            return 1
+            """, Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${property.favorites.cache-ttl:1h}")
+    private Duration cacheTtl;
+
+    /**
+     * Favorite state of each of {@code propertyIds}, in their order; the user's set is
+     * loaded through {@code loader} if it isn't cached.
+     */
+    public Map<String, Boolean> contains(String userId, List<String> propertyIds, Supplier<Collection<String>> loader) {
+        List<Object> members = new ArrayList<>(propertyIds.size() + 1);
+        members.add(LOADED_MARKER);
+        members.addAll(propertyIds);
+        Map<Object, Boolean> cached = redisTemplate.opsForSet().isMember(setKey(userId), members.toArray());
+
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        if (cached != null && Boolean.TRUE.equals(cached.get(LOADED_MARKER))) {
+            propertyIds.forEach(id -> result.put(id, Boolean.TRUE.equals(cached.get(id))));
+            return result;
+        }
+
+        Set<String> favorites = load(userId, loader);
+        propertyIds.forEach(id -> result.put(id, favorites.contains(id)));
+        return result;
+    }
+
+    /**
+     * Record a committed change.
+     */
+    public void changed(String userId, String propertyId, boolean favorited) {
+        redisTemplate.execute(CHANGE, List.of(setKey(userId), versionKey(userId)),
+                favorited ? "add" : "remove", propertyId, String.valueOf(cacheTtl.toSeconds()));
+    }
+
+    /**
+     * Drop a user's cached set, e.g. when a change could not be recorded.
+     */
+    public void evict(String userId) {
+        redisTemplate.delete(setKey(userId));
+    }
+
+    private Set<String> load(String userId, Supplier<Collection<String>> loader) {
+        String version = redisTemplate.opsForValue().get(versionKey(userId));
+        Set<String> favorites = new HashSet<>(loader.get());
+        List<String> args = new ArrayList<>(favorites.size() + 3);
+        args.add(version != null ? version : "");
+        args.add(String.valueOf(cacheTtl.toSeconds()));
+        args.add(LOADED_MARKER);
+        args.addAll(favorites);
+        // Not stored if a change landed meanwhile; this answer is still current as of the read
+        redisTemplate.execute(LOAD, List.of(setKey(userId), versionKey(userId)), args.toArray());
+        return favorites;
+    }
+
+    // Hash tags keep a user's keys in one cluster slot for the scripts
+    private static String setKey(String userId) {
+        return "favorites:{" + userId + "}";
+    }
+
+    private static String versionKey(String userId) {
+        return "favorites:{" + userId + "}:version";
+    }
+}
@@ -0,0 +1,233 @@
+package com.hyderabadinfra.property.favorite;
+
+import com.hyderabadinfra.common.events.PropertyEvent;
+import com.hyderabadinfra.property.dto.FavoriteResponse;
+import com.hyderabadinfra.property.outbox.EventOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-user favorites, stored as one user_favorites row per (user, listing).
+ *
+ * Adding is an {@code INSERT ... ON CONFLICT DO NOTHING} and removing a keyed DELETE, so a
+ * repeated or concurrent request can't count a favorite twice; the listing's
+ * favorites_count is adjusted by the same transaction only when a row was actually
+ * inserted or deleted, instead of being recounted. Membership checks are answered from
+ * {@link FavoriteMembership}, falling back to the table if Redis is unavailable.
+ */
+@Service
+public class FavoriteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FavoriteService.class);
+
+    private static final String INSERT_FAVORITE =
+        "INSERT INTO user_favorites (user_id, property_id, created_at) "
+            + "SELECT ?, id, ? FROM properties WHERE id = ? ON CONFLICT DO NOTHING";
+    private static final String DELETE_FAVORITE =
+        "DELETE FROM user_favorites WHERE user_id = ? AND property_id = ?";
+    private static final String ADJUST_COUNT =
+        "UPDATE properties SET favorites_count = GREATEST(favorites_count + ?, 0) WHERE id = ? "
+            + "RETURNING favorites_count, title, owner_id";
+    private static final String SELECT_COUNT =
+        "SELECT favorites_count FROM properties WHERE id = ?";
+    private static final String SELECT_FAVORITE_IDS =
+        "SELECT property_id FROM user_favorites WHERE user_id = ?";
+    private static final String SELECT_RECENT_FAVORITE_IDS =
+        "SELECT property_id FROM user_favorites WHERE user_id = ? ORDER BY created_at DESC LIMIT ?";
+    private static final String DELETE_PROPERTY_FAVORITES =
+        "DELETE FROM user_favorites WHERE property_id = ? RETURNING user_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private FavoriteMembership favoriteMembership;
+
+    @Value("${property.favorites.max-batch:100}")
+    private int maxBatch;
+
+    /**
+     * Favorite the listing if the user hasn't, otherwise unfavorite it.
+     */
+    public FavoriteResponse toggle(String userId, String propertyId) {
+        Change change = transactionTemplate.execute(status -> {
+            if (insert(userId, propertyId)) {
+                return adjustCount(userId, propertyId, 1);
+            }
+            if (delete(userId, propertyId)) {
+                return adjustCount(userId, propertyId, -1);
+            }
+            throw new RuntimeException("Property not found");
+        });
+        return applied(userId, propertyId, change);
+    }
+
+    /**
+     * Favorite the listing; a no-op if it already is.
+     */
+    public FavoriteResponse add(String userId, String propertyId) {
+        Change change = transactionTemplate.execute(status ->
+            insert(userId, propertyId) ? adjustCount(userId, propertyId, 1) : unchanged(propertyId, true));
+        return applied(userId, propertyId, change);
+    }
+
+    /**
+     * Unfavorite the listing; a no-op if it isn't favorited.
+     */
+    public FavoriteResponse remove(String userId, String propertyId) {
+        Change change = transactionTemplate.execute(status ->
+            delete(userId, propertyId) ? adjustCount(userId, propertyId, -1) : unchanged(propertyId, false));
+        return applied(userId, propertyId, change);
+    }
+
+    /**
+     * Whether the user has favorited each listing, in the order given; duplicates are collapsed.
+     */
+    public Map<String, Boolean> areFavorites(String userId, List<String> propertyIds) {
+        List<String> ids = List.copyOf(new LinkedHashSet<>(propertyIds));
+        if (ids.size() > maxBatch) {
+            throw new IllegalArgumentException("At most " + maxBatch + " properties can be checked at once");
+        }
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return favoriteMembership.contains(userId, ids, () -> loadFavoriteIds(userId));
+        } catch (Exception e) {
+            logger.warn("Favorite membership cache unavailable for user: {}, reading from database - {}",
+                userId, e.getMessage());
+            return containsFromDatabase(userId, ids);
+        }
+    }
+
+    /**
+     * The user's favorite listings, most recently favorited first.
+     */
+    public List<String> favoriteIds(String userId, int limit) {
+        return jdbcTemplate.queryForList(SELECT_RECENT_FAVORITE_IDS, String.class, userId, limit);
+    }
+
+    /**
+     * Drop a deleted listing from every user's favorites. Runs in the caller's transaction;
+     * the affected users' cached sets are updated once it commits.
+     */
+    public void removeProperty(String propertyId) {
+        List<String> userIds = jdbcTemplate.queryForList(DELETE_PROPERTY_FAVORITES, String.class, propertyId);
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Runnable uncache = () -> userIds.forEach(userId -> recordMembership(userId, propertyId, false));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    uncache.run();
+                }
+            });
+        } else {
+            uncache.run();
+        }
+    }
+
+    private boolean insert(String userId, String propertyId) {
+        return jdbcTemplate.update(INSERT_FAVORITE, userId, Timestamp.valueOf(LocalDateTime.now()), propertyId) > 0;
+    }
+
+    private boolean delete(String userId, String propertyId) {
+        return jdbcTemplate.update(DELETE_FAVORITE, userId, propertyId) > 0;
+    }
+
+    // Also queues the event, in the same transaction as the change
+    private Change adjustCount(String userId, String propertyId, int delta) {
+        List<Change> rows = jdbcTemplate.query(ADJUST_COUNT, (rs, rowNum) -> new Change(
+            delta > 0, true, rs.getLong("favorites_count"), rs.getString("title"), rs.getString("owner_id")),
+            delta, propertyId);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Property not found");
+        }
+        Change change = rows.get(0);
+        PropertyEvent propertyEvent = new PropertyEvent(
+            propertyId,
+            change.title(),
+            change.ownerId(),
+            change.favorited() ? PropertyEvent.EventType.PROPERTY_FAVORITED : PropertyEvent.EventType.PROPERTY_UNFAVORITED,
+            (change.favorited() ? "Property favorited by user: " : "Property unfavorited by user: ") + userId
+        );
+        eventOutbox.enqueue("property-events", propertyId, propertyEvent);
+        return change;
+    }
+
+    // The favorite row already was in the requested state
+    private Change unchanged(String propertyId, boolean favorited) {
+        List<Long> counts = jdbcTemplate.queryForList(SELECT_COUNT, Long.class, propertyId);
+        if (counts.isEmpty()) {
+            throw new RuntimeException("Property not found");
+        }
+        return new Change(favorited, false, counts.get(0), null, null);
+    }
+
+    // Runs after commit: the cache only ever reflects committed state
+    private FavoriteResponse applied(String userId, String propertyId, Change change) {
+        if (change.changed()) {
+            recordMembership(userId, propertyId, change.favorited());
+        }
+        return new FavoriteResponse(propertyId, change.favorited(), change.favoritesCount());
+    }
+
+    private void recordMembership(String userId, String propertyId, boolean favorited) {
+        try {
+            favoriteMembership.changed(userId, propertyId, favorited);
+        } catch (Exception e) {
+            logger.warn("Failed to update favorite membership cache for user: {} - {}", userId, e.getMessage());
+            try {
+                favoriteMembership.evict(userId);
+            } catch (Exception ignored) {
+                // The set expires after cache-ttl at the latest
+            }
+        }
+    }
+
+    private Set<String> loadFavoriteIds(String userId) {
+        return new HashSet<>(jdbcTemplate.queryForList(SELECT_FAVORITE_IDS, String.class, userId));
+    }
+
+    private Map<String, Boolean> containsFromDatabase(String userId, List<String> propertyIds) {
+        String placeholders = String.join(", ", Collections.nCopies(propertyIds.size(), "?"));
+        Object[] args = new Object[propertyIds.size() + 1];
+        args[0] = userId;
+        for (int i = 0; i < propertyIds.size(); i++) {
+            args[i + 1] = propertyIds.get(i);
+        }
+        Set<String> favorites = new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT property_id FROM user_favorites WHERE user_id = ? AND property_id IN (" + placeholders + ")",
+            String.class, args));
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        propertyIds.forEach(id -> result.put(id, favorites.contains(id)));
+        return result;
+    }
+
+    private record Change(boolean favorited, boolean changed, long favoritesCount, String title, String ownerId) {}
+}
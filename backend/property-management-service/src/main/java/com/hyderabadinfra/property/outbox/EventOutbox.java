@@ -0,0 +1,121 @@
+package com.hyderabadinfra.property.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where property-service hands its Kafka events over; request threads never talk to the
+ * broker.
+ *
+ * {@link #enqueue} writes the event to the property_outbox table in the caller's
+ * transaction, so it is published if and only if the change it describes commits;
+ * {@link OutboxRelay} sends it afterwards. Call it after the aggregate's row has been
+ * written (flushed), so that two events of one key get outbox ids in commit order.
+ *
+ * {@link #publishBestEffort} is for events that describe no change, such as views: they
+ * are sent from a background thread and dropped if the broker can't keep up, rather than
+ * costing a database write per view.
+ */
+@Component
+public class EventOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventOutbox.class);
+
+    private static final String INSERT_EVENT =
+        "INSERT INTO property_outbox (topic, event_key, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    // The mapper KafkaTemplate's JsonSerializer uses, so relayed payloads are byte-for-byte what was sent before
+    private final ObjectMapper payloadMapper = JacksonUtils.enhancedObjectMapper();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${property.outbox.best-effort-queue:10000}")
+    private int bestEffortQueue;
+
+    private Counter droppedEvents;
+    private ThreadPoolExecutor bestEffortSender;
+
+    @PostConstruct
+    public void start() {
+        droppedEvents = meterRegistry.counter("property.outbox.best_effort.dropped");
+        bestEffortSender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(bestEffortQueue), runnable -> {
+                Thread thread = new Thread(runnable, "property-event-sender");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void stop() {
+        bestEffortSender.shutdown();
+    }
+
+    /**
+     * Write an event to be published once the current transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String key, Object event) {
+        String payload;
+        try {
+            payload = payloadMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize event for " + topic + ": " + e.getMessage(), e);
+        }
+        jdbcTemplate.update(INSERT_EVENT, topic, key, payload, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Send an event in the background without any delivery guarantee.
+     */
+    public void publishBestEffort(String topic, String key, Object event) {
+        try {
+            bestEffortSender.execute(() -> {
+                try {
+                    kafkaTemplate.send(topic, key, event).whenComplete((result, e) -> {
+                        if (e != null) {
+                            dropped(topic, e);
+                        }
+                    });
+                } catch (Exception e) {
+                    dropped(topic, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            droppedEvents.increment();
+        }
+    }
+
+    private void dropped(String topic, Throwable e) {
+        droppedEvents.increment();
+        logger.debug("Failed to send best-effort event to {} - {}", topic, e.getMessage());
+    }
+}
@@ -0,0 +1,219 @@
+package com.hyderabadinfra.property.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the property_outbox table to Kafka.
+ *
+ * Every {@code poll-interval} the relay reads up to {@code batch-size} events in id
+ * order, sends them all asynchronously with their key, waits for the acks and deletes
+ * the acknowledged rows, repeating while full batches come back. Only one instance
+ * relays at a time: it holds a session advisory lock on a connection of its own for the
+ * poll, so no transaction stays open while the acks are awaited; only the deletes run in
+ * one, short transaction. Sends from one producer to a key's partition keep their order,
+ * so consumers see each listing's events in the order they were committed.
+ *
+ * Delivery is at least once: if a send fails, the rows from the failed one on stay in
+ * the table and are sent again, in order, with the next batch. Lag and throughput are
+ * reported as property.outbox.lag and property.outbox.relayed.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Arbitrary application-wide id for pg_try_advisory_lock
+    private static final long RELAY_LOCK_ID = 0x70726f706f7574L;
+
+    private static final String SELECT_BATCH =
+        "SELECT id, topic, event_key, payload, created_at FROM property_outbox ORDER BY id LIMIT ?";
+    private static final String DELETE_EVENT =
+        "DELETE FROM property_outbox WHERE id = ?";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProducerFactory<String, String> producerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${property.outbox.poll-interval:200ms}")
+    private Duration pollInterval;
+
+    @Value("${property.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${property.outbox.send-timeout:30s}")
+    private Duration sendTimeout;
+
+    @Value("${property.outbox.linger:5ms}")
+    private Duration linger;
+
+    // Age of the oldest unsent event as of the last poll
+    private final AtomicLong lagMs = new AtomicLong();
+
+    private KafkaTemplate<String, String> relayTemplate;
+    private Counter failedSends;
+    private Timer batchTimer;
+    private ScheduledExecutorService relay;
+
+    @PostConstruct
+    public void start() {
+        // Payloads are already JSON; a dedicated producer sends them as is and batches per linger
+        relayTemplate = new KafkaTemplate<>(producerFactory, Map.of(
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+            ProducerConfig.LINGER_MS_CONFIG, (int) linger.toMillis(),
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true));
+        failedSends = meterRegistry.counter("property.outbox.failed");
+        batchTimer = meterRegistry.timer("property.outbox.batch");
+        Gauge.builder("property.outbox.lag", lagMs, lag -> lag.get() / 1000.0)
+            .baseUnit("seconds").register(meterRegistry);
+        relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "property-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = pollInterval.toMillis();
+        relay.scheduleWithFixedDelay(this::relay, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        relay.shutdown();
+        try {
+            relay.awaitTermination(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (relayTemplate.getProducerFactory() instanceof DisposableBean factory) {
+            factory.destroy();
+        }
+    }
+
+    private void relay() {
+        // Not from JdbcTemplate: the lock belongs to this session and is released on it
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!advisoryLock(lockConnection, "SELECT pg_try_advisory_lock(?)")) {
+                // Another instance is relaying
+                return;
+            }
+            try {
+                while (relayBatch() == batchSize && !relay.isShutdown()) {
+                    // A full batch means there may be more waiting
+                }
+            } finally {
+                advisoryLock(lockConnection, "SELECT pg_advisory_unlock(?)");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to relay outbox events, retrying next poll - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Send and delete one batch.
+     *
+     * @return the number of events relayed
+     */
+    private int relayBatch() {
+        List<OutboxRow> rows = jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) -> new OutboxRow(
+            rs.getLong("id"), rs.getString("topic"), rs.getString("event_key"), rs.getString("payload"),
+            rs.getTimestamp("created_at").getTime()), batchSize);
+        if (rows.isEmpty()) {
+            lagMs.set(0);
+            return 0;
+        }
+        lagMs.set(Math.max(0, System.currentTimeMillis() - rows.get(0).createdAtMs()));
+        return batchTimer.record(() -> send(rows));
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, RELAY_LOCK_ID);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private int send(List<OutboxRow> rows) {
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(rows.size());
+        for (OutboxRow row : rows) {
+            sends.add(relayTemplate.send(row.topic(), row.key(), row.payload()));
+        }
+        relayTemplate.flush();
+
+        // Only the acknowledged prefix is deleted, so a retry never overtakes a later event
+        long deadline = System.currentTimeMillis() + sendTimeout.toMillis();
+        int acknowledged = 0;
+        try {
+            for (CompletableFuture<SendResult<String, String>> send : sends) {
+                send.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                acknowledged++;
+            }
+        } catch (ExecutionException | TimeoutException e) {
+            failedSends.increment();
+            logger.warn("Outbox event {} to {} not acknowledged, resending from it next poll - {}",
+                rows.get(acknowledged).id(), rows.get(acknowledged).topic(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Object[]> deletes = new ArrayList<>(acknowledged);
+        for (int i = 0; i < acknowledged; i++) {
+            OutboxRow row = rows.get(i);
+            deletes.add(new Object[]{row.id()});
+            meterRegistry.counter("property.outbox.relayed", "topic", row.topic()).increment();
+        }
+        if (!deletes.isEmpty()) {
+            // By id, not by range: a lower id may still be uncommitted and unseen
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(DELETE_EVENT, deletes));
+        }
+        return acknowledged;
+    }
+
+    private record OutboxRow(long id, String topic, String key, String payload, long createdAtMs) {}
+}
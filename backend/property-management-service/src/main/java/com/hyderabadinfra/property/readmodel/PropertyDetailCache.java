@@ -0,0 +1,179 @@
+package com.hyderabadinfra.property.readmodel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hyderabadinfra.property.dto.PropertyResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-instance cache of property detail responses, stored serialized so every hit gets
+ * its own copy to add pending views to.
+ *
+ * Entries are bounded by {@code max-entries} and {@code ttl}. When the projector applies a
+ * change to a listing, the id is published on a Redis channel that every instance
+ * subscribes to, and each drops its entry. A load that raced an invalidation is not
+ * cached, so a row read before the change can't be put back after the eviction. A missed
+ * message (e.g. while Redis was unreachable) leaves an entry stale for at most the TTL.
+ *
+ * View counts are kept fresh without evicting: each entry counts the views recorded on
+ * this instance since it was loaded, added to the count it was loaded with. Views on other
+ * instances show up when the entry is next loaded.
+ */
+@Component
+public class PropertyDetailCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyDetailCache.class);
+
+    private final Cache<String, CachedDetail> cache;
+    private final boolean enabled;
+
+    // Bumped on every eviction; a load that saw it change meanwhile isn't cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Value("${property.detail-cache.channel:property-detail-invalidations}")
+    private String channel;
+
+    private RedisMessageListenerContainer listenerContainer;
+
+    public PropertyDetailCache(MeterRegistry meterRegistry,
+                               @Value("${property.detail-cache.enabled:true}") boolean enabled,
+                               @Value("${property.detail-cache.max-entries:20000}") long maxEntries,
+                               @Value("${property.detail-cache.ttl:5m}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "property.detail");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(redisConnectionFactory);
+        listenerContainer.addMessageListener((message, pattern) ->
+            evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(channel));
+        listenerContainer.afterPropertiesSet();
+        try {
+            listenerContainer.start();
+        } catch (Exception e) {
+            // The container keeps retrying the subscription; entries expire by TTL meanwhile
+            logger.warn("Property detail cache invalidations not subscribed yet - {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    /**
+     * The cached response for {@code propertyId}, or the {@code loader}'s, which is cached
+     * unless null. Each call returns its own copy.
+     */
+    public PropertyResponse get(String propertyId, Supplier<PropertyResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CachedDetail cached = cache.getIfPresent(propertyId);
+        if (cached != null) {
+            try {
+                PropertyResponse property = objectMapper.readValue(cached.payload, PropertyResponse.class);
+                property.setViewsCount((property.getViewsCount() != null ? property.getViewsCount() : 0)
+                    + cached.viewsSinceLoad.sum());
+                return property;
+            } catch (Exception e) {
+                logger.warn("Dropping unreadable cached property {} - {}", propertyId, e.getMessage());
+                cache.invalidate(propertyId);
+            }
+        }
+
+        long seen = invalidations.get();
+        PropertyResponse loaded = loader.get();
+        if (loaded != null) {
+            try {
+                byte[] payload = objectMapper.writeValueAsBytes(loaded);
+                if (invalidations.get() == seen) {
+                    cache.put(propertyId, new CachedDetail(payload));
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to cache property {} - {}", propertyId, e.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Count a view recorded on this instance into the listing's cached count.
+     */
+    public void recordView(String propertyId) {
+        CachedDetail cached = enabled ? cache.getIfPresent(propertyId) : null;
+        if (cached != null) {
+            cached.viewsSinceLoad.increment();
+        }
+    }
+
+    /**
+     * Drop a listing's entry on every instance, this one included.
+     */
+    public void invalidate(String propertyId) {
+        evictLocal(propertyId);
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(channel, propertyId);
+        } catch (Exception e) {
+            logger.warn("Failed to publish cache invalidation for property {}, other instances expire it by TTL - {}",
+                propertyId, e.getMessage());
+        }
+    }
+
+    private void evictLocal(String propertyId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(propertyId);
+    }
+
+    private static final class CachedDetail {
+        private final byte[] payload;
+        private final LongAdder viewsSinceLoad = new LongAdder();
+
+        private CachedDetail(byte[] payload) {
+            this.payload = payload;
+        }
+    }
+}
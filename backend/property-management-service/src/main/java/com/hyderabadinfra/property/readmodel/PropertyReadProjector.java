@@ -0,0 +1,128 @@
+package com.hyderabadinfra.property.readmodel;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps property_read_view current from property-events.
+ *
+ * Events only say which listing changed: each one re-projects that listing from the
+ * properties and property_images tables with a single upsert, so the row always ends up
+ * as the latest committed state regardless of what the event carried, and replays or
+ * duplicates are harmless. A listing gone from properties is deleted from the view, and
+ * every refresh evicts the listing from each instance's {@link PropertyDetailCache}.
+ * View counts are not projected per event; {@link com.hyderabadinfra.property.view.PropertyViewCounter}
+ * adds them to both tables in the same batch.
+ *
+ * The view is shared by all instances, so they share one consumer group; events are
+ * keyed by listing, so one listing's refreshes are never concurrent.
+ */
+@Service
+public class PropertyReadProjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyReadProjector.class);
+
+    private static final List<String> COLUMNS = List.of(
+        "id", "title", "description", "price", "location", "address", "city", "state", "pincode", "property_type",
+        "listing_type", "bedrooms", "bathrooms", "area_sqft", "parking_spaces", "floor_number", "total_floors",
+        "age_of_property", "facing", "furnished_status", "amenities", "nearby_facilities", "owner_id",
+        "contact_name", "contact_phone", "contact_email", "is_featured", "is_verified", "status", "views_count",
+        "favorites_count", "latitude", "longitude", "created_at", "updated_at", "primary_image_url", "images",
+        "projected_at");
+
+    // Everything but the key is overwritten from the source row, except views_count: a
+    // PropertyViewCounter flush can land between this statement's read and its write, and
+    // counts only grow, so the larger of the two is the current one
+    private static final String ON_CONFLICT = " ON CONFLICT (id) DO UPDATE SET " + COLUMNS.stream()
+        .skip(1)
+        .map(column -> column.equals("views_count")
+            ? "views_count = GREATEST(property_read_view.views_count, EXCLUDED.views_count)"
+            : column + " = EXCLUDED." + column)
+        .collect(Collectors.joining(", "));
+
+    private static final String PROJECT_SELECT =
+        "INSERT INTO property_read_view (" + String.join(", ", COLUMNS) + ") "
+            + "SELECT p.id, p.title, p.description, p.price, p.location, p.address, p.city, p.state, p.pincode, "
+            + "p.property_type, p.listing_type, p.bedrooms, p.bathrooms, p.area_sqft, p.parking_spaces, "
+            + "p.floor_number, p.total_floors, p.age_of_property, p.facing, p.furnished_status, p.amenities, "
+            + "p.nearby_facilities, p.owner_id, p.contact_name, p.contact_phone, p.contact_email, p.is_featured, "
+            + "p.is_verified, p.status, p.views_count, p.favorites_count, p.latitude, p.longitude, p.created_at, "
+            + "p.updated_at, "
+            + "(SELECT i.image_url FROM property_images i WHERE i.property_id = p.id "
+            + "ORDER BY i.is_primary DESC, i.display_order NULLS LAST, i.created_at LIMIT 1), "
+            + "COALESCE((SELECT json_agg(json_build_object('id', i.id, 'imageUrl', i.image_url, "
+            + "'imageName', i.image_name, 'isPrimary', i.is_primary, 'displayOrder', i.display_order) "
+            + "ORDER BY i.display_order NULLS LAST, i.created_at) "
+            + "FROM property_images i WHERE i.property_id = p.id), '[]'::json)::text, "
+            + "now() "
+            + "FROM properties p ";
+
+    private static final String PROJECT_ONE = PROJECT_SELECT + "WHERE p.id = ?" + ON_CONFLICT;
+    // RETURNING follows no particular order, whatever the SELECT's ORDER BY; the loader
+    // anchors its next batch on the last id, so sort them outside the INSERT
+    private static final String PROJECT_BATCH = "WITH projected AS ("
+        + PROJECT_SELECT + "WHERE p.id > ? ORDER BY p.id LIMIT ?" + ON_CONFLICT + " RETURNING id"
+        + ") SELECT id FROM projected ORDER BY id";
+    private static final String DELETE_ONE = "DELETE FROM property_read_view WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PropertyDetailCache propertyDetailCache;
+
+    @KafkaListener(
+            topics = "property-events",
+            groupId = "property-read-view",
+            properties = {"value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"})
+    public void handlePropertyEvent(String payload) {
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            switch (node.path("eventType").asText()) {
+                case "PROPERTY_VIEWED", "PropertyViewed" -> {
+                    // Counted by PropertyViewCounter
+                }
+                case "PropertyCreated" -> refresh(node.path("aggregateId").asText());
+                default -> refresh(node.path("propertyId").asText());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to project property event to the read view - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-project one listing from the source tables, or drop it if it no longer exists.
+     */
+    public void refresh(String propertyId) {
+        if (propertyId == null || propertyId.isEmpty()) {
+            return;
+        }
+        if (jdbcTemplate.update(PROJECT_ONE, propertyId) == 0) {
+            jdbcTemplate.update(DELETE_ONE, propertyId);
+        }
+        // After the row is written, so no instance can re-cache the old one
+        propertyDetailCache.invalidate(propertyId);
+    }
+
+    /**
+     * Project the next {@code limit} listings in id order after {@code afterId} ("" for the
+     * first batch).
+     *
+     * @return the projected ids, sorted ascending
+     */
+    List<String> projectBatch(String afterId, int limit) {
+        return jdbcTemplate.queryForList(PROJECT_BATCH, String.class, afterId, limit);
+    }
+}
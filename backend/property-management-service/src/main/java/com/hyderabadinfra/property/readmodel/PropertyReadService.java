@@ -0,0 +1,439 @@
+package com.hyderabadinfra.property.readmodel;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyderabadinfra.common.dto.CursorPage;
+import com.hyderabadinfra.common.events.PropertyEvent;
+import com.hyderabadinfra.common.util.PageCursor;
+import com.hyderabadinfra.property.dto.PropertyResponse;
+import com.hyderabadinfra.property.entity.Property;
+import com.hyderabadinfra.property.outbox.EventOutbox;
+import com.hyderabadinfra.property.service.PropertyService;
+import com.hyderabadinfra.property.similar.SimilarityIndex;
+import com.hyderabadinfra.property.view.PropertyViewCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Public listing reads, served from property_read_view.
+ *
+ * Every endpoint is one query against the flat view table: no joins, no lazy image
+ * collection, and paged endpoints take their total from a window count in the same
+ * statement. The view trails writes by the outbox relay and projector delay, so the
+ * owner-facing endpoints stay on {@link PropertyService}; a listing not projected yet is
+ * answered from there too, as is everything until the initial backfill has finished.
+ * Detail lookups are served from {@link PropertyDetailCache} when cached.
+ */
+@Service
+public class PropertyReadService {
+
+    private static final String ACTIVE = "ACTIVE";
+
+    private static final String SELECT =
+        "SELECT id, title, description, price, location, address, city, state, pincode, property_type, "
+            + "listing_type, bedrooms, bathrooms, area_sqft, parking_spaces, floor_number, total_floors, "
+            + "age_of_property, facing, furnished_status, amenities, nearby_facilities, owner_id, contact_name, "
+            + "contact_phone, contact_email, is_featured, is_verified, status, views_count, favorites_count, "
+            + "latitude, longitude, created_at, updated_at, primary_image_url, images";
+
+    private static final TypeReference<List<PropertyResponse.PropertyImageResponse>> IMAGE_LIST =
+        new TypeReference<>() {};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private SimilarityIndex similarityIndex;
+
+    @Autowired
+    private PropertyViewCounter propertyViewCounter;
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private PropertyDetailCache propertyDetailCache;
+
+    private volatile boolean ready;
+
+    void markReady() {
+        ready = true;
+    }
+
+    public PropertyResponse getPropertyById(String propertyId) {
+        PropertyResponse property = ready
+            ? propertyDetailCache.get(propertyId, () -> jdbcTemplate.query(
+                    SELECT + " FROM property_read_view WHERE id = ?", this::mapRow, propertyId)
+                .stream().findFirst().map(this::withPendingViews).orElse(null))
+            : null;
+        if (property == null) {
+            // Not projected yet; the aggregate also records the view
+            return propertyService.getPropertyById(propertyId);
+        }
+
+        propertyViewCounter.recordListingView(propertyId);
+        propertyDetailCache.recordView(propertyId);
+        property.setViewsCount((property.getViewsCount() != null ? property.getViewsCount() : 0) + 1);
+
+        PropertyEvent propertyEvent = new PropertyEvent(
+            property.getId(),
+            property.getTitle(),
+            property.getOwnerId(),
+            PropertyEvent.EventType.PROPERTY_VIEWED,
+            "Property viewed"
+        );
+        eventOutbox.publishBestEffort("property-events", property.getId(), propertyEvent);
+
+        return property;
+    }
+
+    /**
+     * Active listings, keyset-paged like {@link PropertyService#getAllProperties}; cursors
+     * from either are interchangeable.
+     */
+    public CursorPage<PropertyResponse> getAllProperties(String cursor, int size, String sortBy, String sortDir,
+                                                         boolean includeTotal) {
+        if (!ready) {
+            return propertyService.getAllProperties(cursor, size, sortBy, sortDir, includeTotal);
+        }
+        return findListingPage(cursor, null, size, sortBy, sortDir, includeTotal);
+    }
+
+    /**
+     * @deprecated offset paging for clients still sending {@code page}; use the cursor overload.
+     * The page carries {@code number}, {@code totalPages} and the cursor for the next page.
+     */
+    @Deprecated
+    public CursorPage<PropertyResponse> getAllProperties(int page, int size, String sortBy, String sortDir) {
+        if (!ready) {
+            return propertyService.getAllProperties(page, size, sortBy, sortDir);
+        }
+        return findListingPage(null, page, size, sortBy, sortDir, true);
+    }
+
+    private CursorPage<PropertyResponse> findListingPage(String cursor, Integer page, int size, String sortBy,
+                                                         String sortDir, boolean includeTotal) {
+        ReadSort sort = ReadSort.of(sortBy);
+        boolean descending = Sort.Direction.fromString(sortDir).isDescending();
+        String ordering = sort.field + ":" + (descending ? "desc" : "asc");
+        String direction = descending ? "DESC" : "ASC";
+
+        StringBuilder sql = new StringBuilder(SELECT).append(" FROM property_read_view WHERE status = ?");
+        List<Object> args = new ArrayList<>(List.of(ACTIVE));
+        if (page == null && cursor != null && !cursor.isBlank()) {
+            List<String> keys = PageCursor.decode(cursor, ordering, 2);
+            // Row comparison: one range scan of the (status, sort column, id) index
+            sql.append(" AND (").append(sort.column).append(", id) ").append(descending ? "<" : ">").append(" (?, ?)");
+            args.add(sort.parser.apply(keys.get(0)));
+            args.add(keys.get(1));
+        }
+        sql.append(" ORDER BY ").append(sort.column).append(' ').append(direction)
+            .append(", id ").append(direction).append(" LIMIT ?");
+        args.add(size + 1);
+        if (page != null) {
+            sql.append(" OFFSET ?");
+            args.add((long) page * size);
+        }
+
+        List<PropertyResponse> rows = jdbcTemplate.query(sql.toString(), this::mapRow, args.toArray());
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            PropertyResponse last = rows.get(size - 1);
+            // Before pending views are merged in: the cursor holds the stored sort key
+            nextCursor = PageCursor.encode(ordering, sort.accessor.apply(last).toString(), last.getId());
+        }
+
+        Long totalElements = includeTotal
+            ? jdbcTemplate.queryForObject("SELECT count(*) FROM property_read_view WHERE status = ?", Long.class, ACTIVE)
+            : null;
+
+        List<PropertyResponse> content = rows.stream().map(this::withPendingViews).collect(Collectors.toList());
+        CursorPage<PropertyResponse> result = new CursorPage<>(content, size, nextCursor, totalElements);
+        if (page != null) {
+            result.setNumber(page);
+            result.setTotalPages(size > 0 ? (int) ((totalElements + size - 1) / size) : 1);
+        }
+        return result;
+    }
+
+    public Page<PropertyResponse> searchProperties(String searchTerm, int page, int size) {
+        if (!ready) {
+            return propertyService.searchProperties(searchTerm, page, size);
+        }
+        String pattern = "%" + escapeLike(searchTerm) + "%";
+        return findPage(
+            "status = ? AND (title ILIKE ? OR description ILIKE ? OR location ILIKE ? OR city ILIKE ?)",
+            List.of(ACTIVE, pattern, pattern, pattern, pattern), ReadSort.CREATED_AT, page, size);
+    }
+
+    public Page<PropertyResponse> getPropertiesWithFilters(
+            String city, String propertyType, String listingType,
+            BigDecimal minPrice, BigDecimal maxPrice, Integer bedrooms,
+            Integer minArea, Integer maxArea, int page, int size, String sortBy) {
+        if (!ready) {
+            return propertyService.getPropertiesWithFilters(
+                city, propertyType, listingType, minPrice, maxPrice, bedrooms, minArea, maxArea, page, size, sortBy);
+        }
+        StringBuilder where = new StringBuilder("status = ?");
+        List<Object> args = new ArrayList<>(List.of(ACTIVE));
+        if (city != null && !city.isEmpty()) {
+            where.append(" AND city = ?");
+            args.add(city);
+        }
+        if (propertyType != null && !propertyType.isEmpty()) {
+            try {
+                args.add(Property.PropertyType.valueOf(propertyType.toUpperCase()).name());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid property type: " + propertyType);
+            }
+            where.append(" AND property_type = ?");
+        }
+        if (listingType != null && !listingType.isEmpty()) {
+            try {
+                args.add(Property.ListingType.valueOf(listingType.toUpperCase()).name());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid listing type: " + listingType);
+            }
+            where.append(" AND listing_type = ?");
+        }
+        if (minPrice != null) {
+            where.append(" AND price >= ?");
+            args.add(minPrice);
+        }
+        if (maxPrice != null) {
+            where.append(" AND price <= ?");
+            args.add(maxPrice);
+        }
+        if (bedrooms != null) {
+            where.append(" AND bedrooms = ?");
+            args.add(bedrooms);
+        }
+        if (minArea != null) {
+            where.append(" AND area_sqft >= ?");
+            args.add(minArea);
+        }
+        if (maxArea != null) {
+            where.append(" AND area_sqft <= ?");
+            args.add(maxArea);
+        }
+        ReadSort sort = ReadSort.of(sortBy != null ? sortBy : ReadSort.CREATED_AT.field);
+        return findPage(where.toString(), args, sort, page, size);
+    }
+
+    public Page<PropertyResponse> getFeaturedProperties(int page, int size) {
+        if (!ready) {
+            return propertyService.getFeaturedProperties(page, size);
+        }
+        return findPage("is_featured = true AND status = ?", List.of(ACTIVE), ReadSort.CREATED_AT, page, size);
+    }
+
+    public List<PropertyResponse> getSimilarProperties(String propertyId, int limit) {
+        if (!ready) {
+            return propertyService.getSimilarProperties(propertyId, limit);
+        }
+        if (similarityIndex.isReady()) {
+            List<String> similarIds = similarityIndex.similar(propertyId, limit);
+            if (similarIds != null) {
+                return findByIds(similarIds);
+            }
+        }
+
+        // Index still loading, or the listing isn't active - match on city and type
+        List<Map<String, Object>> listing = jdbcTemplate.queryForList(
+            "SELECT city, property_type FROM property_read_view WHERE id = ?", propertyId);
+        if (listing.isEmpty()) {
+            return propertyService.getSimilarProperties(propertyId, limit);
+        }
+        return jdbcTemplate.query(
+            SELECT + " FROM property_read_view WHERE city = ? AND property_type = ? AND status = ? AND id <> ? "
+                + "ORDER BY created_at DESC, id DESC LIMIT ?",
+            this::mapRow, listing.get(0).get("city"), listing.get(0).get("property_type"), ACTIVE, propertyId, limit
+        ).stream().map(this::withPendingViews).collect(Collectors.toList());
+    }
+
+    /**
+     * One page and the total match count in a single statement, newest first within equal sort keys.
+     */
+    private Page<PropertyResponse> findPage(String where, List<Object> args, ReadSort sort, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        String sql = SELECT + ", count(*) OVER () AS total_count FROM property_read_view WHERE " + where
+            + " ORDER BY " + sort.column + " DESC, id DESC LIMIT ? OFFSET ?";
+        List<Object> pageArgs = new ArrayList<>(args);
+        pageArgs.add(size);
+        pageArgs.add(pageable.getOffset());
+
+        long[] total = {0};
+        List<PropertyResponse> rows = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            if (rowNum == 0) {
+                total[0] = rs.getLong("total_count");
+            }
+            return mapRow(rs, rowNum);
+        }, pageArgs.toArray());
+        if (rows.isEmpty() && page > 0) {
+            // Past the last page: the window count had no row to ride on
+            total[0] = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM property_read_view WHERE " + where, Long.class, args.toArray());
+        }
+        List<PropertyResponse> content = rows.stream().map(this::withPendingViews).collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, total[0]);
+    }
+
+    /**
+     * Load listings by primary key, keeping the order of {@code ids}.
+     */
+    private List<PropertyResponse> findByIds(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Map<String, PropertyResponse> byId = jdbcTemplate.query(
+                SELECT + " FROM property_read_view WHERE id IN (" + placeholders + ")", this::mapRow, ids.toArray())
+            .stream()
+            .collect(Collectors.toMap(PropertyResponse::getId, Function.identity()));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .map(this::withPendingViews)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Add the views not yet flushed by {@link PropertyViewCounter}.
+     */
+    private PropertyResponse withPendingViews(PropertyResponse property) {
+        long pendingViews = propertyViewCounter.pendingListingViews(property.getId());
+        if (pendingViews > 0) {
+            property.setViewsCount((property.getViewsCount() != null ? property.getViewsCount() : 0) + pendingViews);
+        }
+        return property;
+    }
+
+    private PropertyResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        PropertyResponse property = new PropertyResponse();
+        property.setId(rs.getString("id"));
+        property.setTitle(rs.getString("title"));
+        property.setDescription(rs.getString("description"));
+        property.setPrice(rs.getBigDecimal("price"));
+        property.setLocation(rs.getString("location"));
+        property.setAddress(rs.getString("address"));
+        property.setCity(rs.getString("city"));
+        property.setState(rs.getString("state"));
+        property.setPincode(rs.getString("pincode"));
+        property.setPropertyType(rs.getString("property_type"));
+        property.setListingType(rs.getString("listing_type"));
+        property.setBedrooms(rs.getObject("bedrooms", Integer.class));
+        property.setBathrooms(rs.getObject("bathrooms", Integer.class));
+        property.setAreaSqft(rs.getObject("area_sqft", Integer.class));
+        property.setParkingSpaces(rs.getObject("parking_spaces", Integer.class));
+        property.setFloorNumber(rs.getObject("floor_number", Integer.class));
+        property.setTotalFloors(rs.getObject("total_floors", Integer.class));
+        property.setAgeOfProperty(rs.getObject("age_of_property", Integer.class));
+        property.setFacing(rs.getString("facing"));
+        property.setFurnishedStatus(rs.getString("furnished_status"));
+        property.setAmenities(rs.getString("amenities"));
+        property.setNearbyFacilities(rs.getString("nearby_facilities"));
+        property.setOwnerId(rs.getString("owner_id"));
+        property.setContactName(rs.getString("contact_name"));
+        property.setContactPhone(rs.getString("contact_phone"));
+        property.setContactEmail(rs.getString("contact_email"));
+        property.setIsFeatured(rs.getObject("is_featured", Boolean.class));
+        property.setIsVerified(rs.getObject("is_verified", Boolean.class));
+        property.setStatus(rs.getString("status"));
+        property.setViewsCount(rs.getObject("views_count", Long.class));
+        property.setFavoritesCount(rs.getObject("favorites_count", Long.class));
+        property.setLatitude(rs.getObject("latitude", Double.class));
+        property.setLongitude(rs.getObject("longitude", Double.class));
+        property.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        property.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        property.setPrimaryImageUrl(rs.getString("primary_image_url"));
+        String images = rs.getString("images");
+        try {
+            property.setImages(images != null ? objectMapper.readValue(images, IMAGE_LIST) : List.of());
+        } catch (Exception e) {
+            throw new RuntimeException("Unreadable images in property read view for " + property.getId(), e);
+        }
+        return property;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Sort fields, with the same names, null stand-ins and cursor encoding as
+     * PropertyService's keyset sorts; {@code column} is the SQL sort expression.
+     */
+    private enum ReadSort {
+        CREATED_AT("createdAt", "created_at", value -> Timestamp.valueOf(LocalDateTime.parse(value)),
+            PropertyResponse::getCreatedAt),
+        UPDATED_AT("updatedAt", "COALESCE(updated_at, created_at)",
+            value -> Timestamp.valueOf(LocalDateTime.parse(value)),
+            property -> Objects.requireNonNullElse(property.getUpdatedAt(), property.getCreatedAt())),
+        PRICE("price", "price", BigDecimal::new, PropertyResponse::getPrice),
+        VIEWS_COUNT("viewsCount", "views_count", Long::valueOf, PropertyResponse::getViewsCount),
+        FAVORITES_COUNT("favoritesCount", "favorites_count", Long::valueOf, PropertyResponse::getFavoritesCount),
+        TITLE("title", "title", value -> value, PropertyResponse::getTitle),
+        CITY("city", "city", value -> value, PropertyResponse::getCity),
+        LOCATION("location", "location", value -> value, PropertyResponse::getLocation),
+        BEDROOMS("bedrooms", "COALESCE(bedrooms, -1)", Integer::valueOf,
+            property -> Objects.requireNonNullElse(property.getBedrooms(), -1)),
+        BATHROOMS("bathrooms", "COALESCE(bathrooms, -1)", Integer::valueOf,
+            property -> Objects.requireNonNullElse(property.getBathrooms(), -1)),
+        AREA_SQFT("areaSqft", "COALESCE(area_sqft, -1)", Integer::valueOf,
+            property -> Objects.requireNonNullElse(property.getAreaSqft(), -1));
+
+        private final String field;
+        private final String column;
+        private final Function<String, Object> parser;
+        private final Function<PropertyResponse, Object> accessor;
+
+        ReadSort(String field, String column, Function<String, Object> parser,
+                 Function<PropertyResponse, Object> accessor) {
+            this.field = field;
+            this.column = column;
+            this.parser = parser;
+            this.accessor = accessor;
+        }
+
+        static ReadSort of(String field) {
+            for (ReadSort sort : values()) {
+                if (sort.field.equals(field)) {
+                    return sort;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort field: " + field + "; sort by one of "
+                + Arrays.stream(values()).map(sort -> sort.field).collect(Collectors.joining(", ")));
+        }
+    }
+}
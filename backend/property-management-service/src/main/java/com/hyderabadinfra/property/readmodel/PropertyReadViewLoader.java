@@ -0,0 +1,70 @@
+package com.hyderabadinfra.property.readmodel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Backfills property_read_view once the service is up if it is empty (first deployment)
+ * or {@code rebuild-on-startup} is set, projecting every listing in id-keyset batches.
+ * The projector is already subscribed, so changes made meanwhile are not lost; until the
+ * backfill completes, {@link PropertyReadService} answers from the properties table.
+ */
+@Component
+public class PropertyReadViewLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyReadViewLoader.class);
+
+    @Autowired
+    private PropertyReadProjector propertyReadProjector;
+
+    @Autowired
+    private PropertyReadService propertyReadService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${property.read-view.load-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${property.read-view.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            Boolean populated = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM property_read_view)", Boolean.class);
+            if (Boolean.TRUE.equals(populated) && !rebuildOnStartup) {
+                propertyReadService.markReady();
+                return;
+            }
+
+            long started = System.currentTimeMillis();
+            long projected = 0;
+            String lastId = "";
+            List<String> batch;
+            do {
+                batch = propertyReadProjector.projectBatch(lastId, batchSize);
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1);
+                    projected += batch.size();
+                }
+            } while (batch.size() == batchSize);
+
+            propertyReadService.markReady();
+            logger.info("Property read view projected with {} listings in {} ms",
+                projected, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.error("Failed to load property read view, public reads will use the properties table - {}",
+                e.getMessage());
+        }
+    }
+}
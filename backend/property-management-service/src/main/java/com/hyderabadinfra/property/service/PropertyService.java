@@ -1,22 +1,43 @@
 package com.hyderabadinfra.property.service;
 
+import com.hyderabadinfra.common.dto.CursorPage;
 import com.hyderabadinfra.common.events.PropertyEvent;
+import com.hyderabadinfra.common.util.PageCursor;
 import com.hyderabadinfra.property.dto.PropertyRequest;
 import com.hyderabadinfra.property.dto.PropertyResponse;
 import com.hyderabadinfra.property.entity.Property;
 import com.hyderabadinfra.property.entity.PropertyImage;
+import com.hyderabadinfra.property.favorite.FavoriteService;
+import com.hyderabadinfra.property.outbox.EventOutbox;
 import com.hyderabadinfra.property.repository.PropertyRepository;
+import com.hyderabadinfra.property.similar.SimilarityIndex;
+import com.hyderabadinfra.property.view.PropertyViewCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,7 +48,19 @@ public class PropertyService {
     private PropertyRepository propertyRepository;
     
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private EventOutbox eventOutbox;
+    
+    @Autowired
+    private SimilarityIndex similarityIndex;
+    
+    @Autowired
+    private PropertyViewCounter propertyViewCounter;
+    
+    @Autowired
+    private FavoriteService favoriteService;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     public PropertyResponse createProperty(PropertyRequest request, String ownerId) {
         Property property = new Property();
@@ -51,20 +84,13 @@ public class PropertyService {
             property.setImages(images);
         }
         
-        Property savedProperty = propertyRepository.save(property);
+        // Flushed before the event is queued, so events of one listing are queued in commit order
+        Property savedProperty = propertyRepository.saveAndFlush(property);
         
         // Publish property created event
-        PropertyEvent propertyEvent = new PropertyEvent(
-            savedProperty.getId(),
-            savedProperty.getTitle(),
-            savedProperty.getOwnerId(),
-            PropertyEvent.EventType.PROPERTY_CREATED,
-            "Property created successfully"
-        );
-        propertyEvent.setPrice(savedProperty.getPrice());
-        propertyEvent.setLocation(savedProperty.getLocation());
-        propertyEvent.setPropertyType(savedProperty.getPropertyType().name());
-        kafkaTemplate.send("property-events", propertyEvent);
+        PropertyEvent propertyEvent = buildListingEvent(
+            savedProperty, PropertyEvent.EventType.PROPERTY_CREATED, "Property created successfully");
+        eventOutbox.enqueue("property-events", savedProperty.getId(), propertyEvent);
         
         return new PropertyResponse(savedProperty);
     }
@@ -80,20 +106,12 @@ public class PropertyService {
         
         mapRequestToEntity(request, property);
         
-        Property updatedProperty = propertyRepository.save(property);
+        Property updatedProperty = propertyRepository.saveAndFlush(property);
         
         // Publish property updated event
-        PropertyEvent propertyEvent = new PropertyEvent(
-            updatedProperty.getId(),
-            updatedProperty.getTitle(),
-            updatedProperty.getOwnerId(),
-            PropertyEvent.EventType.PROPERTY_UPDATED,
-            "Property updated successfully"
-        );
-        propertyEvent.setPrice(updatedProperty.getPrice());
-        propertyEvent.setLocation(updatedProperty.getLocation());
-        propertyEvent.setPropertyType(updatedProperty.getPropertyType().name());
-        kafkaTemplate.send("property-events", propertyEvent);
+        PropertyEvent propertyEvent = buildListingEvent(
+            updatedProperty, PropertyEvent.EventType.PROPERTY_UPDATED, "Property updated successfully");
+        eventOutbox.enqueue("property-events", updatedProperty.getId(), propertyEvent);
         
         return new PropertyResponse(updatedProperty);
     }
@@ -107,7 +125,9 @@ public class PropertyService {
             throw new RuntimeException("You can only delete your own properties");
         }
         
+        favoriteService.removeProperty(propertyId);
         propertyRepository.delete(property);
+        propertyRepository.flush();
         
         // Publish property deleted event
         PropertyEvent propertyEvent = new PropertyEvent(
@@ -117,16 +137,15 @@ public class PropertyService {
             PropertyEvent.EventType.PROPERTY_DELETED,
             "Property deleted successfully"
         );
-        kafkaTemplate.send("property-events", propertyEvent);
+        eventOutbox.enqueue("property-events", property.getId(), propertyEvent);
     }
     
     public PropertyResponse getPropertyById(String propertyId) {
         Property property = propertyRepository.findById(propertyId)
             .orElseThrow(() -> new RuntimeException("Property not found"));
         
-        // Increment view count
-        property.setViewsCount(property.getViewsCount() + 1);
-        propertyRepository.save(property);
+        // Counted in memory and added to the row in batches, not written per view
+        propertyViewCounter.recordListingView(propertyId);
         
         // Publish property viewed event
         PropertyEvent propertyEvent = new PropertyEvent(
@@ -136,29 +155,46 @@ public class PropertyService {
             PropertyEvent.EventType.PROPERTY_VIEWED,
             "Property viewed"
         );
-        kafkaTemplate.send("property-events", propertyEvent);
+        // Views change nothing; not worth an outbox row each
+        eventOutbox.publishBestEffort("property-events", property.getId(), propertyEvent);
         
-        return new PropertyResponse(property);
+        return toResponse(property);
     }
     
-    public Page<PropertyResponse> getAllProperties(int page, int size, String sortBy, String sortDir) {
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
-        
-        return propertyRepository.findByStatus(Property.PropertyStatus.ACTIVE, pageable)
-            .map(PropertyResponse::new);
+    public CursorPage<PropertyResponse> getAllProperties(String cursor, int size, String sortBy, String sortDir,
+                                                         boolean includeTotal) {
+        return findPage((cb, root) -> cb.equal(root.get("status"), Property.PropertyStatus.ACTIVE),
+            cursor, null, size, sortBy, sortDir, includeTotal);
     }
     
-    public Page<PropertyResponse> getPropertiesByOwner(String ownerId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return propertyRepository.findByOwnerId(ownerId, pageable)
-            .map(PropertyResponse::new);
+    /**
+     * @deprecated offset paging for clients still sending {@code page}; use the cursor overload.
+     * The page carries {@code number}, {@code totalPages} and the cursor for the next page.
+     */
+    @Deprecated
+    public CursorPage<PropertyResponse> getAllProperties(int page, int size, String sortBy, String sortDir) {
+        return findPage((cb, root) -> cb.equal(root.get("status"), Property.PropertyStatus.ACTIVE),
+            null, page, size, sortBy, sortDir, true);
+    }
+    
+    public CursorPage<PropertyResponse> getPropertiesByOwner(String ownerId, String cursor, int size, boolean includeTotal) {
+        return findPage((cb, root) -> cb.equal(root.get("ownerId"), ownerId),
+            cursor, null, size, KeysetSort.CREATED_AT.field, "desc", includeTotal);
+    }
+    
+    /**
+     * @deprecated offset paging for clients still sending {@code page}; use the cursor overload.
+     */
+    @Deprecated
+    public CursorPage<PropertyResponse> getPropertiesByOwner(String ownerId, int page, int size) {
+        return findPage((cb, root) -> cb.equal(root.get("ownerId"), ownerId),
+            null, page, size, KeysetSort.CREATED_AT.field, "desc", true);
     }
     
     public Page<PropertyResponse> searchProperties(String searchTerm, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         return propertyRepository.searchProperties(searchTerm, pageable)
-            .map(PropertyResponse::new);
+            .map(this::toResponse);
     }
     
     public Page<PropertyResponse> getPropertiesWithFilters(
@@ -189,43 +225,31 @@ public class PropertyService {
         
         return propertyRepository.findPropertiesWithFilters(
             city, propType, listType, minPrice, maxPrice, bedrooms, minArea, maxArea, pageable
-        ).map(PropertyResponse::new);
+        ).map(this::toResponse);
     }
     
     public Page<PropertyResponse> getFeaturedProperties(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         return propertyRepository.findFeaturedProperties(pageable)
-            .map(PropertyResponse::new);
+            .map(this::toResponse);
     }
     
     public List<PropertyResponse> getSimilarProperties(String propertyId, int limit) {
+        if (similarityIndex.isReady()) {
+            List<String> similarIds = similarityIndex.similar(propertyId, limit);
+            if (similarIds != null) {
+                return findByIds(similarIds);
+            }
+        }
+        
+        // Index still loading, or the listing isn't active - match on city and type
         Property property = propertyRepository.findById(propertyId)
             .orElseThrow(() -> new RuntimeException("Property not found"));
         
         Pageable pageable = PageRequest.of(0, limit);
         return propertyRepository.findSimilarProperties(
             property.getCity(), property.getPropertyType(), propertyId, pageable
-        ).stream().map(PropertyResponse::new).collect(Collectors.toList());
-    }
-    
-    public void toggleFavorite(String propertyId, String userId) {
-        Property property = propertyRepository.findById(propertyId)
-            .orElseThrow(() -> new RuntimeException("Property not found"));
-        
-        // In a real implementation, you would have a UserFavorites table
-        // For now, just increment the favorites count
-        property.setFavoritesCount(property.getFavoritesCount() + 1);
-        propertyRepository.save(property);
-        
-        // Publish property favorited event
-        PropertyEvent propertyEvent = new PropertyEvent(
-            property.getId(),
-            property.getTitle(),
-            property.getOwnerId(),
-            PropertyEvent.EventType.PROPERTY_FAVORITED,
-            "Property favorited by user: " + userId
-        );
-        kafkaTemplate.send("property-events", propertyEvent);
+        ).stream().map(this::toResponse).collect(Collectors.toList());
     }
     
     public void updatePropertyStatus(String propertyId, String status, String ownerId) {
@@ -239,10 +263,208 @@ public class PropertyService {
         
         try {
             property.setStatus(Property.PropertyStatus.valueOf(status.toUpperCase()));
-            propertyRepository.save(property);
+            propertyRepository.saveAndFlush(property);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid status: " + status);
         }
+        
+        // Publish so read models can drop listings that are no longer active
+        PropertyEvent propertyEvent = buildListingEvent(
+            property, PropertyEvent.EventType.PROPERTY_UPDATED, "Property status changed to " + property.getStatus());
+        eventOutbox.enqueue("property-events", property.getId(), propertyEvent);
+    }
+    
+    /**
+     * Response with the views not yet flushed by {@link PropertyViewCounter} included.
+     */
+    private PropertyResponse toResponse(Property property) {
+        PropertyResponse response = new PropertyResponse(property);
+        long pendingViews = propertyViewCounter.pendingListingViews(property.getId());
+        if (pendingViews > 0) {
+            response.setViewsCount((property.getViewsCount() != null ? property.getViewsCount() : 0) + pendingViews);
+        }
+        return response;
+    }
+    
+    /**
+     * Load properties by primary key, keeping the order of {@code ids}.
+     */
+    private List<PropertyResponse> findByIds(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Property> query = cb.createQuery(Property.class);
+        Root<Property> root = query.from(Property.class);
+        query.where(root.get("id").in(ids));
+        Map<String, Property> byId = entityManager.createQuery(query).getResultList().stream()
+            .collect(Collectors.toMap(Property::getId, Function.identity()));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .map(this::toResponse)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Keyset page over {@code scope}: rows strictly after the cursor's (sort key, id) in
+     * the requested order, so every page costs the same index range scan as the first.
+     * One extra row is fetched to tell whether a next page exists; the total is only
+     * counted when asked for. A non-null {@code page} takes the deprecated offset path
+     * instead of the cursor, in the same order.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private CursorPage<PropertyResponse> findPage(BiFunction<CriteriaBuilder, Root<Property>, Predicate> scope,
+                                                  String cursor, Integer page, int size, String sortBy,
+                                                  String sortDir, boolean includeTotal) {
+        KeysetSort sort = KeysetSort.of(sortBy);
+        boolean descending = Sort.Direction.fromString(sortDir).isDescending();
+        String ordering = sort.field + ":" + (descending ? "desc" : "asc");
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Property> query = cb.createQuery(Property.class);
+        Root<Property> root = query.from(Property.class);
+        Expression<Comparable> sortKey = (Expression<Comparable>) sort.key.apply(cb, root);
+        Path<String> id = root.get("id");
+        
+        List<Predicate> where = new ArrayList<>();
+        where.add(scope.apply(cb, root));
+        if (page == null && cursor != null && !cursor.isBlank()) {
+            List<String> keys = PageCursor.decode(cursor, ordering, 2);
+            Comparable lastKey = sort.parser.apply(keys.get(0));
+            String lastId = keys.get(1);
+            where.add(descending
+                ? cb.or(cb.lessThan(sortKey, lastKey), cb.and(cb.equal(sortKey, lastKey), cb.lessThan(id, lastId)))
+                : cb.or(cb.greaterThan(sortKey, lastKey), cb.and(cb.equal(sortKey, lastKey), cb.greaterThan(id, lastId))));
+        }
+        query.where(where.toArray(new Predicate[0]));
+        query.orderBy(descending
+            ? List.of(cb.desc(sortKey), cb.desc(id))
+            : List.of(cb.asc(sortKey), cb.asc(id)));
+        
+        TypedQuery<Property> pageQuery = entityManager.createQuery(query).setMaxResults(size + 1);
+        if (page != null) {
+            pageQuery.setFirstResult(page * size);
+        }
+        List<Property> rows = pageQuery.getResultList();
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Property last = rows.get(size - 1);
+            nextCursor = PageCursor.encode(ordering, sort.accessor.apply(last).toString(), last.getId());
+        }
+        
+        Long totalElements = null;
+        if (includeTotal) {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<Property> countRoot = count.from(Property.class);
+            count.select(cb.count(countRoot)).where(scope.apply(cb, countRoot));
+            totalElements = entityManager.createQuery(count).getSingleResult();
+        }
+        
+        List<PropertyResponse> content = rows.stream().map(this::toResponse).collect(Collectors.toList());
+        CursorPage<PropertyResponse> result = new CursorPage<>(content, size, nextCursor, totalElements);
+        if (page != null) {
+            result.setNumber(page);
+            result.setTotalPages(size > 0 ? (int) ((totalElements + size - 1) / size) : 1);
+        }
+        return result;
+    }
+    
+    /**
+     * Sort fields a cursor can be built on. A null sort key would drop out of the keyset
+     * comparison, so nullable columns sort on a stand-in: -1 for counts and sizes, the
+     * creation time for a missing update time. Any other field is rejected with the list
+     * of supported ones.
+     */
+    private enum KeysetSort {
+        CREATED_AT("createdAt", LocalDateTime::parse, Property::getCreatedAt),
+        UPDATED_AT("updatedAt", LocalDateTime::parse,
+            property -> Objects.requireNonNullElse(property.getUpdatedAt(), property.getCreatedAt()),
+            (cb, root) -> cb.coalesce(root.<LocalDateTime>get("updatedAt"), root.<LocalDateTime>get("createdAt"))),
+        PRICE("price", BigDecimal::new, Property::getPrice),
+        VIEWS_COUNT("viewsCount", Long::valueOf, Property::getViewsCount),
+        FAVORITES_COUNT("favoritesCount", Long::valueOf, Property::getFavoritesCount),
+        TITLE("title", value -> value, Property::getTitle),
+        CITY("city", value -> value, Property::getCity),
+        LOCATION("location", value -> value, Property::getLocation),
+        BEDROOMS("bedrooms", Integer::valueOf,
+            property -> Objects.requireNonNullElse(property.getBedrooms(), -1), nullsAs("bedrooms", -1)),
+        BATHROOMS("bathrooms", Integer::valueOf,
+            property -> Objects.requireNonNullElse(property.getBathrooms(), -1), nullsAs("bathrooms", -1)),
+        AREA_SQFT("areaSqft", Integer::valueOf,
+            property -> Objects.requireNonNullElse(property.getAreaSqft(), -1), nullsAs("areaSqft", -1));
+        
+        private final String field;
+        private final Function<String, Comparable<?>> parser;
+        private final Function<Property, Object> accessor;
+        private final BiFunction<CriteriaBuilder, Root<Property>, Expression<?>> key;
+        
+        KeysetSort(String field, Function<String, Comparable<?>> parser, Function<Property, Object> accessor) {
+            this(field, parser, accessor, (cb, root) -> root.get(field));
+        }
+        
+        KeysetSort(String field, Function<String, Comparable<?>> parser, Function<Property, Object> accessor,
+                   BiFunction<CriteriaBuilder, Root<Property>, Expression<?>> key) {
+            this.field = field;
+            this.parser = parser;
+            this.accessor = accessor;
+            this.key = key;
+        }
+        
+        private static BiFunction<CriteriaBuilder, Root<Property>, Expression<?>> nullsAs(String field, Integer value) {
+            return (cb, root) -> cb.coalesce(root.<Integer>get(field), value);
+        }
+        
+        static KeysetSort of(String field) {
+            for (KeysetSort sort : values()) {
+                if (sort.field.equals(field)) {
+                    return sort;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort field: " + field + "; sort by one of "
+                + Arrays.stream(values()).map(sort -> sort.field).collect(Collectors.joining(", ")));
+        }
+    }
+    
+    /**
+     * Build a property event carrying the full listing snapshot, so consumers
+     * can maintain their own projections without calling back into this service.
+     */
+    private PropertyEvent buildListingEvent(Property property, PropertyEvent.EventType eventType, String details) {
+        PropertyEvent propertyEvent = new PropertyEvent(
+            property.getId(),
+            property.getTitle(),
+            property.getOwnerId(),
+            eventType,
+            details
+        );
+        propertyEvent.setPrice(property.getPrice());
+        propertyEvent.setLocation(property.getLocation());
+        propertyEvent.setPropertyType(property.getPropertyType().name());
+        propertyEvent.setDescription(property.getDescription());
+        propertyEvent.setAddress(property.getAddress());
+        propertyEvent.setCity(property.getCity());
+        propertyEvent.setState(property.getState());
+        propertyEvent.setPincode(property.getPincode());
+        propertyEvent.setListingType(property.getListingType().name());
+        propertyEvent.setBedrooms(property.getBedrooms());
+        propertyEvent.setBathrooms(property.getBathrooms());
+        propertyEvent.setAreaSqft(property.getAreaSqft());
+        propertyEvent.setFurnishedStatus(property.getFurnishedStatus() != null ? property.getFurnishedStatus().name() : null);
+        propertyEvent.setAmenities(property.getAmenities());
+        propertyEvent.setStatus(property.getStatus().name());
+        propertyEvent.setContactName(property.getContactName());
+        propertyEvent.setContactPhone(property.getContactPhone());
+        propertyEvent.setIsFeatured(property.getIsFeatured());
+        propertyEvent.setIsVerified(property.getIsVerified());
+        propertyEvent.setLatitude(property.getLatitude());
+        propertyEvent.setLongitude(property.getLongitude());
+        propertyEvent.setImageUrls(property.getImages().stream()
+                .map(PropertyImage::getImageUrl)
+                .collect(Collectors.toList()));
+        propertyEvent.setCreatedAt(property.getCreatedAt());
+        return propertyEvent;
     }
     
     private void mapRequestToEntity(PropertyRequest request, Property property) {
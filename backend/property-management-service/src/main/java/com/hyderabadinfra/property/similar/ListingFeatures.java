@@ -0,0 +1,93 @@
+package com.hyderabadinfra.property.similar;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Feature vector of a listing for {@link SimilarityIndex}.
+ *
+ * Dimensions are scaled so that one unit is roughly one "noticeable" difference:
+ * 50% in price per sqft or in area, one bedroom, 5 km of distance. Property type is
+ * one-hot and weighted so a different type costs two units; amenities are hashed into
+ * a few dimensions and normalized, so identical amenity lists coincide and disjoint ones
+ * differ by about two units. Missing values contribute zero to their dimension.
+ */
+final class ListingFeatures {
+
+    static final int DIMENSIONS = 16;
+
+    private static final double LOG_STEP = Math.log(1.5);
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double KM_PER_UNIT = 5.0;
+    private static final double PROPERTY_TYPE_WEIGHT = Math.sqrt(2.0);
+    private static final double AMENITIES_WEIGHT = 1.5;
+
+    private static final int PRICE_PER_SQFT = 0;
+    private static final int AREA = 1;
+    private static final int BEDROOMS = 2;
+    private static final int NORTH = 3;
+    private static final int EAST = 4;
+    private static final int PROPERTY_TYPE_FROM = 5;
+    private static final int PROPERTY_TYPE_DIMENSIONS = 5;
+    private static final int AMENITIES_FROM = PROPERTY_TYPE_FROM + PROPERTY_TYPE_DIMENSIONS;
+    private static final int AMENITY_DIMENSIONS = DIMENSIONS - AMENITIES_FROM;
+
+    private ListingFeatures() {}
+
+    static double[] vector(BigDecimal price, Integer areaSqft, Integer bedrooms, String propertyType,
+                           String amenities, Double latitude, Double longitude) {
+        double[] vector = new double[DIMENSIONS];
+        if (areaSqft != null && areaSqft > 0) {
+            vector[AREA] = Math.log(areaSqft) / LOG_STEP;
+            if (price != null && price.signum() > 0) {
+                vector[PRICE_PER_SQFT] = Math.log(price.doubleValue() / areaSqft) / LOG_STEP;
+            }
+        }
+        if (bedrooms != null) {
+            vector[BEDROOMS] = bedrooms;
+        }
+        if (latitude != null && longitude != null) {
+            vector[NORTH] = latitude * KM_PER_DEGREE / KM_PER_UNIT;
+            vector[EAST] = longitude * KM_PER_DEGREE * Math.cos(Math.toRadians(latitude)) / KM_PER_UNIT;
+        }
+        if (propertyType != null) {
+            // Two types sharing a slot look alike; with ten types that is accepted for a smaller vector
+            int slot = Math.floorMod(propertyType.toUpperCase(Locale.ROOT).hashCode(), PROPERTY_TYPE_DIMENSIONS);
+            vector[PROPERTY_TYPE_FROM + slot] = PROPERTY_TYPE_WEIGHT;
+        }
+        addAmenities(vector, amenities);
+        return vector;
+    }
+
+    static double distanceSquared(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            double delta = a[i] - b[i];
+            sum += delta * delta;
+        }
+        return sum;
+    }
+
+    private static void addAmenities(double[] vector, String amenities) {
+        if (amenities == null || amenities.isBlank()) {
+            return;
+        }
+        String[] items = amenities.split(",");
+        double norm = 0;
+        for (String item : items) {
+            String amenity = item.trim().toLowerCase(Locale.ROOT);
+            if (!amenity.isEmpty()) {
+                vector[AMENITIES_FROM + Math.floorMod(amenity.hashCode(), AMENITY_DIMENSIONS)] += 1;
+            }
+        }
+        for (int i = AMENITIES_FROM; i < DIMENSIONS; i++) {
+            norm += vector[i] * vector[i];
+        }
+        if (norm > 0) {
+            double scale = AMENITIES_WEIGHT / Math.sqrt(norm);
+            for (int i = AMENITIES_FROM; i < DIMENSIONS; i++) {
+                vector[i] *= scale;
+            }
+        }
+    }
+}
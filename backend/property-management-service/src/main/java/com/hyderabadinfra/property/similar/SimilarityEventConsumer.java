@@ -0,0 +1,59 @@
+package com.hyderabadinfra.property.similar;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyderabadinfra.common.events.PropertyEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps {@link SimilarityIndex} current from property-events. Create/update events carry
+ * the full listing, so each one replaces the listing's vector; listings that are no
+ * longer active are dropped. Every instance holds its own index, hence a per-instance
+ * consumer group.
+ */
+@Service
+public class SimilarityEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarityEventConsumer.class);
+
+    private static final String ACTIVE_STATUS = "ACTIVE";
+
+    @Autowired
+    private SimilarityIndex similarityIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "property-events",
+            groupId = "property-similar-${random.uuid}",
+            properties = {"value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"})
+    public void handlePropertyEvent(String payload) {
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            switch (node.path("eventType").asText()) {
+                case "PROPERTY_CREATED", "PROPERTY_UPDATED" -> apply(objectMapper.treeToValue(node, PropertyEvent.class));
+                case "PROPERTY_DELETED" -> similarityIndex.remove(node.path("propertyId").asText());
+                default -> {
+                    // Views, favourites and CQRS events don't change the feature vector
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to apply property event to similarity index - {}", e.getMessage());
+        }
+    }
+
+    private void apply(PropertyEvent event) {
+        if (event.getStatus() != null && !ACTIVE_STATUS.equals(event.getStatus())) {
+            similarityIndex.remove(event.getPropertyId());
+            return;
+        }
+        similarityIndex.upsert(event.getPropertyId(), event.getListingType(), ListingFeatures.vector(
+                event.getPrice(), event.getAreaSqft(), event.getBedrooms(), event.getPropertyType(),
+                event.getAmenities(), event.getLatitude(), event.getLongitude()));
+    }
+}
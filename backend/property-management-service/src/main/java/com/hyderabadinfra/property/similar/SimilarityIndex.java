@@ -0,0 +1,266 @@
+package com.hyderabadinfra.property.similar;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory nearest-neighbour index over active listings for "similar properties".
+ *
+ * Listings are {@link ListingFeatures} vectors hashed into {@code tables} random-projection
+ * LSH tables (p-stable hashing: each table concatenates {@code hashes-per-table} projections
+ * floor((a.v + b) / w)), so nearby vectors share buckets. A query gathers the listing's own
+ * buckets, probes the adjacent buckets when those are too sparse, and ranks only that
+ * candidate set by exact distance. Listings of different listing types (sale/rent/PG) are
+ * never compared.
+ *
+ * Loaded by {@link SimilarityIndexLoader} and kept current by {@link SimilarityEventConsumer}.
+ */
+@Component
+public class SimilarityIndex {
+
+    // Probe neighbouring buckets until this many candidates per requested result are found
+    private static final int CANDIDATES_PER_RESULT = 4;
+
+    @Value("${property.similar.tables:16}")
+    private int tableCount;
+
+    @Value("${property.similar.hashes-per-table:8}")
+    private int hashesPerTable;
+
+    @Value("${property.similar.bucket-width:4.0}")
+    private double bucketWidth;
+
+    @Value("${property.similar.seed:20240601}")
+    private long seed;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Set<String> removedDuringLoad = new HashSet<>();
+
+    private List<Map<Long, Set<String>>> tables;
+    private double[][][] projections;
+    private double[][] offsets;
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void initHashes() {
+        // Fixed seed: every instance buckets listings the same way
+        Random random = new Random(seed);
+        projections = new double[tableCount][hashesPerTable][ListingFeatures.DIMENSIONS];
+        offsets = new double[tableCount][hashesPerTable];
+        tables = new ArrayList<>(tableCount);
+        for (int t = 0; t < tableCount; t++) {
+            for (int k = 0; k < hashesPerTable; k++) {
+                for (int d = 0; d < ListingFeatures.DIMENSIONS; d++) {
+                    projections[t][k][d] = random.nextGaussian();
+                }
+                offsets[t][k] = random.nextDouble() * bucketWidth;
+            }
+            tables.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Insert or replace an active listing. Called from the event consumer.
+     */
+    void upsert(String id, String listingType, double[] vector) {
+        Entry entry = entry(id, listingType, vector);
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+            addEntry(entry);
+            removedDuringLoad.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Insert a listing read from the database, unless an event already inserted or deleted it.
+     */
+    void load(String id, String listingType, double[] vector) {
+        Entry entry = entry(id, listingType, vector);
+        lock.writeLock().lock();
+        try {
+            if (!entries.containsKey(id) && !removedDuringLoad.contains(id)) {
+                addEntry(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                removedDuringLoad.add(id);
+            }
+            removeEntry(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of up to {@code limit} listings most similar to {@code id}, closest first,
+     * or null if {@code id} is not an indexed listing.
+     */
+    public List<String> similar(String id, int limit) {
+        lock.readLock().lock();
+        try {
+            Entry source = entries.get(id);
+            if (source == null) {
+                return null;
+            }
+            Set<String> candidates = new HashSet<>();
+            for (int t = 0; t < tableCount; t++) {
+                addBucket(candidates, t, source.hashes[t], source);
+            }
+            if (candidates.size() <= limit * CANDIDATES_PER_RESULT) {
+                // Multi-probe: neighbours one step away along each projection
+                for (int t = 0; t < tableCount; t++) {
+                    int[] probe = source.hashes[t].clone();
+                    for (int k = 0; k < hashesPerTable; k++) {
+                        for (int step = -1; step <= 1; step += 2) {
+                            probe[k] = source.hashes[t][k] + step;
+                            addBucket(candidates, t, probe, source);
+                        }
+                        probe[k] = source.hashes[t][k];
+                    }
+                }
+            }
+            candidates.remove(id);
+            return nearest(source, candidates, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        lock.writeLock().lock();
+        try {
+            ready = true;
+            removedDuringLoad.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<String> nearest(Entry source, Set<String> candidates, int limit) {
+        // Max-heap on distance holding the closest candidates so far
+        Comparator<Map.Entry<String, Double>> byDistance = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<String, Double>> best = new PriorityQueue<>(limit + 1, byDistance.reversed());
+        for (String candidateId : candidates) {
+            Entry candidate = entries.get(candidateId);
+            if (candidate == null || !candidate.listingType.equals(source.listingType)) {
+                continue;
+            }
+            best.add(Map.entry(candidateId, ListingFeatures.distanceSquared(source.vector, candidate.vector)));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(best);
+        ranked.sort(byDistance.thenComparing(Map.Entry.comparingByKey()));
+        List<String> ids = new ArrayList<>(ranked.size());
+        for (Map.Entry<String, Double> hit : ranked) {
+            ids.add(hit.getKey());
+        }
+        return ids;
+    }
+
+    private void addBucket(Set<String> candidates, int table, int[] hashes, Entry source) {
+        Set<String> bucket = tables.get(table).get(bucketKey(source.listingType, table, hashes));
+        if (bucket != null) {
+            candidates.addAll(bucket);
+        }
+    }
+
+    private Entry entry(String id, String listingType, double[] vector) {
+        int[][] hashes = new int[tableCount][hashesPerTable];
+        for (int t = 0; t < tableCount; t++) {
+            for (int k = 0; k < hashesPerTable; k++) {
+                double projection = offsets[t][k];
+                for (int d = 0; d < vector.length; d++) {
+                    projection += projections[t][k][d] * vector[d];
+                }
+                hashes[t][k] = (int) Math.floor(projection / bucketWidth);
+            }
+        }
+        return new Entry(id, listingType != null ? listingType : "", vector, hashes);
+    }
+
+    private void addEntry(Entry entry) {
+        entries.put(entry.id, entry);
+        for (int t = 0; t < tableCount; t++) {
+            tables.get(t).computeIfAbsent(bucketKey(entry.listingType, t, entry.hashes[t]), key -> new HashSet<>())
+                    .add(entry.id);
+        }
+    }
+
+    private void removeEntry(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (int t = 0; t < tableCount; t++) {
+            long key = bucketKey(entry.listingType, t, entry.hashes[t]);
+            Set<String> bucket = tables.get(t).get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    tables.get(t).remove(key);
+                }
+            }
+        }
+    }
+
+    private static long bucketKey(String listingType, int table, int[] hashes) {
+        long key = listingType.hashCode() * 31L + table;
+        for (int hash : hashes) {
+            key = key * 1_000_003L + hash;
+        }
+        return key;
+    }
+
+    private static final class Entry {
+        private final String id;
+        private final String listingType;
+        private final double[] vector;
+        private final int[][] hashes;
+
+        Entry(String id, String listingType, double[] vector, int[][] hashes) {
+            this.id = id;
+            this.listingType = listingType;
+            this.vector = vector;
+            this.hashes = hashes;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.hyderabadinfra.property.similar;
+
+import com.hyderabadinfra.property.entity.Property;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills {@link SimilarityIndex} with the active listings once the service is up.
+ * Only the feature columns are selected, in id-keyset batches. The property-events
+ * consumer is already subscribed, so changes made during the load are not lost;
+ * until the load completes similar properties are answered from the database.
+ */
+@Component
+public class SimilarityIndexLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarityIndexLoader.class);
+
+    @Autowired
+    private SimilarityIndex similarityIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${property.similar.load-batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        try {
+            String lastId = null;
+            List<Tuple> batch;
+            do {
+                batch = nextBatch(lastId);
+                for (Tuple row : batch) {
+                    similarityIndex.load(
+                        row.get("id", String.class),
+                        row.get("listingType", Property.ListingType.class).name(),
+                        ListingFeatures.vector(
+                            row.get("price", BigDecimal.class),
+                            row.get("areaSqft", Integer.class),
+                            row.get("bedrooms", Integer.class),
+                            row.get("propertyType", Property.PropertyType.class).name(),
+                            row.get("amenities", String.class),
+                            row.get("latitude", Double.class),
+                            row.get("longitude", Double.class)));
+                }
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).get("id", String.class);
+                }
+            } while (batch.size() == batchSize);
+
+            similarityIndex.markReady();
+            logger.info("Similarity index ready with {} listings in {} ms",
+                similarityIndex.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.error("Failed to load similarity index, similar properties will be queried from the database - {}",
+                e.getMessage());
+        }
+    }
+
+    private List<Tuple> nextBatch(String lastId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Property> root = query.from(Property.class);
+        query.multiselect(
+            root.get("id").alias("id"),
+            root.get("listingType").alias("listingType"),
+            root.get("price").alias("price"),
+            root.get("areaSqft").alias("areaSqft"),
+            root.get("bedrooms").alias("bedrooms"),
+            root.get("propertyType").alias("propertyType"),
+            root.get("amenities").alias("amenities"),
+            root.get("latitude").alias("latitude"),
+            root.get("longitude").alias("longitude"));
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(root.get("status"), Property.PropertyStatus.ACTIVE));
+        if (lastId != null) {
+            where.add(cb.greaterThan(root.get("id"), lastId));
+        }
+        query.where(where.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(batchSize).getResultList();
+    }
+}
@@ -0,0 +1,152 @@
+package com.hyderabadinfra.property.view;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Property view counts, accumulated in memory and written in batches.
+ *
+ * A detail view used to be a read-modify-write of the properties row, so every view of a
+ * popular listing queued behind the previous one's row lock. Views are now counted in
+ * {@link StripedCounter}s and added to the row every {@code flush-interval} with one
+ * batched {@code UPDATE ... SET views_count = views_count + ?}. Rows are updated in id order,
+ * so concurrent flushes from several instances cannot deadlock. Reads add the pending
+ * count to the stored one.
+ *
+ * The listing API's {@code views_count} and the CQRS command side's {@code view_count}
+ * are counted separately. A crash loses at most one interval of views; a failed flush
+ * is retried with the next one.
+ */
+@Component
+public class PropertyViewCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyViewCounter.class);
+
+    private static final String LISTING_VIEWS_UPDATE =
+        "UPDATE properties SET views_count = views_count + ? WHERE id = ?";
+    private static final String READ_VIEW_VIEWS_UPDATE =
+        "UPDATE property_read_view SET views_count = views_count + ? WHERE id = ?";
+    private static final String COMMAND_VIEWS_UPDATE =
+        "UPDATE properties SET view_count = COALESCE(view_count, 0) + ?, last_viewed_at = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${property.views.flush-interval:5s}")
+    private Duration flushInterval;
+
+    private final StripedCounter listingViews = new StripedCounter();
+    private final StripedCounter commandViews = new StripedCounter();
+
+    private Counter flushedViews;
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        flushedViews = meterRegistry.counter("property.views.flushed");
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "property-view-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Count a view from the listing API ({@code views_count}).
+     */
+    public void recordListingView(String propertyId) {
+        listingViews.increment(propertyId);
+    }
+
+    /**
+     * Listing API views not yet written to the row.
+     */
+    public long pendingListingViews(String propertyId) {
+        return listingViews.pending(propertyId);
+    }
+
+    /**
+     * Count a view from the CQRS command side ({@code view_count}).
+     */
+    public void recordCommandView(String propertyId) {
+        commandViews.increment(propertyId);
+    }
+
+    public long pendingCommandViews(String propertyId) {
+        return commandViews.pending(propertyId);
+    }
+
+    synchronized void flush() {
+        Map<String, Long> listingDeltas = new TreeMap<>(listingViews.drain());
+        Map<String, Long> commandDeltas = new TreeMap<>(commandViews.drain());
+        if (listingDeltas.isEmpty() && commandDeltas.isEmpty()) {
+            return;
+        }
+        try {
+            Timestamp viewedAt = Timestamp.from(Instant.now());
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(LISTING_VIEWS_UPDATE, rows(listingDeltas, null));
+                // The public read model is kept in step in the same transaction
+                jdbcTemplate.batchUpdate(READ_VIEW_VIEWS_UPDATE, rows(listingDeltas, null));
+                jdbcTemplate.batchUpdate(COMMAND_VIEWS_UPDATE, rows(commandDeltas, viewedAt));
+            });
+            listingViews.written();
+            commandViews.written();
+            long total = listingDeltas.values().stream().mapToLong(Long::longValue).sum()
+                + commandDeltas.values().stream().mapToLong(Long::longValue).sum();
+            flushedViews.increment(total);
+            logger.debug("Flushed {} views for {} properties", total, listingDeltas.size() + commandDeltas.size());
+        } catch (Exception e) {
+            listingViews.restore(listingDeltas);
+            commandViews.restore(commandDeltas);
+            logger.error("Failed to flush property view counts, retrying next interval - {}", e.getMessage());
+        }
+    }
+
+    private static List<Object[]> rows(Map<String, Long> deltas, Timestamp viewedAt) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((propertyId, delta) -> rows.add(viewedAt != null
+            ? new Object[]{delta, viewedAt, propertyId}
+            : new Object[]{delta, propertyId}));
+        return rows;
+    }
+}
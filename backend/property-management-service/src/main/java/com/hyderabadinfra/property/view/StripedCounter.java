@@ -0,0 +1,92 @@
+package com.hyderabadinfra.property.view;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key {@link LongAdder}s holding increments not yet written to the database.
+ *
+ * A LongAdder spreads concurrent increments of one hot key over per-thread cells, so
+ * recording a view never contends on a shared word, let alone a row lock.
+ * {@link #drain()} takes every adder's delta with {@code sumThenReset}, which clears
+ * each cell atomically, so an increment racing the drain lands in either this
+ * delta or the next one.
+ *
+ * Keys idle for a whole drain are dropped from the map. A caller may have looked up a
+ * slot just before it was dropped, so the drain marks it retired before summing it a
+ * last time, and an incrementer re-checks the mark after incrementing: whichever side
+ * comes second picks the increment up, and a late one is moved to a live slot.
+ */
+final class StripedCounter {
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    // Deltas taken by the last drain until their write commits, so reads don't dip meanwhile
+    private volatile Map<String, Long> writing = Map.of();
+
+    void increment(String key) {
+        add(key, 1);
+    }
+
+    /**
+     * Increments not yet written.
+     */
+    long pending(String key) {
+        Slot slot = slots.get(key);
+        return (slot != null ? slot.adder.sum() : 0) + writing.getOrDefault(key, 0L);
+    }
+
+    /**
+     * Take and reset all deltas; keys with nothing to write are left out. Called from a
+     * single flushing thread.
+     */
+    Map<String, Long> drain() {
+        Map<String, Long> deltas = new HashMap<>();
+        for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+            Slot slot = entry.getValue();
+            long delta = slot.adder.sumThenReset();
+            if (delta == 0 && slots.remove(entry.getKey(), slot)) {
+                slot.retired = true;
+                delta = slot.adder.sumThenReset();
+            }
+            if (delta > 0) {
+                deltas.merge(entry.getKey(), delta, Long::sum);
+            }
+        }
+        writing = deltas;
+        return deltas;
+    }
+
+    /**
+     * The deltas of the last drain are committed.
+     */
+    void written() {
+        writing = Map.of();
+    }
+
+    /**
+     * Put back deltas that could not be written, to be retried with the next drain.
+     */
+    void restore(Map<String, Long> deltas) {
+        deltas.forEach(this::add);
+        writing = Map.of();
+    }
+
+    private void add(String key, long delta) {
+        Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+        slot.adder.add(delta);
+        if (slot.retired) {
+            // The drain may have summed the slot before this add; move whatever it left behind
+            long late = slot.adder.sumThenReset();
+            if (late > 0) {
+                add(key, late);
+            }
+        }
+    }
+
+    private static final class Slot {
+        private final LongAdder adder = new LongAdder();
+        private volatile boolean retired;
+    }
+}
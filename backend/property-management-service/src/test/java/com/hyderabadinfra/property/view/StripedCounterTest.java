@@ -0,0 +1,127 @@
+package com.hyderabadinfra.property.view;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedCounterTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 2_000_000;
+
+    @Test
+    void concurrentIncrementsAreFlushedExactlyOnceWhileDrainingAndEvicting() throws Exception {
+        StripedCounter counter = new StripedCounter();
+        Map<String, Long> flushed = new HashMap<>();
+        Map<String, Long> expected = new HashMap<>();
+        AtomicBoolean stop = new AtomicBoolean();
+
+        // Hot keys contend on their adders; the long tail goes idle between drains and is evicted
+        String[] keys = new String[5003];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = k < 3 ? "hot-" + k : "cold-" + k;
+        }
+        List<int[]> keysByThread = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            int[] picks = new int[INCREMENTS_PER_THREAD];
+            for (int i = 0; i < picks.length; i++) {
+                picks[i] = random.nextInt(10) == 0 ? 3 + random.nextInt(5000) : random.nextInt(3);
+                expected.merge(keys[picks[i]], 1L, Long::sum);
+            }
+            keysByThread.add(picks);
+        }
+
+        Thread flusher = new Thread(() -> {
+            while (!stop.get()) {
+                counter.drain().forEach((key, delta) -> flushed.merge(key, delta, Long::sum));
+                counter.written();
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            flusher.start();
+            List<Future<?>> increments = new ArrayList<>();
+            for (int[] picks : keysByThread) {
+                increments.add(pool.submit(() -> {
+                    for (int pick : picks) {
+                        counter.increment(keys[pick]);
+                    }
+                }));
+            }
+            for (Future<?> increment : increments) {
+                increment.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            stop.set(true);
+            flusher.join();
+            pool.shutdownNow();
+        }
+        counter.drain().forEach((key, delta) -> flushed.merge(key, delta, Long::sum));
+        counter.written();
+
+        assertEquals((long) THREADS * INCREMENTS_PER_THREAD,
+            flushed.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(expected, flushed);
+        assertTrue(counter.drain().isEmpty());
+    }
+
+    @Test
+    void pendingIncludesDeltasBeingWrittenUntilTheyAreCommitted() {
+        StripedCounter counter = new StripedCounter();
+        counter.increment("listing");
+        counter.increment("listing");
+
+        assertEquals(Map.of("listing", 2L), counter.drain());
+        counter.increment("listing");
+        assertEquals(3, counter.pending("listing"));
+
+        counter.written();
+        assertEquals(1, counter.pending("listing"));
+    }
+
+    @Test
+    void restoredDeltasAreRetriedWithTheNextDrain() {
+        StripedCounter counter = new StripedCounter();
+        counter.increment("listing");
+        Map<String, Long> failed = counter.drain();
+
+        counter.increment("listing");
+        counter.restore(failed);
+
+        assertEquals(2, counter.pending("listing"));
+        assertEquals(Map.of("listing", 2L), counter.drain());
+    }
+
+    @Test
+    void idleKeysAreEvictedAndCountFromZeroWhenSeenAgain() {
+        StripedCounter counter = new StripedCounter();
+        counter.increment("listing");
+        counter.drain();
+        counter.written();
+
+        // Idle for a whole drain: dropped from the map
+        assertTrue(counter.drain().isEmpty());
+        assertEquals(0, counter.pending("listing"));
+
+        counter.increment("listing");
+        assertEquals(Map.of("listing", 1L), counter.drain());
+    }
+}
@@ -3,9 +3,11 @@ package com.hyderabadinfra.search;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication(scanBasePackages = {"com.hyderabadinfra"})
 @EnableKafka
+@EnableAsync
 public class SearchServiceApplication {
     
     public static void main(String[] args) {
@@ -0,0 +1,42 @@
+package com.hyderabadinfra.search.alert;
+
+import com.hyderabadinfra.search.index.IndexedListing;
+import com.hyderabadinfra.search.index.ListingTokenizer;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A new listing's fields normalized once, so checking it against many saved searches
+ * doesn't re-normalize or re-tokenize per candidate.
+ */
+final class PercolatedListing {
+
+    final IndexedListing listing;
+    final String city;
+    final String pincode;
+    final String propertyType;
+    final String listingType;
+    final String furnishedStatus;
+    final BigDecimal price;
+    final Integer bedrooms;
+    final Integer areaSqft;
+    final Set<String> terms = new HashSet<>();
+
+    PercolatedListing(IndexedListing listing) {
+        this.listing = listing;
+        this.city = ListingTokenizer.keyword(listing.getCity());
+        this.pincode = ListingTokenizer.keyword(listing.getPincode());
+        this.propertyType = ListingTokenizer.keyword(listing.getPropertyType());
+        this.listingType = ListingTokenizer.keyword(listing.getListingType());
+        this.furnishedStatus = ListingTokenizer.keyword(listing.getFurnishedStatus());
+        this.price = listing.getPrice();
+        this.bedrooms = listing.getBedrooms();
+        this.areaSqft = listing.getAreaSqft();
+        terms.addAll(ListingTokenizer.tokenize(listing.getTitle()));
+        terms.addAll(ListingTokenizer.tokenize(listing.getDescription()));
+        terms.addAll(ListingTokenizer.tokenize(listing.getLocation()));
+        terms.addAll(ListingTokenizer.tokenize(listing.getCity()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.hyderabadinfra.search.alert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyderabadinfra.common.events.PropertyEvent;
+import com.hyderabadinfra.common.events.PropertyEvents;
+import com.hyderabadinfra.search.index.IndexedListing;
+import com.hyderabadinfra.search.index.ListingMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Percolates newly created listings from property-events against saved searches.
+ *
+ * Unlike the index consumer this uses one consumer group shared by all search-service
+ * instances, so each new listing is matched, and alerted, exactly once.
+ */
+@Service
+public class PropertyAlertConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyAlertConsumer.class);
+
+    private static final String ACTIVE_STATUS = "ACTIVE";
+
+    @Autowired
+    private SavedSearchPercolator savedSearchPercolator;
+
+    @Autowired
+    private PropertyAlertDispatcher propertyAlertDispatcher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "property-events",
+            groupId = "search-alerts",
+            autoStartup = "${search.alerts.enabled:true}",
+            properties = {"value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"})
+    public void handlePropertyEvent(String payload) {
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            switch (node.path("eventType").asText()) {
+                case "PROPERTY_CREATED" -> {
+                    PropertyEvent event = objectMapper.treeToValue(node, PropertyEvent.class);
+                    if (event.getStatus() == null || ACTIVE_STATUS.equals(event.getStatus())) {
+                        percolate(ListingMapper.merge(null, event), event.getOwnerId());
+                    }
+                }
+                case "PropertyCreated" -> {
+                    PropertyEvents.PropertyCreatedEvent event =
+                            objectMapper.treeToValue(node, PropertyEvents.PropertyCreatedEvent.class);
+                    percolate(ListingMapper.fromCreatedEvent(event), event.getUserId());
+                }
+                default -> {
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to percolate property event - {}", e.getMessage());
+        }
+    }
+
+    private void percolate(IndexedListing listing, String ownerId) {
+        List<SavedSearchMatcher> matches = savedSearchPercolator.match(listing, ownerId);
+        if (!matches.isEmpty()) {
+            propertyAlertDispatcher.enqueue(matches, listing);
+            logger.debug("Property {} matched {} saved searches", listing.getId(), matches.size());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.hyderabadinfra.search.alert;
+
+import com.hyderabadinfra.common.events.NotificationEvent;
+import com.hyderabadinfra.search.index.IndexedListing;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects saved-search matches per user and sends them as one PROPERTY_ALERT
+ * notification per user every {@code flush-interval}, instead of one email per match.
+ * Each alert lists at most {@code max-listings-per-alert} listings plus the total count.
+ */
+@Component
+public class PropertyAlertDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyAlertDispatcher.class);
+
+    private static final String NOTIFICATION_TOPIC = "notification-events";
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.alerts.flush-interval:1m}")
+    private Duration flushInterval;
+
+    @Value("${search.alerts.max-listings-per-alert:10}")
+    private int maxListingsPerAlert;
+
+    private Map<String, PendingAlert> pending = new HashMap<>();
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-alert-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    void enqueue(List<SavedSearchMatcher> matches, IndexedListing listing) {
+        synchronized (this) {
+            for (SavedSearchMatcher match : matches) {
+                PendingAlert alert = pending.computeIfAbsent(match.userId(), userId -> new PendingAlert());
+                if (match.email() != null) {
+                    alert.email = match.email();
+                }
+                if (match.name() != null) {
+                    alert.searchNames.add(match.name());
+                }
+                if (!alert.listings.containsKey(listing.getId())) {
+                    alert.totalListings++;
+                    if (alert.listings.size() < maxListingsPerAlert) {
+                        alert.listings.put(listing.getId(), summary(listing));
+                    }
+                }
+            }
+        }
+        meterRegistry.counter("search.alerts.matches").increment(matches.size());
+    }
+
+    private void flush() {
+        Map<String, PendingAlert> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        int sent = 0;
+        for (Map.Entry<String, PendingAlert> entry : batch.entrySet()) {
+            PendingAlert alert = entry.getValue();
+            if (alert.email == null) {
+                logger.debug("Skipping property alert for user {} without an email address", entry.getKey());
+                continue;
+            }
+            try {
+                kafkaTemplate.send(NOTIFICATION_TOPIC, entry.getKey(), toNotification(entry.getKey(), alert));
+                sent++;
+            } catch (Exception e) {
+                logger.error("Failed to send property alert for user {} - {}", entry.getKey(), e.getMessage());
+            }
+        }
+        meterRegistry.counter("search.alerts.sent").increment(sent);
+        logger.debug("Sent {} property alerts", sent);
+    }
+
+    private NotificationEvent toNotification(String userId, PendingAlert alert) {
+        String subject = alert.totalListings == 1
+                ? "A new property matches your saved search"
+                : alert.totalListings + " new properties match your saved searches";
+        NotificationEvent event = new NotificationEvent(userId, alert.email,
+                NotificationEvent.NotificationType.EMAIL, NotificationEvent.EventType.PROPERTY_ALERT, subject,
+                "New listings matching " + String.join(", ", alert.searchNames) + " were just posted.");
+        Map<String, Object> templateData = new HashMap<>();
+        templateData.put("properties", new ArrayList<>(alert.listings.values()));
+        templateData.put("totalMatches", alert.totalListings);
+        templateData.put("savedSearches", new ArrayList<>(alert.searchNames));
+        event.setTemplateData(templateData);
+        return event;
+    }
+
+    private static Map<String, Object> summary(IndexedListing listing) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("id", listing.getId());
+        summary.put("title", listing.getTitle());
+        summary.put("price", listing.getPrice());
+        summary.put("location", listing.getLocation());
+        summary.put("city", listing.getCity());
+        summary.put("propertyType", listing.getPropertyType());
+        summary.put("listingType", listing.getListingType());
+        summary.put("bedrooms", listing.getBedrooms());
+        summary.put("areaSqft", listing.getAreaSqft());
+        return summary;
+    }
+
+    private static final class PendingAlert {
+        private String email;
+        private final Set<String> searchNames = new LinkedHashSet<>();
+        private final Map<String, Map<String, Object>> listings = new LinkedHashMap<>();
+        private int totalListings;
+    }
+}
@@ -0,0 +1,127 @@
+package com.hyderabadinfra.search.alert;
+
+import com.hyderabadinfra.search.entity.SavedSearch;
+import com.hyderabadinfra.search.index.ListingTokenizer;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Immutable, pre-normalized copy of a saved search's criteria, evaluated against single
+ * listings. Keyword fields and query terms are normalized the same way as in
+ * {@link com.hyderabadinfra.search.index.PropertySearchIndex}, so an alert matches
+ * exactly what running the saved search would return.
+ */
+final class SavedSearchMatcher {
+
+    private final String id;
+    private final String userId;
+    private final String email;
+    private final String name;
+    private final String city;
+    private final String pincode;
+    private final String propertyType;
+    private final String listingType;
+    private final String furnishedStatus;
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+    private final Integer bedrooms;
+    private final Integer minArea;
+    private final Integer maxArea;
+    private final List<String> queryTerms;
+
+    SavedSearchMatcher(SavedSearch search) {
+        this.id = search.getId();
+        this.userId = search.getUserId();
+        this.email = search.getEmail();
+        this.name = search.getName();
+        this.city = ListingTokenizer.keyword(search.getCity());
+        this.pincode = ListingTokenizer.keyword(search.getPincode());
+        this.propertyType = ListingTokenizer.keyword(search.getPropertyType());
+        this.listingType = ListingTokenizer.keyword(search.getListingType());
+        this.furnishedStatus = ListingTokenizer.keyword(search.getFurnishedStatus());
+        this.minPrice = search.getMinPrice();
+        this.maxPrice = search.getMaxPrice();
+        this.bedrooms = search.getBedrooms();
+        this.minArea = search.getMinArea();
+        this.maxArea = search.getMaxArea();
+        this.queryTerms = List.copyOf(new LinkedHashSet<>(ListingTokenizer.tokenize(search.getQuery())));
+    }
+
+    boolean matches(PercolatedListing listing) {
+        if (!keywordMatches(city, listing.city)
+                || !keywordMatches(pincode, listing.pincode)
+                || !keywordMatches(propertyType, listing.propertyType)
+                || !keywordMatches(listingType, listing.listingType)
+                || !keywordMatches(furnishedStatus, listing.furnishedStatus)) {
+            return false;
+        }
+        if (minPrice != null || maxPrice != null) {
+            BigDecimal price = listing.price;
+            if (price == null
+                    || (minPrice != null && price.compareTo(minPrice) < 0)
+                    || (maxPrice != null && price.compareTo(maxPrice) > 0)) {
+                return false;
+            }
+        }
+        if (bedrooms != null && !bedrooms.equals(listing.bedrooms)) {
+            return false;
+        }
+        if (minArea != null || maxArea != null) {
+            Integer area = listing.areaSqft;
+            if (area == null || (minArea != null && area < minArea) || (maxArea != null && area > maxArea)) {
+                return false;
+            }
+        }
+        return listing.terms.containsAll(queryTerms);
+    }
+
+    private static boolean keywordMatches(String expected, String actual) {
+        return expected == null || expected.equals(actual);
+    }
+
+    String id() {
+        return id;
+    }
+
+    String userId() {
+        return userId;
+    }
+
+    String email() {
+        return email;
+    }
+
+    String name() {
+        return name;
+    }
+
+    String city() {
+        return city;
+    }
+
+    String pincode() {
+        return pincode;
+    }
+
+    String propertyType() {
+        return propertyType;
+    }
+
+    String listingType() {
+        return listingType;
+    }
+
+    Integer bedrooms() {
+        return bedrooms;
+    }
+
+    BigDecimal minPrice() {
+        return minPrice;
+    }
+
+    BigDecimal maxPrice() {
+        return maxPrice;
+    }
+}
@@ -0,0 +1,191 @@
+package com.hyderabadinfra.search.alert;
+
+import com.hyderabadinfra.search.entity.SavedSearch;
+import com.hyderabadinfra.search.index.IndexedListing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index of saved searches, so a new listing is only checked against the
+ * searches that could possibly match it.
+ *
+ * Every search is filed under its city, property type, listing type, bedrooms and pincode
+ * ({@code *} for each one unset) and under each price band its price range overlaps
+ * ({@code -1} when it has no price bounds). A listing probes every combination of its own
+ * values and the wildcards - at most 64 lookups - and only the candidates found there get
+ * the full criteria check, so the work per listing follows the number of plausible
+ * searches rather than the number of saved searches.
+ */
+@Component
+public class SavedSearchPercolator {
+
+    private static final String ANY = "*";
+    private static final int ANY_BAND = -1;
+    // city, property type, listing type, bedrooms, pincode
+    private static final int KEY_FIELDS = 5;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.alerts.price-bands:15000,30000,60000,1000000,3000000,6000000,10000000,20000000}")
+    private long[] priceBands;
+
+    // Copy-on-write arrays: writes are rare and serialized, reads iterate without locking
+    private final Map<String, SavedSearchMatcher[]> buckets = new ConcurrentHashMap<>();
+    private final Map<String, SavedSearchMatcher> registered = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gaugeMapSize("search.alerts.saved-searches", Tags.empty(), registered);
+    }
+
+    /**
+     * Add or replace a saved search; inactive searches are removed.
+     */
+    public synchronized void register(SavedSearch search) {
+        unregister(search.getId());
+        if (!Boolean.TRUE.equals(search.getActive())) {
+            return;
+        }
+        SavedSearchMatcher matcher = new SavedSearchMatcher(search);
+        for (String key : keys(matcher)) {
+            SavedSearchMatcher[] bucket = buckets.get(key);
+            if (bucket == null) {
+                buckets.put(key, new SavedSearchMatcher[] {matcher});
+            } else {
+                SavedSearchMatcher[] grown = Arrays.copyOf(bucket, bucket.length + 1);
+                grown[bucket.length] = matcher;
+                buckets.put(key, grown);
+            }
+        }
+        registered.put(matcher.id(), matcher);
+    }
+
+    public synchronized void unregister(String savedSearchId) {
+        SavedSearchMatcher matcher = registered.remove(savedSearchId);
+        if (matcher == null) {
+            return;
+        }
+        for (String key : keys(matcher)) {
+            SavedSearchMatcher[] bucket = buckets.get(key);
+            if (bucket == null) {
+                continue;
+            }
+            SavedSearchMatcher[] shrunk = new SavedSearchMatcher[bucket.length - 1];
+            int size = 0;
+            for (SavedSearchMatcher entry : bucket) {
+                if (entry != matcher && size < shrunk.length) {
+                    shrunk[size++] = entry;
+                }
+            }
+            if (size == 0) {
+                buckets.remove(key);
+            } else {
+                buckets.put(key, shrunk);
+            }
+        }
+    }
+
+    /**
+     * Saved searches matching a new listing, excluding the listing owner's own searches.
+     * Each search is filed under exactly one of the probed keys, so none is returned twice.
+     */
+    List<SavedSearchMatcher> match(IndexedListing listing, String ownerId) {
+        PercolatedListing percolated = new PercolatedListing(listing);
+        String[] values = {percolated.city, percolated.propertyType, percolated.listingType,
+                percolated.bedrooms != null ? percolated.bedrooms.toString() : null, percolated.pincode};
+        int[] bands = percolated.price != null ? new int[] {band(percolated.price), ANY_BAND} : new int[] {ANY_BAND};
+
+        List<SavedSearchMatcher> matches = new ArrayList<>();
+        String[] probe = new String[KEY_FIELDS];
+        for (int wildcards = 0; wildcards < 1 << KEY_FIELDS; wildcards++) {
+            if (!probeKey(values, wildcards, probe)) {
+                continue;
+            }
+            for (int band : bands) {
+                SavedSearchMatcher[] bucket = buckets.get(key(probe, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (SavedSearchMatcher candidate : bucket) {
+                    if (!candidate.userId().equals(ownerId) && candidate.matches(percolated)) {
+                        matches.add(candidate);
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Fill {@code probe} with the listing's values, using the wildcard where the bit is set.
+     * False when a field left unset in the probe has no value on the listing.
+     */
+    private static boolean probeKey(String[] values, int wildcards, String[] probe) {
+        for (int field = 0; field < KEY_FIELDS; field++) {
+            if ((wildcards & (1 << field)) != 0) {
+                probe[field] = ANY;
+            } else if (values[field] == null) {
+                return false;
+            } else {
+                probe[field] = values[field];
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return registered.size();
+    }
+
+    private List<String> keys(SavedSearchMatcher matcher) {
+        String[] fields = {matcher.city(), matcher.propertyType(), matcher.listingType(),
+                matcher.bedrooms() != null ? matcher.bedrooms().toString() : null, matcher.pincode()};
+        for (int field = 0; field < KEY_FIELDS; field++) {
+            if (fields[field] == null) {
+                fields[field] = ANY;
+            }
+        }
+        List<String> keys = new ArrayList<>();
+        if (matcher.minPrice() == null && matcher.maxPrice() == null) {
+            keys.add(key(fields, ANY_BAND));
+            return keys;
+        }
+        int from = matcher.minPrice() != null ? band(matcher.minPrice()) : 0;
+        int to = matcher.maxPrice() != null ? band(matcher.maxPrice()) : priceBands.length;
+        for (int band = from; band <= to; band++) {
+            keys.add(key(fields, band));
+        }
+        return keys;
+    }
+
+    /**
+     * Number of band upper bounds below the price; prices above the last bound share the open-ended top band.
+     */
+    private int band(BigDecimal price) {
+        int band = 0;
+        while (band < priceBands.length && price.compareTo(BigDecimal.valueOf(priceBands[band])) > 0) {
+            band++;
+        }
+        return band;
+    }
+
+    private static String key(String[] fields, int band) {
+        StringBuilder key = new StringBuilder(64);
+        for (String field : fields) {
+            key.append(field).append('|');
+        }
+        return key.append(band).toString();
+    }
+}
@@ -0,0 +1,163 @@
+package com.hyderabadinfra.search.alert;
+
+import com.hyderabadinfra.search.dto.SavedSearchRequest;
+import com.hyderabadinfra.search.dto.SearchRequest;
+import com.hyderabadinfra.search.entity.SavedSearch;
+import com.hyderabadinfra.search.repository.SavedSearchRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saved search CRUD, keeping {@link SavedSearchPercolator} in step with saved_searches.
+ *
+ * All active searches are loaded before the Kafka listeners start. Changes made on this
+ * instance apply immediately; changes made on other instances are picked up every
+ * {@code refresh-interval} by polling rows updated since the last poll.
+ */
+@Service
+public class SavedSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchService.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private SavedSearchPercolator savedSearchPercolator;
+
+    @Value("${search.alerts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.alerts.max-saved-searches-per-user:20}")
+    private int maxPerUser;
+
+    @Value("${search.alerts.refresh-interval:30s}")
+    private Duration refreshInterval;
+
+    private volatile LocalDateTime refreshedUpTo;
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            load();
+        } catch (Exception e) {
+            logger.error("Failed to load saved searches, retrying on the next refresh - {}", e.getMessage());
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-saved-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::refresh, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    public SavedSearch createSavedSearch(String userId, String email, SavedSearchRequest request) {
+        SearchRequest criteria = request.getCriteria();
+        if (criteria == null) {
+            throw new RuntimeException("Saved search criteria are required");
+        }
+        if (savedSearchRepository.countByUserIdAndActiveTrue(userId) >= maxPerUser) {
+            throw new RuntimeException("A user can have at most " + maxPerUser + " saved searches");
+        }
+
+        SavedSearch search = new SavedSearch();
+        search.setUserId(userId);
+        search.setEmail(email != null ? email : request.getEmail());
+        search.setName(request.getName());
+        search.setQuery(criteria.getQuery());
+        search.setCity(criteria.getCity());
+        search.setPincode(criteria.getPincode());
+        search.setPropertyType(criteria.getPropertyType());
+        search.setListingType(criteria.getListingType());
+        search.setMinPrice(criteria.getMinPrice());
+        search.setMaxPrice(criteria.getMaxPrice());
+        search.setBedrooms(criteria.getBedrooms());
+        search.setMinArea(criteria.getMinArea());
+        search.setMaxArea(criteria.getMaxArea());
+        search.setFurnishedStatus(criteria.getFurnishedStatus());
+
+        SavedSearch saved = savedSearchRepository.save(search);
+        savedSearchPercolator.register(saved);
+        logger.info("Saved search {} created for user {}", saved.getId(), userId);
+        return saved;
+    }
+
+    public List<SavedSearch> getSavedSearches(String userId) {
+        return savedSearchRepository.findByUserIdAndActiveTrueOrderByCreatedAtDesc(userId);
+    }
+
+    public void deleteSavedSearch(String userId, String savedSearchId) {
+        SavedSearch search = savedSearchRepository.findByIdAndUserId(savedSearchId, userId)
+                .orElseThrow(() -> new RuntimeException("Saved search not found"));
+        search.setActive(false);
+        savedSearchRepository.save(search);
+        savedSearchPercolator.unregister(savedSearchId);
+        logger.info("Saved search {} deleted for user {}", savedSearchId, userId);
+    }
+
+    private void load() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        String lastId = "";
+        int loaded = 0;
+        List<SavedSearch> batch;
+        do {
+            batch = savedSearchRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (SavedSearch search : batch) {
+                savedSearchPercolator.register(search);
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+                loaded += batch.size();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        // Rows changed while loading are replayed by the first refresh
+        refreshedUpTo = startedAt;
+        logger.info("Loaded {} saved searches for property alerts", loaded);
+    }
+
+    private void refresh() {
+        try {
+            if (refreshedUpTo == null) {
+                load();
+                return;
+            }
+            LocalDateTime polledAt = LocalDateTime.now();
+            // Overlap the previous poll so rows committed late by another instance are not missed
+            List<SavedSearch> changed = savedSearchRepository.findByUpdatedAtAfterOrderByUpdatedAtAsc(
+                    refreshedUpTo.minus(refreshInterval));
+            for (SavedSearch search : changed) {
+                savedSearchPercolator.register(search);
+            }
+            refreshedUpTo = polledAt;
+        } catch (Exception e) {
+            logger.error("Failed to refresh saved searches - {}", e.getMessage());
+        }
+    }
+}
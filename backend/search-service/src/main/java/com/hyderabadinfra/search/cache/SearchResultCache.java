@@ -0,0 +1,202 @@
+package com.hyderabadinfra.search.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.hyderabadinfra.search.dto.PropertySearchResult;
+import com.hyderabadinfra.search.dto.SearchRequest;
+import com.hyderabadinfra.search.index.IndexedListing;
+import com.hyderabadinfra.search.index.ListingChangeListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of scored search result pages, keyed by a canonical form of the
+ * {@link SearchRequest} so equivalent searches ("2BHK Gachibowli rent", " 2bhk  gachibowli RENT")
+ * share one entry.
+ *
+ * Entries expire by size and TTL, and are dropped early when a property event touches
+ * the city or property type they were filtered on. Hit/miss/eviction counters are
+ * published as the {@code search.results} cache metrics.
+ */
+@Component
+public class SearchResultCache implements ListingChangeListener {
+
+    private static final String ANY_TAG = "*";
+
+    private final Cache<String, CachedPage> cache;
+
+    // Invalidation tag -> cache keys depending on it
+    private final Map<String, Set<String>> keysByTag = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+
+    public SearchResultCache(MeterRegistry meterRegistry,
+                             @Value("${search.cache.enabled:true}") boolean enabled,
+                             @Value("${search.cache.max-entries:10000}") long maxEntries,
+                             @Value("${search.cache.ttl:60s}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                // Run removal callbacks inline so untagging can't race a re-put of the same key
+                .executor(Runnable::run)
+                .removalListener((String key, CachedPage page, RemovalCause cause) -> {
+                    // A replaced entry keeps its key, so it stays tagged
+                    if (key != null && page != null && cause != RemovalCause.REPLACED) {
+                        untag(page.tag, key);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "search.results");
+    }
+
+    public CachedPage get(SearchRequest request) {
+        return enabled ? cache.getIfPresent(canonicalKey(request)) : null;
+    }
+
+    public void put(SearchRequest request, List<PropertySearchResult> results, long totalHits, String nextCursor) {
+        if (!enabled) {
+            return;
+        }
+        String key = canonicalKey(request);
+        String tag = dependencyTag(request);
+        keysByTag.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(key);
+        cache.put(key, new CachedPage(List.copyOf(results), totalHits, nextCursor, tag));
+    }
+
+    @Override
+    public void onListingChanged(IndexedListing before, IndexedListing after) {
+        invalidate(ANY_TAG);
+        if (before != null) {
+            invalidateFor(before);
+        }
+        if (after != null) {
+            invalidateFor(after);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private void invalidateFor(IndexedListing listing) {
+        if (listing.getCity() != null) {
+            invalidate("city:" + normalize(listing.getCity()));
+        }
+        if (listing.getPropertyType() != null) {
+            invalidate("type:" + normalize(listing.getPropertyType()));
+        }
+    }
+
+    private void invalidate(String tag) {
+        Set<String> keys = keysByTag.remove(tag);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    private void untag(String tag, String key) {
+        Set<String> keys = keysByTag.get(tag);
+        if (keys != null) {
+            keys.remove(key);
+        }
+    }
+
+    /**
+     * The narrowest filter that bounds which listings can appear in the result:
+     * a change elsewhere cannot alter this page.
+     */
+    static String dependencyTag(SearchRequest request) {
+        if (normalize(request.getCity()) != null) {
+            return "city:" + normalize(request.getCity());
+        }
+        if (normalize(request.getPropertyType()) != null) {
+            return "type:" + normalize(request.getPropertyType());
+        }
+        return ANY_TAG;
+    }
+
+    /**
+     * Filters in a fixed order, strings trimmed/lowercased, numbers in plain form.
+     */
+    public static String canonicalKey(SearchRequest request) {
+        StringBuilder key = new StringBuilder(128);
+        append(key, "q", normalizeQuery(request.getQuery()));
+        append(key, "city", normalize(request.getCity()));
+        append(key, "state", normalize(request.getState()));
+        append(key, "pincode", normalize(request.getPincode()));
+        append(key, "type", normalize(request.getPropertyType()));
+        append(key, "listing", normalize(request.getListingType()));
+        append(key, "minPrice", plain(request.getMinPrice()));
+        append(key, "maxPrice", plain(request.getMaxPrice()));
+        append(key, "beds", request.getBedrooms());
+        append(key, "baths", request.getBathrooms());
+        append(key, "minArea", request.getMinArea());
+        append(key, "maxArea", request.getMaxArea());
+        append(key, "furnished", normalize(request.getFurnishedStatus()));
+        append(key, "lat", request.getLatitude());
+        append(key, "lon", request.getLongitude());
+        append(key, "radius", request.getRadiusKm());
+        append(key, "sort", normalize(request.getSortBy()));
+        append(key, "order", normalize(request.getSortOrder()));
+        append(key, "page", request.getPage());
+        append(key, "size", request.getSize());
+        append(key, "cursor", request.getCursor());
+        return key.toString();
+    }
+
+    private static void append(StringBuilder key, String name, Object value) {
+        if (value != null) {
+            key.append(name).append('=').append(value).append('|');
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeQuery(String query) {
+        String normalized = normalize(query);
+        return normalized != null ? normalized.replaceAll("\\s+", " ") : null;
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : null;
+    }
+
+    /**
+     * One cached, already scored result page.
+     */
+    public static class CachedPage {
+        private final List<PropertySearchResult> results;
+        private final long totalHits;
+        private final String nextCursor;
+        private final String tag;
+
+        CachedPage(List<PropertySearchResult> results, long totalHits, String nextCursor, String tag) {
+            this.results = results;
+            this.totalHits = totalHits;
+            this.nextCursor = nextCursor;
+            this.tag = tag;
+        }
+
+        public List<PropertySearchResult> getResults() { return results; }
+        public long getTotalHits() { return totalHits; }
+        public String getNextCursor() { return nextCursor; }
+    }
+}
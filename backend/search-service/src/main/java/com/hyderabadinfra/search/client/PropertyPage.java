@@ -0,0 +1,45 @@
+package com.hyderabadinfra.search.client;
+
+/**
+ * Page metadata of a property-service listing page; the listings themselves are
+ * handed to the caller's sink as they are decoded.
+ */
+public class PropertyPage {
+
+    private long totalElements;
+    private boolean last;
+    private int listingCount;
+    private String nextCursor;
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public boolean isLast() {
+        return last;
+    }
+
+    public void setLast(boolean last) {
+        this.last = last;
+    }
+
+    public int getListingCount() {
+        return listingCount;
+    }
+
+    public void setListingCount(int listingCount) {
+        this.listingCount = listingCount;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,200 @@
+package com.hyderabadinfra.search.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hyderabadinfra.search.index.IndexedListing;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming decoder for property-service's {@code ApiResponse<Page<PropertyResponse>>}
+ * and {@code ApiResponse<CursorPage<PropertyResponse>>}.
+ *
+ * Walks the token stream once and fills each listing's fields directly, so no
+ * intermediate Map/JsonNode tree is built and numbers are read in their native type.
+ * Fields search doesn't use are skipped without being materialized.
+ */
+final class PropertyPageDecoder {
+
+    private PropertyPageDecoder() {}
+
+    static PropertyPage decode(JsonParser parser, Consumer<IndexedListing> sink) throws IOException {
+        PropertyPage page = new PropertyPage();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return page;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                decodePage(parser, page, sink);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return page;
+    }
+
+    private static void decodePage(JsonParser parser, PropertyPage page, Consumer<IndexedListing> sink) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "content" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            sink.accept(decodeListing(parser));
+                            page.setListingCount(page.getListingCount() + 1);
+                        }
+                    }
+                }
+                case "totalElements" -> page.setTotalElements(parser.getValueAsLong());
+                case "last" -> page.setLast(parser.getValueAsBoolean());
+                case "hasNext" -> page.setLast(!parser.getValueAsBoolean());
+                case "nextCursor" -> page.setNextCursor(parser.getValueAsString());
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static IndexedListing decodeListing(JsonParser parser) throws IOException {
+        IndexedListing listing = new IndexedListing();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> listing.setId(parser.getText());
+                case "title" -> listing.setTitle(parser.getText());
+                case "description" -> listing.setDescription(parser.getText());
+                case "price" -> listing.setPrice(parser.getDecimalValue());
+                case "location" -> listing.setLocation(parser.getText());
+                case "address" -> listing.setAddress(parser.getText());
+                case "city" -> listing.setCity(parser.getText());
+                case "state" -> listing.setState(parser.getText());
+                case "pincode" -> listing.setPincode(parser.getText());
+                case "propertyType" -> listing.setPropertyType(parser.getText());
+                case "listingType" -> listing.setListingType(parser.getText());
+                case "bedrooms" -> listing.setBedrooms(parser.getIntValue());
+                case "bathrooms" -> listing.setBathrooms(parser.getIntValue());
+                case "areaSqft" -> listing.setAreaSqft(parser.getIntValue());
+                case "furnishedStatus" -> listing.setFurnishedStatus(parser.getText());
+                case "amenities" -> listing.setAmenities(parser.getText());
+                case "contactName" -> listing.setContactName(parser.getText());
+                case "contactPhone" -> listing.setContactPhone(parser.getText());
+                case "isFeatured" -> listing.setIsFeatured(parser.getBooleanValue());
+                case "isVerified" -> listing.setIsVerified(parser.getBooleanValue());
+                case "viewsCount" -> listing.setViewsCount(parser.getLongValue());
+                case "favoritesCount" -> listing.setFavoritesCount(parser.getLongValue());
+                case "latitude" -> listing.setLatitude(parser.getDoubleValue());
+                case "longitude" -> listing.setLongitude(parser.getDoubleValue());
+                case "createdAt" -> listing.setCreatedAt(readDateTime(parser));
+                case "images" -> listing.setImages(readImageUrls(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return listing;
+    }
+
+    private static List<String> readImageUrls(JsonParser parser) throws IOException {
+        List<String> imageUrls = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return imageUrls;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("imageUrl".equals(field) && value == JsonToken.VALUE_STRING) {
+                    imageUrls.add(parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return imageUrls;
+    }
+
+    /**
+     * ISO string by default; [y, m, d, h, min, s, nanos] if the producer writes dates as arrays.
+     */
+    private static LocalDateTime readDateTime(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            LocalDateTime parsed = parseIsoDateTime(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            return parsed != null ? parsed : LocalDateTime.parse(parser.getText());
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        int[] parts = new int[7];
+        int count = 0;
+        while (parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+            if (count < parts.length) {
+                parts[count++] = parser.getIntValue();
+            }
+        }
+        return count >= 3
+                ? LocalDateTime.of(parts[0], parts[1], parts[2], parts[3], parts[4], parts[5], parts[6])
+                : null;
+    }
+
+    /**
+     * Fast path for the {@code yyyy-MM-ddTHH:mm:ss[.fraction]} form Jackson writes; the generic
+     * formatter costs more than decoding the rest of the listing. Returns null for anything else.
+     */
+    static LocalDateTime parseIsoDateTime(char[] text, int offset, int length) {
+        if (length < 19 || text[offset + 4] != '-' || text[offset + 7] != '-' || text[offset + 10] != 'T'
+                || text[offset + 13] != ':' || text[offset + 16] != ':') {
+            return null;
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        int hour = digits(text, offset + 11, 2);
+        int minute = digits(text, offset + 14, 2);
+        int second = digits(text, offset + 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+
+        int nanos = 0;
+        if (length > 19) {
+            int fractionDigits = length - 20;
+            if (text[offset + 19] != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                return null;
+            }
+            nanos = digits(text, offset + 20, fractionDigits);
+            if (nanos < 0) {
+                return null;
+            }
+            for (int i = fractionDigits; i < 9; i++) {
+                nanos *= 10;
+            }
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(char[] text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
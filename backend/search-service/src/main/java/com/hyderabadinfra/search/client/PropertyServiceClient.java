@@ -0,0 +1,40 @@
+package com.hyderabadinfra.search.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyderabadinfra.search.index.IndexedListing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Typed client for property-service's public listing pages.
+ *
+ * The response body is decoded straight off the pooled connection's input stream by
+ * {@link PropertyPageDecoder}; each listing is passed to {@code sink} as soon as it is read.
+ */
+@Component
+public class PropertyServiceClient {
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public PropertyPage fetchPage(String url, Consumer<IndexedListing> sink) {
+        PropertyPage page = restTemplate.execute(url, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> {
+                    try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+                        return PropertyPageDecoder.decode(parser, sink);
+                    }
+                });
+        return page != null ? page : new PropertyPage();
+    }
+}
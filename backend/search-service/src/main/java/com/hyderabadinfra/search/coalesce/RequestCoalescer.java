@@ -0,0 +1,91 @@
+package com.hyderabadinfra.search.coalesce;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution: concurrent calls with the same key share one in-flight
+ * computation and all receive its result (or its exception).
+ *
+ * The first caller for a key runs the computation on its own thread; callers arriving
+ * while it runs wait for that result instead of starting another upstream call. Once
+ * it completes the key is released, so results are never reused after the fact - that
+ * is the result cache's job.
+ */
+@Component
+public class RequestCoalescer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.coalesce.enabled:true}")
+    private boolean enabled;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gaugeMapSize("search.coalesce.in-flight", Tags.empty(), inFlight);
+    }
+
+    /**
+     * Run {@code call} for {@code key}, or wait for the identical call already running.
+     *
+     * @param operation metric tag naming the coalesced endpoint, e.g. "search" or "featured"
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, String key, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        String flightKey = operation + ":" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            counter("search.coalesce.collapsed", operation).increment();
+            return (T) await(existing);
+        }
+
+        counter("search.coalesce.executed", operation).increment();
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's own exception so every caller sees the same error
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return meterRegistry.counter(name, "operation", operation);
+    }
+}
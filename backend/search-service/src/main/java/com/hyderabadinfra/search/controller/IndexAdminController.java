@@ -0,0 +1,48 @@
+package com.hyderabadinfra.search.controller;
+
+import com.hyderabadinfra.common.dto.ApiResponse;
+import com.hyderabadinfra.search.dto.IndexRebuildStatus;
+import com.hyderabadinfra.search.index.IndexRebuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin operations on this instance's search index.
+ */
+@RestController
+@RequestMapping("/api/search/admin/index")
+public class IndexAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexAdminController.class);
+
+    @Autowired
+    private IndexRebuilder indexRebuilder;
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse<IndexRebuildStatus>> rebuildIndex(
+            @RequestHeader("X-User-Role") String userRole) {
+        try {
+            if (!"ADMIN".equals(userRole)) {
+                return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+            }
+
+            IndexRebuildStatus status = indexRebuilder.start();
+            return ResponseEntity.accepted().body(ApiResponse.success("Search index rebuild started", status));
+        } catch (Exception e) {
+            logger.error("Failed to start search index rebuild - {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to start search index rebuild", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/rebuild")
+    public ResponseEntity<ApiResponse<IndexRebuildStatus>> getRebuildStatus(
+            @RequestHeader("X-User-Role") String userRole) {
+        if (!"ADMIN".equals(userRole)) {
+            return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(indexRebuilder.status()));
+    }
+}
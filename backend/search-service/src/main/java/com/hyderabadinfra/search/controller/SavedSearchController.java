@@ -0,0 +1,62 @@
+package com.hyderabadinfra.search.controller;
+
+import com.hyderabadinfra.common.dto.ApiResponse;
+import com.hyderabadinfra.search.alert.SavedSearchService;
+import com.hyderabadinfra.search.dto.SavedSearchRequest;
+import com.hyderabadinfra.search.entity.SavedSearch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search/saved")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class SavedSearchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchController.class);
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<SavedSearch>> createSavedSearch(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = "X-User-Email", required = false) String email,
+            @RequestBody SavedSearchRequest request) {
+        try {
+            SavedSearch savedSearch = savedSearchService.createSavedSearch(userId, email, request);
+            return ResponseEntity.ok(ApiResponse.success("Saved search created", savedSearch));
+        } catch (Exception e) {
+            logger.error("Failed to create saved search for user: {} - {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to create saved search", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SavedSearch>>> getSavedSearches(@RequestHeader("X-User-Id") String userId) {
+        try {
+            List<SavedSearch> savedSearches = savedSearchService.getSavedSearches(userId);
+            return ResponseEntity.ok(ApiResponse.success(savedSearches));
+        } catch (Exception e) {
+            logger.error("Failed to get saved searches for user: {} - {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to get saved searches", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{savedSearchId}")
+    public ResponseEntity<ApiResponse<Void>> deleteSavedSearch(
+            @RequestHeader("X-User-Id") String userId,
+            @PathVariable String savedSearchId) {
+        try {
+            savedSearchService.deleteSavedSearch(userId, savedSearchId);
+            return ResponseEntity.ok(ApiResponse.success("Saved search deleted", null));
+        } catch (Exception e) {
+            logger.error("Failed to delete saved search {} for user: {} - {}", savedSearchId, userId, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to delete saved search", e.getMessage()));
+        }
+    }
+}
@@ -1,18 +1,22 @@
 package com.hyderabadinfra.search.controller;
 
 import com.hyderabadinfra.common.dto.ApiResponse;
+import com.hyderabadinfra.common.dto.CursorPage;
 import com.hyderabadinfra.search.dto.PropertySearchResult;
+import com.hyderabadinfra.search.dto.SearchPlan;
 import com.hyderabadinfra.search.dto.SearchRequest;
+import com.hyderabadinfra.search.dto.TrendingTerm;
 import com.hyderabadinfra.search.service.SearchService;
+import com.hyderabadinfra.search.trending.TrendingWindow;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/search")
@@ -25,7 +29,7 @@ public class SearchController {
     private SearchService searchService;
     
     @PostMapping("/properties")
-    public ResponseEntity<ApiResponse<Page<PropertySearchResult>>> searchProperties(
+    public ResponseEntity<ApiResponse<CursorPage<PropertySearchResult>>> searchProperties(
             @RequestBody SearchRequest searchRequest,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             HttpServletRequest request) {
@@ -33,7 +37,7 @@ public class SearchController {
             String ipAddress = getClientIpAddress(request);
             String userAgent = request.getHeader("User-Agent");
             
-            Page<PropertySearchResult> results = searchService.searchProperties(searchRequest, userId, ipAddress, userAgent);
+            CursorPage<PropertySearchResult> results = searchService.searchProperties(searchRequest, userId, ipAddress, userAgent);
             return ResponseEntity.ok(ApiResponse.success(results));
         } catch (Exception e) {
             logger.error("Failed to search properties - {}", e.getMessage());
@@ -41,6 +45,28 @@ public class SearchController {
         }
     }
     
+    @PostMapping("/explain")
+    public ResponseEntity<ApiResponse<SearchPlan>> explainSearch(@RequestBody SearchRequest searchRequest) {
+        try {
+            SearchPlan plan = searchService.explainSearch(searchRequest);
+            return ResponseEntity.ok(ApiResponse.success(plan));
+        } catch (Exception e) {
+            logger.error("Failed to explain search - {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to explain search", e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/facets")
+    public ResponseEntity<ApiResponse<Map<String, Map<String, Long>>>> getFacets(@RequestBody SearchRequest searchRequest) {
+        try {
+            Map<String, Map<String, Long>> facets = searchService.getFacets(searchRequest);
+            return ResponseEntity.ok(ApiResponse.success(facets));
+        } catch (Exception e) {
+            logger.error("Failed to get search facets - {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to get facets", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/recommendations")
     public ResponseEntity<ApiResponse<List<PropertySearchResult>>> getRecommendations(
             @RequestHeader("X-User-Id") String userId,
@@ -67,6 +93,20 @@ public class SearchController {
         }
     }
     
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponse<List<TrendingTerm>>> getTrendingSearches(
+            @RequestParam(defaultValue = "day") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            TrendingWindow trendingWindow = TrendingWindow.valueOf(window.toUpperCase());
+            List<TrendingTerm> trending = searchService.getTrendingSearches(trendingWindow, limit);
+            return ResponseEntity.ok(ApiResponse.success(trending));
+        } catch (Exception e) {
+            logger.error("Failed to get trending searches - {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to get trending searches", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/featured")
     public ResponseEntity<ApiResponse<List<PropertySearchResult>>> getFeaturedProperties(
             @RequestParam(defaultValue = "10") int limit) {
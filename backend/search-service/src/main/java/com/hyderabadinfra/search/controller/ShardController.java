@@ -0,0 +1,46 @@
+package com.hyderabadinfra.search.controller;
+
+import com.hyderabadinfra.common.dto.ApiResponse;
+import com.hyderabadinfra.search.dto.SearchRequest;
+import com.hyderabadinfra.search.dto.ShardPage;
+import com.hyderabadinfra.search.shard.ScatterGatherCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Shard-local search and facets, called by the scatter-gather coordinator of other instances.
+ */
+@RestController
+@RequestMapping("/api/search/shard")
+public class ShardController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardController.class);
+
+    @Autowired
+    private ScatterGatherCoordinator scatterGatherCoordinator;
+
+    @PostMapping("/properties")
+    public ResponseEntity<ApiResponse<ShardPage>> searchShard(@RequestBody SearchRequest searchRequest) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(scatterGatherCoordinator.localPage(searchRequest)));
+        } catch (Exception e) {
+            logger.error("Failed to search shard - {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to search shard", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/facets")
+    public ResponseEntity<ApiResponse<Map<String, Map<String, Long>>>> getShardFacets(@RequestBody SearchRequest searchRequest) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(scatterGatherCoordinator.localFacets(searchRequest)));
+        } catch (Exception e) {
+            logger.error("Failed to get shard facets - {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to get shard facets", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.hyderabadinfra.search.dto;
+
+import com.hyderabadinfra.search.index.PropertySearchIndex.GenerationStats;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the latest search index rebuild, with the size of the serving generation and
+ * of the one being built.
+ */
+public class IndexRebuildStatus {
+
+    private String state;
+    private Long generation;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // Listings read from property-service so far, across all shards' cities
+    private long fetchedListings;
+    private long expectedListings;
+    private String error;
+    private GenerationStats serving;
+    private GenerationStats building;
+
+    // Constructors
+    public IndexRebuildStatus() {}
+
+    // Getters and setters
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Long getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(Long generation) {
+        this.generation = generation;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getFetchedListings() {
+        return fetchedListings;
+    }
+
+    public void setFetchedListings(long fetchedListings) {
+        this.fetchedListings = fetchedListings;
+    }
+
+    public long getExpectedListings() {
+        return expectedListings;
+    }
+
+    public void setExpectedListings(long expectedListings) {
+        this.expectedListings = expectedListings;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public GenerationStats getServing() {
+        return serving;
+    }
+
+    public void setServing(GenerationStats serving) {
+        this.serving = serving;
+    }
+
+    public GenerationStats getBuilding() {
+        return building;
+    }
+
+    public void setBuilding(GenerationStats building) {
+        this.building = building;
+    }
+
+    /**
+     * Share of the expected listings fetched, 0-100; null before the first page arrives.
+     */
+    public Double getProgressPercent() {
+        if (expectedListings <= 0) {
+            return null;
+        }
+        return Math.min(100.0, 100.0 * fetchedListings / expectedListings);
+    }
+}
@@ -0,0 +1,37 @@
+package com.hyderabadinfra.search.dto;
+
+public class SavedSearchRequest {
+
+    private String name;
+    // Used when the gateway doesn't forward X-User-Email
+    private String email;
+    private SearchRequest criteria;
+
+    // Constructors
+    public SavedSearchRequest() {}
+
+    // Getters and setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public SearchRequest getCriteria() {
+        return criteria;
+    }
+
+    public void setCriteria(SearchRequest criteria) {
+        this.criteria = criteria;
+    }
+}
@@ -0,0 +1,94 @@
+package com.hyderabadinfra.search.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How the index evaluated a search's filters: in which order, with what estimated
+ * match count, and whether each was intersected as a bitmap or checked per candidate.
+ */
+public class SearchPlan {
+    
+    public enum Strategy {
+        // Starting candidate set: the most selective filter's matches
+        SEED,
+        // Bitmap AND with the filter's postings/range
+        INTERSECT,
+        // Candidates checked one by one against the filter
+        SCAN,
+        // Not evaluated because no candidates were left
+        SKIPPED
+    }
+    
+    private List<Step> steps = new ArrayList<>();
+    private long totalHits;
+    
+    // Constructors
+    public SearchPlan() {}
+    
+    // Getters and setters
+    public List<Step> getSteps() {
+        return steps;
+    }
+    
+    public void setSteps(List<Step> steps) {
+        this.steps = steps;
+    }
+    
+    public long getTotalHits() {
+        return totalHits;
+    }
+    
+    public void setTotalHits(long totalHits) {
+        this.totalHits = totalHits;
+    }
+    
+    public static class Step {
+        
+        private String filter;
+        private long estimatedMatches;
+        private Strategy strategy;
+        private Long candidatesAfter;
+        
+        public Step() {}
+        
+        public Step(String filter, long estimatedMatches, Strategy strategy, Long candidatesAfter) {
+            this.filter = filter;
+            this.estimatedMatches = estimatedMatches;
+            this.strategy = strategy;
+            this.candidatesAfter = candidatesAfter;
+        }
+        
+        public String getFilter() {
+            return filter;
+        }
+        
+        public void setFilter(String filter) {
+            this.filter = filter;
+        }
+        
+        public long getEstimatedMatches() {
+            return estimatedMatches;
+        }
+        
+        public void setEstimatedMatches(long estimatedMatches) {
+            this.estimatedMatches = estimatedMatches;
+        }
+        
+        public Strategy getStrategy() {
+            return strategy;
+        }
+        
+        public void setStrategy(Strategy strategy) {
+            this.strategy = strategy;
+        }
+        
+        public Long getCandidatesAfter() {
+            return candidatesAfter;
+        }
+        
+        public void setCandidatesAfter(Long candidatesAfter) {
+            this.candidatesAfter = candidatesAfter;
+        }
+    }
+}
@@ -7,6 +7,7 @@ public class SearchRequest {
     private String query;
     private String city;
     private String state;
+    private String pincode;
     private String propertyType;
     private String listingType;
     private BigDecimal minPrice;
@@ -23,6 +24,8 @@ public class SearchRequest {
     private String sortOrder = "desc";
     private int page = 0;
     private int size = 10;
+    // Keyset cursor from a previous page's nextCursor; takes precedence over page
+    private String cursor;
     
     // Constructors
     public SearchRequest() {}
@@ -52,6 +55,14 @@ public class SearchRequest {
         this.state = state;
     }
     
+    public String getPincode() {
+        return pincode;
+    }
+    
+    public void setPincode(String pincode) {
+        this.pincode = pincode;
+    }
+    
     public String getPropertyType() {
         return propertyType;
     }
@@ -179,4 +190,12 @@ public class SearchRequest {
     public void setSize(int size) {
         this.size = size;
     }
+    
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.hyderabadinfra.search.dto;
+
+import java.util.List;
+
+/**
+ * One shard's share of a scatter-gather search: its best hits in index order, a cursor
+ * continuing after each hit, and its total hit count.
+ */
+public class ShardPage {
+
+    private List<PropertySearchResult> results;
+    private List<String> cursors;
+    private long totalHits;
+    private boolean hasMore;
+
+    // Constructors
+    public ShardPage() {}
+
+    public ShardPage(List<PropertySearchResult> results, List<String> cursors, long totalHits, boolean hasMore) {
+        this.results = results;
+        this.cursors = cursors;
+        this.totalHits = totalHits;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and setters
+    public List<PropertySearchResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<PropertySearchResult> results) {
+        this.results = results;
+    }
+
+    public List<String> getCursors() {
+        return cursors;
+    }
+
+    public void setCursors(List<String> cursors) {
+        this.cursors = cursors;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public void setTotalHits(long totalHits) {
+        this.totalHits = totalHits;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
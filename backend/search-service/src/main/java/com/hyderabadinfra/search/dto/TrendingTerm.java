@@ -0,0 +1,32 @@
+package com.hyderabadinfra.search.dto;
+
+public class TrendingTerm {
+    
+    private String term;
+    private long count;
+    
+    // Constructors
+    public TrendingTerm() {}
+    
+    public TrendingTerm(String term, long count) {
+        this.term = term;
+        this.count = count;
+    }
+    
+    // Getters and setters
+    public String getTerm() {
+        return term;
+    }
+    
+    public void setTerm(String term) {
+        this.term = term;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
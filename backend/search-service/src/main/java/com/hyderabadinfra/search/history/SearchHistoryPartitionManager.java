@@ -0,0 +1,223 @@
+package com.hyderabadinfra.search.history;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the search_history schema: a table range-partitioned by month on created_at, plus
+ * the daily rollups search_term_daily and search_user_daily.
+ *
+ * Every {@code maintenance-interval} one instance (Postgres advisory lock) creates the
+ * partitions for the next {@code months-ahead} months, rolls up every day since the last
+ * rolled-up one (today is re-rolled until it is over), and then drops raw partitions older
+ * than {@code raw-retention-months} and rollup rows older than {@code rollup-retention-days}.
+ * Popularity and per-user counts read the rollups; raw rows are only read per user over a
+ * bounded time range, so queries touch a few small partitions.
+ */
+@Component
+public class SearchHistoryPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchHistoryPartitionManager.class);
+
+    static final String TABLE = "search_history";
+
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final long MAINTENANCE_LOCK_ID = 0x5e4c4849L;
+
+    private static final String CREATE_PARENT_SQL =
+            "CREATE TABLE IF NOT EXISTS search_history (" +
+            "id VARCHAR(255) NOT NULL, user_id VARCHAR(255), search_query VARCHAR(255), search_filters TEXT, " +
+            "results_count INTEGER, ip_address VARCHAR(255), user_agent TEXT, created_at TIMESTAMP(6) NOT NULL, " +
+            "PRIMARY KEY (id, created_at)) PARTITION BY RANGE (created_at)";
+
+    private static final List<String> CREATE_SUPPORTING_SQL = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_search_history_user_created ON search_history (user_id, created_at DESC)",
+            "CREATE INDEX IF NOT EXISTS idx_search_history_created ON search_history (created_at)",
+            // Catches rows outside every monthly partition (e.g. clock skew) instead of failing the insert
+            "CREATE TABLE IF NOT EXISTS search_history_default PARTITION OF search_history DEFAULT",
+            "CREATE TABLE IF NOT EXISTS search_term_daily (day DATE NOT NULL, term VARCHAR(255) NOT NULL, " +
+            "searches BIGINT NOT NULL, PRIMARY KEY (day, term))",
+            "CREATE TABLE IF NOT EXISTS search_user_daily (user_id VARCHAR(255) NOT NULL, day DATE NOT NULL, " +
+            "searches BIGINT NOT NULL, PRIMARY KEY (user_id, day))");
+
+    private static final String ROLLUP_TERMS_SQL =
+            "INSERT INTO search_term_daily (day, term, searches) " +
+            "SELECT CAST(? AS DATE), LOWER(BTRIM(search_query)), COUNT(*) FROM search_history " +
+            "WHERE created_at >= ? AND created_at < ? AND BTRIM(search_query) <> '' " +
+            "GROUP BY LOWER(BTRIM(search_query)) " +
+            "ON CONFLICT (day, term) DO UPDATE SET searches = EXCLUDED.searches";
+
+    private static final String ROLLUP_USERS_SQL =
+            "INSERT INTO search_user_daily (user_id, day, searches) " +
+            "SELECT user_id, CAST(? AS DATE), COUNT(*) FROM search_history " +
+            "WHERE created_at >= ? AND created_at < ? AND user_id IS NOT NULL " +
+            "GROUP BY user_id " +
+            "ON CONFLICT (user_id, day) DO UPDATE SET searches = EXCLUDED.searches";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${search.history.partition.months-ahead:2}")
+    private int monthsAhead;
+
+    @Value("${search.history.partition.raw-retention-months:6}")
+    private int rawRetentionMonths;
+
+    @Value("${search.history.partition.rollup-retention-days:400}")
+    private int rollupRetentionDays;
+
+    @Value("${search.history.partition.maintenance-interval:1h}")
+    private Duration maintenanceInterval;
+
+    private ScheduledExecutorService maintainer;
+
+    @PostConstruct
+    public void start() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lockMaintenance(true);
+                createSchema();
+            });
+        } catch (Exception e) {
+            logger.error("Failed to prepare partitioned search_history - {}", e.getMessage());
+        }
+        maintainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-history-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintainer.scheduleWithFixedDelay(this::maintain, 0, maintenanceInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        maintainer.shutdownNow();
+    }
+
+    /**
+     * Oldest month whose raw partition is kept.
+     */
+    private YearMonth oldestRawMonth() {
+        return YearMonth.now().minusMonths(rawRetentionMonths);
+    }
+
+    private void maintain() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!lockMaintenance(false)) {
+                    return;
+                }
+                createPartitions(YearMonth.now());
+                rollUp();
+                dropExpired();
+            });
+        } catch (Exception e) {
+            logger.error("search_history maintenance failed - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Transaction-scoped advisory lock so only one instance changes the schema at a time.
+     */
+    private boolean lockMaintenance(boolean wait) {
+        if (wait) {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null, MAINTENANCE_LOCK_ID);
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                MAINTENANCE_LOCK_ID));
+    }
+
+    /**
+     * Create the partitioned table and rollups; a plain search_history (as created by
+     * ddl-auto before partitioning) is converted, keeping the rows within the raw retention.
+     */
+    private void createSchema() {
+        String kind = jdbcTemplate.query("SELECT relkind FROM pg_class WHERE oid = to_regclass(?)",
+                rs -> rs.next() ? rs.getString(1) : null, TABLE);
+        boolean convert = "r".equals(kind);
+        if (convert) {
+            jdbcTemplate.execute("ALTER TABLE search_history RENAME TO search_history_unpartitioned");
+            jdbcTemplate.execute("ALTER TABLE search_history_unpartitioned DROP CONSTRAINT IF EXISTS search_history_pkey");
+        }
+        jdbcTemplate.execute(CREATE_PARENT_SQL);
+        CREATE_SUPPORTING_SQL.forEach(jdbcTemplate::execute);
+        YearMonth oldest = oldestRawMonth();
+        createPartitions(convert ? oldest : YearMonth.now());
+        if (convert) {
+            int moved = jdbcTemplate.update(
+                    "INSERT INTO search_history (id, user_id, search_query, search_filters, results_count, ip_address, " +
+                    "user_agent, created_at) SELECT id, user_id, search_query, search_filters, results_count, ip_address, " +
+                    "user_agent, created_at FROM search_history_unpartitioned WHERE created_at >= ?",
+                    Timestamp.valueOf(oldest.atDay(1).atStartOfDay()));
+            jdbcTemplate.execute("DROP TABLE search_history_unpartitioned");
+            logger.info("Converted search_history to monthly partitions, kept {} rows since {}", moved, oldest);
+        }
+    }
+
+    /**
+     * Partitions from {@code from} through {@code months-ahead} months after the current one.
+     */
+    private void createPartitions(YearMonth from) {
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        for (YearMonth month = from; !month.isAfter(last); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + PARTITION_PREFIX + month.format(PARTITION_SUFFIX) +
+                    " PARTITION OF search_history FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" +
+                    month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    private void rollUp() {
+        LocalDate today = LocalDate.now();
+        LocalDate lastRolledUp = jdbcTemplate.queryForObject("SELECT MAX(day) FROM search_term_daily", LocalDate.class);
+        LocalDate from = lastRolledUp != null ? lastRolledUp : oldestRawMonth().atDay(1);
+        for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+            Date sqlDay = Date.valueOf(day);
+            Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+            Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+            jdbcTemplate.update(ROLLUP_TERMS_SQL, sqlDay, start, end);
+            jdbcTemplate.update(ROLLUP_USERS_SQL, sqlDay, start, end);
+        }
+    }
+
+    private void dropExpired() {
+        String oldestKept = PARTITION_PREFIX + oldestRawMonth().format(PARTITION_SUFFIX);
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(?)", String.class, TABLE);
+        for (String partition : partitions) {
+            // yyyyMM suffixes sort chronologically
+            if (partition.startsWith(PARTITION_PREFIX) && partition.compareTo(oldestKept) < 0) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                logger.info("Dropped expired search_history partition {}", partition);
+            }
+        }
+        Timestamp cutoff = Timestamp.valueOf(oldestRawMonth().atDay(1).atStartOfDay());
+        jdbcTemplate.update("DELETE FROM search_history_default WHERE created_at < ?", cutoff);
+        Date rollupCutoff = Date.valueOf(LocalDate.now().minusDays(rollupRetentionDays));
+        jdbcTemplate.update("DELETE FROM search_term_daily WHERE day < ?", rollupCutoff);
+        jdbcTemplate.update("DELETE FROM search_user_daily WHERE day < ?", rollupCutoff);
+    }
+}
@@ -0,0 +1,237 @@
+package com.hyderabadinfra.search.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyderabadinfra.search.dto.SearchRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind pipeline for search history rows and search-events.
+ *
+ * Searches only enqueue a small record; a background thread drains the queue every
+ * {@code flush-interval} or as soon as {@code batch-size} records are waiting, writes
+ * them with one JDBC batch insert and hands the matching search-events to Kafka together.
+ * When the queue is full, {@code overflow-policy} decides between shedding the record
+ * (DROP) and making the search wait up to {@code offer-timeout} for space (BLOCK).
+ */
+@Component
+public class SearchHistoryWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchHistoryWriter.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO search_history (id, user_id, search_query, search_filters, results_count, " +
+            "ip_address, user_agent, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.history.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${search.history.batch-size:500}")
+    private int batchSize;
+
+    @Value("${search.history.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${search.history.overflow-policy:DROP}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${search.history.offer-timeout-ms:5}")
+    private long offerTimeoutMs;
+
+    private BlockingQueue<PendingSearch> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private Counter droppedCounter;
+    private Counter writtenCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        droppedCounter = meterRegistry.counter("search.history.dropped");
+        writtenCounter = meterRegistry.counter("search.history.written");
+        failedCounter = meterRegistry.counter("search.history.failed");
+        meterRegistry.gauge("search.history.queue.size", queue, BlockingQueue::size);
+
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "search-history-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        // Best effort: persist whatever is still queued
+        List<PendingSearch> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    /**
+     * Record a search without touching the database or Kafka on the caller's thread.
+     */
+    public void enqueue(SearchRequest searchRequest, String userId, int resultsCount, String ipAddress, String userAgent) {
+        PendingSearch pending = new PendingSearch(searchRequest, userId, resultsCount, ipAddress, userAgent, LocalDateTime.now());
+        boolean accepted;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                accepted = queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(pending);
+        }
+        if (!accepted) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void runFlushLoop() {
+        List<PendingSearch> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingSearch first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Fill the batch until it is full or the flush interval has passed
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingSearch next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Search history flush loop error - {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingSearch> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (PendingSearch pending : batch) {
+            rows.add(new Object[]{
+                    UUID.randomUUID().toString(),
+                    pending.userId,
+                    pending.searchRequest.getQuery(),
+                    toJson(pending.searchRequest),
+                    pending.resultsCount,
+                    pending.ipAddress,
+                    pending.userAgent,
+                    Timestamp.valueOf(pending.timestamp)
+            });
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            // Log error but keep the pipeline running
+            failedCounter.increment(batch.size());
+            logger.error("Failed to write {} search history rows - {}", batch.size(), e.getMessage());
+        }
+
+        // Producer linger/batch settings coalesce these into few requests
+        for (PendingSearch pending : batch) {
+            try {
+                Map<String, Object> searchEvent = Map.of(
+                    "userId", pending.userId != null ? pending.userId : "anonymous",
+                    "query", pending.searchRequest.getQuery() != null ? pending.searchRequest.getQuery() : "",
+                    "filters", pending.searchRequest,
+                    "resultsCount", pending.resultsCount,
+                    "timestamp", pending.timestamp
+                );
+                kafkaTemplate.send("search-events", searchEvent);
+            } catch (Exception e) {
+                logger.error("Failed to publish search event - {}", e.getMessage());
+            }
+        }
+    }
+
+    private String toJson(SearchRequest searchRequest) {
+        try {
+            return objectMapper.writeValueAsString(searchRequest);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static final class PendingSearch {
+        private final SearchRequest searchRequest;
+        private final String userId;
+        private final int resultsCount;
+        private final String ipAddress;
+        private final String userAgent;
+        private final LocalDateTime timestamp;
+
+        PendingSearch(SearchRequest searchRequest, String userId, int resultsCount,
+                      String ipAddress, String userAgent, LocalDateTime timestamp) {
+            this.searchRequest = searchRequest;
+            this.userId = userId;
+            this.resultsCount = resultsCount;
+            this.ipAddress = ipAddress;
+            this.userAgent = userAgent;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.hyderabadinfra.search.index;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/**
+ * One search filter as seen by {@link QueryPlanner}: its estimated match count, a way
+ * to materialize all matches as a bitmap and a per-ordinal test for post-filtering.
+ *
+ * Bitmaps may be the index's own postings and must not be modified.
+ */
+final class FilterPredicate {
+
+    private final String field;
+    private final String label;
+    private final long estimate;
+    private final boolean prebuilt;
+    private final Supplier<RoaringBitmap> matches;
+    private final IntPredicate test;
+
+    FilterPredicate(String field, String label, long estimate, boolean prebuilt,
+                    Supplier<RoaringBitmap> matches, IntPredicate test) {
+        this.field = field;
+        this.label = label;
+        this.estimate = estimate;
+        this.prebuilt = prebuilt;
+        this.matches = matches;
+        this.test = test;
+    }
+
+    /**
+     * Exact-match filter on a posting list (keyword value or text term).
+     */
+    static FilterPredicate postings(String field, String label, RoaringBitmap postings) {
+        RoaringBitmap bitmap = postings != null ? postings : new RoaringBitmap();
+        return new FilterPredicate(field, label, bitmap.getLongCardinality(), true, () -> bitmap, bitmap::contains);
+    }
+
+    /**
+     * Field this filter constrains; facets leave out their own field's filter.
+     */
+    String field() {
+        return field;
+    }
+
+    String label() {
+        return label;
+    }
+
+    long estimate() {
+        return estimate;
+    }
+
+    /**
+     * Whether {@link #matches()} returns an existing bitmap rather than building one.
+     */
+    boolean prebuilt() {
+        return prebuilt;
+    }
+
+    RoaringBitmap matches() {
+        return matches.get();
+    }
+
+    boolean test(int ordinal) {
+        return test.test(ordinal);
+    }
+}
@@ -0,0 +1,169 @@
+package com.hyderabadinfra.search.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed-size lat/lon grid over listing coordinates.
+ *
+ * Each cell is {@value #CELL_DEGREES} degrees on a side (~1.1 km north-south in Hyderabad)
+ * and holds the ordinals of listings inside it. A radius query only visits the cells
+ * overlapping the query's bounding box and computes the exact haversine distance for
+ * listings in those cells, never for the whole catalog.
+ *
+ * Not thread-safe; guarded by {@link PropertySearchIndex}'s lock.
+ */
+class GeoGridIndex {
+
+    static final double CELL_DEGREES = 0.01;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+    // Map entry, boxed key, cell object and array header
+    private static final int CELL_OVERHEAD_BYTES = 96;
+
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    // Coordinates by ordinal, so removal doesn't need the listing
+    private double[] latitudes = new double[1024];
+    private double[] longitudes = new double[1024];
+    private boolean[] present = new boolean[1024];
+
+    void add(int ordinal, double latitude, double longitude) {
+        ensureCapacity(ordinal);
+        latitudes[ordinal] = latitude;
+        longitudes[ordinal] = longitude;
+        present[ordinal] = true;
+        cells.computeIfAbsent(cellKey(latitude, longitude), k -> new Cell()).add(ordinal);
+    }
+
+    void remove(int ordinal) {
+        if (ordinal >= present.length || !present[ordinal]) {
+            return;
+        }
+        long key = cellKey(latitudes[ordinal], longitudes[ordinal]);
+        Cell cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(ordinal);
+            if (cell.size == 0) {
+                cells.remove(key);
+            }
+        }
+        present[ordinal] = false;
+    }
+
+    /**
+     * Ordinals within {@code radiusKm} of the point, mapped to their distance in km.
+     */
+    Map<Integer, Double> within(double latitude, double longitude, double radiusKm) {
+        Map<Integer, Double> hits = new LinkedHashMap<>();
+
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double lonDelta = radiusKm / (KM_PER_DEGREE_LAT * cosLat);
+
+        int minRow = cellIndex(latitude - latDelta);
+        int maxRow = cellIndex(latitude + latDelta);
+        int minCol = cellIndex(longitude - lonDelta);
+        int maxCol = cellIndex(longitude + lonDelta);
+
+        long boxCells = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+        if (boxCells > cells.size()) {
+            // Huge radius over a sparse grid: cheaper to walk the populated cells
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                int row = (int) (entry.getKey() >> 32);
+                int col = entry.getKey().intValue();
+                if (row >= minRow && row <= maxRow && col >= minCol && col <= maxCol) {
+                    collect(entry.getValue(), latitude, longitude, radiusKm, hits);
+                }
+            }
+        } else {
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int col = minCol; col <= maxCol; col++) {
+                    Cell cell = cells.get(key(row, col));
+                    if (cell != null) {
+                        collect(cell, latitude, longitude, radiusKm, hits);
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    private void collect(Cell cell, double latitude, double longitude, double radiusKm, Map<Integer, Double> hits) {
+        for (int i = 0; i < cell.size; i++) {
+            int ordinal = cell.ordinals[i];
+            double distance = haversineKm(latitude, longitude, latitudes[ordinal], longitudes[ordinal]);
+            if (distance <= radiusKm) {
+                hits.put(ordinal, distance);
+            }
+        }
+    }
+
+    /**
+     * Heap held by the coordinate arrays and cells; map entries are approximated.
+     */
+    long estimatedBytes() {
+        long bytes = (long) present.length * (2 * Double.BYTES + 1);
+        for (Cell cell : cells.values()) {
+            bytes += CELL_OVERHEAD_BYTES + (long) cell.ordinals.length * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return key(cellIndex(latitude), cellIndex(longitude));
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (ordinal >= present.length) {
+            int capacity = Math.max(present.length * 2, ordinal + 1);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            present = Arrays.copyOf(present, capacity);
+        }
+    }
+
+    /**
+     * Unordered growable int array of the ordinals in one grid cell.
+     */
+    private static final class Cell {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    ordinals[i] = ordinals[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.hyderabadinfra.search.index;
+
+import com.hyderabadinfra.search.cache.SearchResultCache;
+import com.hyderabadinfra.search.dto.IndexRebuildStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds {@link PropertySearchIndex} from scratch without interrupting searches, e.g.
+ * after a tokenization or ranking change.
+ *
+ * A new generation is started next to the serving one and receives every property event
+ * from then on, while property-service's active listings are paged into it the same way
+ * as the initial bootstrap. Once the last page is in, the new generation has everything
+ * the old one has and reads are switched to it in one step; the old generation is
+ * released. Progress is reported by {@link #status()} and the search.index.rebuild.* and
+ * search.index.memory metrics.
+ */
+@Component
+public class IndexRebuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexRebuilder.class);
+
+    private static final String IDLE = "IDLE";
+    private static final String BUILDING = "BUILDING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    @Autowired
+    private PropertySearchIndex propertySearchIndex;
+
+    @Autowired
+    private PropertyIndexBootstrapper propertyIndexBootstrapper;
+
+    @Autowired
+    private IndexSnapshotManager indexSnapshotManager;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.index.enabled:true}")
+    private boolean indexEnabled;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong fetchedListings = new AtomicLong();
+    private final AtomicLong expectedListings = new AtomicLong();
+
+    private volatile String state = IDLE;
+    private volatile Long generation;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    private ExecutorService builder;
+
+    @PostConstruct
+    public void init() {
+        builder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("search.index.rebuild.fetched", fetchedListings, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("search.index.rebuild.expected", expectedListings, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("search.index.memory", propertySearchIndex,
+                        index -> index.servingStats().getEstimatedBytes())
+                .tag("generation", "serving").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("search.index.memory", propertySearchIndex, index -> {
+                    PropertySearchIndex.GenerationStats building = index.buildingStats();
+                    return building != null ? building.getEstimatedBytes() : 0;
+                })
+                .tag("generation", "building").baseUnit("bytes").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * Start a rebuild in the background.
+     *
+     * @throws IllegalStateException if the index is not serving yet or a rebuild is already running
+     */
+    public IndexRebuildStatus start() {
+        if (!indexEnabled || !propertySearchIndex.isReady()) {
+            throw new IllegalStateException("The search index is not serving yet");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A search index rebuild is already running");
+        }
+        try {
+            generation = propertySearchIndex.beginRebuild();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        fetchedListings.set(0);
+        expectedListings.set(0);
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        error = null;
+        state = BUILDING;
+        logger.info("Rebuilding search index as generation {}", generation);
+        builder.execute(this::build);
+        return status();
+    }
+
+    public IndexRebuildStatus status() {
+        IndexRebuildStatus status = new IndexRebuildStatus();
+        status.setState(state);
+        status.setGeneration(generation);
+        status.setStartedAt(startedAt);
+        status.setFinishedAt(finishedAt);
+        status.setFetchedListings(fetchedListings.get());
+        status.setExpectedListings(expectedListings.get());
+        status.setError(error);
+        status.setServing(propertySearchIndex.servingStats());
+        status.setBuilding(propertySearchIndex.buildingStats());
+        return status;
+    }
+
+    private void build() {
+        long started = System.currentTimeMillis();
+        try {
+            propertyIndexBootstrapper.loadActiveListings(propertySearchIndex::loadRebuildListing, page -> {
+                expectedListings.set(page.getTotalElements());
+                fetchedListings.addAndGet(page.getListingCount());
+            });
+            propertySearchIndex.completeRebuild();
+            // Cached pages were ranked by the old generation
+            searchResultCache.invalidateAll();
+            indexSnapshotManager.markDirty();
+            state = COMPLETED;
+            logger.info("Search index generation {} now serving {} listings, rebuilt in {} ms",
+                    generation, propertySearchIndex.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            propertySearchIndex.abortRebuild();
+            error = e.getMessage();
+            state = FAILED;
+            logger.error("Search index rebuild of generation {} failed, keeping the serving generation - {}",
+                    generation, e.getMessage());
+        } finally {
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+}
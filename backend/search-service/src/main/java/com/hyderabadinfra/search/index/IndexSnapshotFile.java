@@ -0,0 +1,305 @@
+package com.hyderabadinfra.search.index;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * On-disk format of an index snapshot: the indexed listings plus the property-events
+ * offsets they include.
+ *
+ * Layout (big-endian): magic, format version, creation time, shard layout, partition count and
+ * (partition, next offset) pairs, listing count and listings, then a CRC32 of
+ * everything before it. Snapshots are written to a temp file and atomically renamed,
+ * and read back through a read-only memory mapping, so a restart decodes straight from
+ * the page cache without copying the file onto the heap first.
+ */
+final class IndexSnapshotFile {
+
+    static final int MAGIC = 0x48495358; // "HISX"
+    static final int VERSION = 2;
+
+    private static final int NULL_LENGTH = -1;
+
+    private final long createdAt;
+    private final String shardLayout;
+    private final Map<Integer, Long> offsets;
+    private final List<IndexedListing> listings;
+
+    IndexSnapshotFile(long createdAt, String shardLayout, Map<Integer, Long> offsets, List<IndexedListing> listings) {
+        this.createdAt = createdAt;
+        this.shardLayout = shardLayout;
+        this.offsets = offsets;
+        this.listings = listings;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * The {@link com.hyderabadinfra.search.shard.ShardRouter#layout()} the listings were selected by.
+     */
+    String getShardLayout() {
+        return shardLayout;
+    }
+
+    /**
+     * Next property-events offset to consume, by partition.
+     */
+    Map<Integer, Long> getOffsets() {
+        return offsets;
+    }
+
+    List<IndexedListing> getListings() {
+        return listings;
+    }
+
+    void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(createdAt);
+                writeString(out, shardLayout);
+                out.writeInt(offsets.size());
+                for (Map.Entry<Integer, Long> offset : offsets.entrySet()) {
+                    out.writeInt(offset.getKey());
+                    out.writeLong(offset.getValue());
+                }
+                out.writeInt(listings.size());
+                for (IndexedListing listing : listings) {
+                    writeListing(out, listing);
+                }
+                out.flush();
+                // The checksum covers everything written so far and is not part of itself
+                new DataOutputStream(file).writeLong(crc.getValue());
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Map and decode a snapshot.
+     *
+     * @throws IOException if the file is unreadable, of another format version, or corrupt
+     */
+    static IndexSnapshotFile read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < 2 * Integer.BYTES + 2 * Long.BYTES || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected snapshot size " + fileSize);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int bodySize = (int) fileSize - Long.BYTES;
+
+            if (mapped.getInt(0) != MAGIC) {
+                throw new IOException("Not an index snapshot");
+            }
+            int version = mapped.getInt(Integer.BYTES);
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(mapped.slice(0, bodySize));
+            if (crc.getValue() != mapped.getLong(bodySize)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+
+            ByteBuffer in = mapped.slice(2 * Integer.BYTES, bodySize - 2 * Integer.BYTES);
+            try {
+                long createdAt = in.getLong();
+                String shardLayout = readString(in);
+                int partitions = in.getInt();
+                Map<Integer, Long> offsets = new HashMap<>(partitions * 2);
+                for (int i = 0; i < partitions; i++) {
+                    offsets.put(in.getInt(), in.getLong());
+                }
+                int count = in.getInt();
+                List<IndexedListing> listings = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    listings.add(readListing(in));
+                }
+                return new IndexSnapshotFile(createdAt, shardLayout, Collections.unmodifiableMap(offsets), listings);
+            } catch (RuntimeException e) {
+                throw new IOException("Malformed snapshot", e);
+            }
+        }
+    }
+
+    private static void writeListing(DataOutputStream out, IndexedListing listing) throws IOException {
+        writeString(out, listing.getId());
+        writeString(out, listing.getTitle());
+        writeString(out, listing.getDescription());
+        writeString(out, listing.getPrice() != null ? listing.getPrice().toPlainString() : null);
+        writeString(out, listing.getLocation());
+        writeString(out, listing.getAddress());
+        writeString(out, listing.getCity());
+        writeString(out, listing.getState());
+        writeString(out, listing.getPincode());
+        writeString(out, listing.getPropertyType());
+        writeString(out, listing.getListingType());
+        writeInteger(out, listing.getBedrooms());
+        writeInteger(out, listing.getBathrooms());
+        writeInteger(out, listing.getAreaSqft());
+        writeString(out, listing.getFurnishedStatus());
+        writeString(out, listing.getAmenities());
+        List<String> images = listing.getImages();
+        out.writeInt(images != null ? images.size() : NULL_LENGTH);
+        if (images != null) {
+            for (String image : images) {
+                writeString(out, image);
+            }
+        }
+        writeString(out, listing.getContactName());
+        writeString(out, listing.getContactPhone());
+        writeBoolean(out, listing.getIsFeatured());
+        writeBoolean(out, listing.getIsVerified());
+        writeLong(out, listing.getViewsCount());
+        writeLong(out, listing.getFavoritesCount());
+        writeDouble(out, listing.getLatitude());
+        writeDouble(out, listing.getLongitude());
+        writeDateTime(out, listing.getCreatedAt());
+    }
+
+    private static IndexedListing readListing(ByteBuffer in) {
+        IndexedListing listing = new IndexedListing();
+        listing.setId(readString(in));
+        listing.setTitle(readString(in));
+        listing.setDescription(readString(in));
+        String price = readString(in);
+        listing.setPrice(price != null ? new BigDecimal(price) : null);
+        listing.setLocation(readString(in));
+        listing.setAddress(readString(in));
+        listing.setCity(readString(in));
+        listing.setState(readString(in));
+        listing.setPincode(readString(in));
+        listing.setPropertyType(readString(in));
+        listing.setListingType(readString(in));
+        listing.setBedrooms(readInteger(in));
+        listing.setBathrooms(readInteger(in));
+        listing.setAreaSqft(readInteger(in));
+        listing.setFurnishedStatus(readString(in));
+        listing.setAmenities(readString(in));
+        int imageCount = in.getInt();
+        if (imageCount != NULL_LENGTH) {
+            List<String> images = new ArrayList<>(imageCount);
+            for (int i = 0; i < imageCount; i++) {
+                images.add(readString(in));
+            }
+            listing.setImages(images);
+        }
+        listing.setContactName(readString(in));
+        listing.setContactPhone(readString(in));
+        listing.setIsFeatured(readBoolean(in));
+        listing.setIsVerified(readBoolean(in));
+        listing.setViewsCount(readLong(in));
+        listing.setFavoritesCount(readLong(in));
+        listing.setLatitude(readDouble(in));
+        listing.setLongitude(readDouble(in));
+        listing.setCreatedAt(readDateTime(in));
+        return listing;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Nullable primitives are prefixed with a presence byte
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(ByteBuffer in) {
+        return in.get() != 0 ? in.getInt() : null;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(ByteBuffer in) {
+        return in.get() != 0 ? in.getLong() : null;
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(ByteBuffer in) {
+        return in.get() != 0 ? in.getDouble() : null;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer in) {
+        return in.get() != 0 ? LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC) : null;
+    }
+
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? -1 : value ? 1 : 0);
+    }
+
+    private static Boolean readBoolean(ByteBuffer in) {
+        byte value = in.get();
+        return value < 0 ? null : value != 0;
+    }
+}
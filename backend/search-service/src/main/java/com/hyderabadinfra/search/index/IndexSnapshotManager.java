@@ -0,0 +1,228 @@
+package com.hyderabadinfra.search.index;
+
+import com.hyderabadinfra.search.shard.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Periodically persists {@link PropertySearchIndex} to an {@link IndexSnapshotFile}
+ * and restores it on startup.
+ *
+ * Every snapshot records the next property-events offset per partition. The restore
+ * runs while the context starts, before the event consumer is assigned partitions,
+ * so the consumer seeks to those offsets and only replays what happened after the
+ * snapshot instead of waiting for a full property-service bootstrap. Events and
+ * snapshot captures are serialized through a barrier, so a snapshot never holds an
+ * event's effect without its offset or the other way round.
+ *
+ * Snapshots older than {@code max-age} are ignored; their offsets may already have
+ * been deleted from the topic.
+ */
+@Component
+public class IndexSnapshotManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexSnapshotManager.class);
+
+    @Autowired
+    private PropertySearchIndex propertySearchIndex;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${search.index.enabled:true}")
+    private boolean indexEnabled;
+
+    @Value("${search.index.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${search.index.snapshot.path:data/search-index.snapshot}")
+    private String snapshotLocation;
+
+    @Value("${search.index.snapshot.interval:5m}")
+    private Duration snapshotInterval;
+
+    @Value("${search.index.snapshot.max-age:24h}")
+    private Duration maxAge;
+
+    private final ReentrantReadWriteLock barrier = new ReentrantReadWriteLock();
+    private final Map<Integer, Long> nextOffsets = new ConcurrentHashMap<>();
+    private final CountDownLatch assigned = new CountDownLatch(1);
+
+    private volatile Map<Integer, Long> restoredOffsets;
+    private volatile boolean dirty = true;
+    private Path snapshotPath;
+    private ScheduledExecutorService writer;
+
+    @PostConstruct
+    public void start() {
+        if (!indexEnabled || !snapshotEnabled) {
+            return;
+        }
+        // Shards started from the same directory keep separate snapshots
+        snapshotPath = Path.of(shardRouter.isSharded()
+                ? snapshotLocation + ".shard" + shardRouter.getShardId() : snapshotLocation);
+        restore();
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = snapshotInterval.toMillis();
+        writer.scheduleWithFixedDelay(this::writeSnapshot, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdownNow();
+        // Best effort: a fresh snapshot makes the next restart replay less
+        writeSnapshot();
+    }
+
+    /**
+     * Whether the index was loaded from a snapshot, making the property-service bootstrap unnecessary.
+     */
+    public boolean isRestored() {
+        return restoredOffsets != null;
+    }
+
+    /**
+     * Apply one property-events record and remember its offset as consumed.
+     */
+    public void apply(int partition, long offset, Runnable event) {
+        barrier.readLock().lock();
+        try {
+            event.run();
+            nextOffsets.put(partition, offset + 1);
+            dirty = true;
+        } finally {
+            barrier.readLock().unlock();
+        }
+    }
+
+    /**
+     * Wait until the event consumer has been assigned its partitions, and so holds a
+     * position from which every later property event will be read.
+     *
+     * @return false if the assignment did not arrive within {@code timeout}
+     */
+    public boolean awaitAssignment(Duration timeout) throws InterruptedException {
+        return assigned.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Have the next scheduled snapshot written even without new events, e.g. after the
+     * index was rebuilt.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Resume a restored index from its snapshot's offsets. Partitions the snapshot doesn't
+     * know (added since) are read from the beginning; without a snapshot the consumer
+     * keeps its default position and the index is bootstrapped from property-service.
+     */
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        Map<Integer, Long> resumeFrom = restoredOffsets;
+        for (Map.Entry<TopicPartition, Long> assignment : assignments.entrySet()) {
+            TopicPartition topicPartition = assignment.getKey();
+            int partition = topicPartition.partition();
+            // Only the first assignment of a partition resumes from the snapshot
+            if (resumeFrom == null || nextOffsets.containsKey(partition)) {
+                nextOffsets.putIfAbsent(partition, assignment.getValue());
+                continue;
+            }
+            Long offset = resumeFrom.get(partition);
+            if (offset != null) {
+                callback.seek(topicPartition.topic(), partition, offset);
+                nextOffsets.put(partition, offset);
+            } else {
+                callback.seekToBeginning(topicPartition.topic(), partition);
+                nextOffsets.put(partition, 0L);
+            }
+        }
+        assigned.countDown();
+    }
+
+    private void restore() {
+        if (!Files.exists(snapshotPath)) {
+            logger.info("No search index snapshot at {}, bootstrapping from property-service", snapshotPath);
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            IndexSnapshotFile snapshot = IndexSnapshotFile.read(snapshotPath);
+            if (!shardRouter.layout().equals(snapshot.getShardLayout())) {
+                logger.info("Search index snapshot was taken for shard layout {} (now {}), bootstrapping from property-service",
+                        snapshot.getShardLayout(), shardRouter.layout());
+                return;
+            }
+            Duration age = Duration.ofMillis(started - snapshot.getCreatedAt());
+            if (age.compareTo(maxAge) > 0) {
+                logger.info("Search index snapshot is {} old (max {}), bootstrapping from property-service", age, maxAge);
+                return;
+            }
+            for (IndexedListing listing : snapshot.getListings()) {
+                propertySearchIndex.loadSnapshotListing(listing);
+            }
+            propertySearchIndex.markReady();
+            restoredOffsets = snapshot.getOffsets();
+            dirty = false;
+            logger.info("Search index restored from snapshot with {} listings in {} ms, resuming property-events at {}",
+                    snapshot.getListings().size(), System.currentTimeMillis() - started, snapshot.getOffsets());
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable search index snapshot {} - {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private void writeSnapshot() {
+        if (!propertySearchIndex.isReady() || !dirty) {
+            return;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            List<IndexedListing> listings = new ArrayList<>(propertySearchIndex.size());
+            Map<Integer, Long> offsets;
+            // Listings are immutable once indexed, so holding the barrier only covers copying references
+            barrier.writeLock().lock();
+            try {
+                propertySearchIndex.forEachListing(listings::add);
+                offsets = new HashMap<>(nextOffsets);
+                dirty = false;
+            } finally {
+                barrier.writeLock().unlock();
+            }
+            new IndexSnapshotFile(started, shardRouter.layout(), offsets, listings).write(snapshotPath);
+            logger.info("Wrote search index snapshot with {} listings in {} ms",
+                    listings.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            dirty = true;
+            logger.error("Failed to write search index snapshot - {}", e.getMessage());
+        }
+    }
+}
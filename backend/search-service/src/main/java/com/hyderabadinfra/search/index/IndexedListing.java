@@ -0,0 +1,317 @@
+package com.hyderabadinfra.search.index;
+
+import com.hyderabadinfra.search.dto.PropertySearchResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A single active listing as held by the in-process search index.
+ * Instances are treated as immutable once handed to {@link PropertySearchIndex};
+ * updates build a new copy via {@link #copy()}.
+ */
+public class IndexedListing {
+
+    private String id;
+    private String title;
+    private String description;
+    private BigDecimal price;
+    private String location;
+    private String address;
+    private String city;
+    private String state;
+    private String pincode;
+    private String propertyType;
+    private String listingType;
+    private Integer bedrooms;
+    private Integer bathrooms;
+    private Integer areaSqft;
+    private String furnishedStatus;
+    private String amenities;
+    private List<String> images;
+    private String contactName;
+    private String contactPhone;
+    private Boolean isFeatured;
+    private Boolean isVerified;
+    private Long viewsCount;
+    private Long favoritesCount;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public IndexedListing() {}
+
+    public IndexedListing copy() {
+        IndexedListing copy = new IndexedListing();
+        copy.id = id;
+        copy.title = title;
+        copy.description = description;
+        copy.price = price;
+        copy.location = location;
+        copy.address = address;
+        copy.city = city;
+        copy.state = state;
+        copy.pincode = pincode;
+        copy.propertyType = propertyType;
+        copy.listingType = listingType;
+        copy.bedrooms = bedrooms;
+        copy.bathrooms = bathrooms;
+        copy.areaSqft = areaSqft;
+        copy.furnishedStatus = furnishedStatus;
+        copy.amenities = amenities;
+        copy.images = images;
+        copy.contactName = contactName;
+        copy.contactPhone = contactPhone;
+        copy.isFeatured = isFeatured;
+        copy.isVerified = isVerified;
+        copy.viewsCount = viewsCount;
+        copy.favoritesCount = favoritesCount;
+        copy.latitude = latitude;
+        copy.longitude = longitude;
+        copy.createdAt = createdAt;
+        return copy;
+    }
+
+    /**
+     * Fresh, mutable result DTO for one query; the listing itself is shared across queries.
+     */
+    public PropertySearchResult toSearchResult() {
+        PropertySearchResult result = new PropertySearchResult();
+        result.setId(id);
+        result.setTitle(title);
+        result.setDescription(description);
+        result.setPrice(price);
+        result.setLocation(location);
+        result.setAddress(address);
+        result.setCity(city);
+        result.setState(state);
+        result.setPropertyType(propertyType);
+        result.setListingType(listingType);
+        result.setBedrooms(bedrooms);
+        result.setBathrooms(bathrooms);
+        result.setAreaSqft(areaSqft);
+        result.setFurnishedStatus(furnishedStatus);
+        result.setImages(images);
+        result.setContactName(contactName);
+        result.setContactPhone(contactPhone);
+        result.setIsFeatured(isFeatured);
+        result.setIsVerified(isVerified);
+        result.setViewsCount(viewsCount);
+        result.setFavoritesCount(favoritesCount);
+        result.setLatitude(latitude);
+        result.setLongitude(longitude);
+        result.setCreatedAt(createdAt);
+        return result;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getPincode() {
+        return pincode;
+    }
+
+    public void setPincode(String pincode) {
+        this.pincode = pincode;
+    }
+
+    public String getPropertyType() {
+        return propertyType;
+    }
+
+    public void setPropertyType(String propertyType) {
+        this.propertyType = propertyType;
+    }
+
+    public String getListingType() {
+        return listingType;
+    }
+
+    public void setListingType(String listingType) {
+        this.listingType = listingType;
+    }
+
+    public Integer getBedrooms() {
+        return bedrooms;
+    }
+
+    public void setBedrooms(Integer bedrooms) {
+        this.bedrooms = bedrooms;
+    }
+
+    public Integer getBathrooms() {
+        return bathrooms;
+    }
+
+    public void setBathrooms(Integer bathrooms) {
+        this.bathrooms = bathrooms;
+    }
+
+    public Integer getAreaSqft() {
+        return areaSqft;
+    }
+
+    public void setAreaSqft(Integer areaSqft) {
+        this.areaSqft = areaSqft;
+    }
+
+    public String getFurnishedStatus() {
+        return furnishedStatus;
+    }
+
+    public void setFurnishedStatus(String furnishedStatus) {
+        this.furnishedStatus = furnishedStatus;
+    }
+
+    public String getAmenities() {
+        return amenities;
+    }
+
+    public void setAmenities(String amenities) {
+        this.amenities = amenities;
+    }
+
+    public List<String> getImages() {
+        return images;
+    }
+
+    public void setImages(List<String> images) {
+        this.images = images;
+    }
+
+    public String getContactName() {
+        return contactName;
+    }
+
+    public void setContactName(String contactName) {
+        this.contactName = contactName;
+    }
+
+    public String getContactPhone() {
+        return contactPhone;
+    }
+
+    public void setContactPhone(String contactPhone) {
+        this.contactPhone = contactPhone;
+    }
+
+    public Boolean getIsFeatured() {
+        return isFeatured;
+    }
+
+    public void setIsFeatured(Boolean isFeatured) {
+        this.isFeatured = isFeatured;
+    }
+
+    public Boolean getIsVerified() {
+        return isVerified;
+    }
+
+    public void setIsVerified(Boolean isVerified) {
+        this.isVerified = isVerified;
+    }
+
+    public Long getViewsCount() {
+        return viewsCount;
+    }
+
+    public void setViewsCount(Long viewsCount) {
+        this.viewsCount = viewsCount;
+    }
+
+    public Long getFavoritesCount() {
+        return favoritesCount;
+    }
+
+    public void setFavoritesCount(Long favoritesCount) {
+        this.favoritesCount = favoritesCount;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,15 @@
+package com.hyderabadinfra.search.index;
+
+/**
+ * Notified by {@link PropertyEventConsumer} after the index applies a listing change,
+ * so other in-memory read models can follow the same event stream.
+ * Engagement counter bumps (views, favorites) are not reported.
+ */
+public interface ListingChangeListener {
+
+    /**
+     * @param before the previously indexed listing, or null if it is new
+     * @param after  the listing now indexed, or null if it was removed
+     */
+    void onListingChanged(IndexedListing before, IndexedListing after);
+}
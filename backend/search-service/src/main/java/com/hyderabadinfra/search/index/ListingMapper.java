@@ -0,0 +1,74 @@
+package com.hyderabadinfra.search.index;
+
+import com.hyderabadinfra.common.events.PropertyEvent;
+import com.hyderabadinfra.common.events.PropertyEvents;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Builds {@link IndexedListing}s from property events; snapshot pages are decoded by
+ * {@link com.hyderabadinfra.search.client.PropertyServiceClient}.
+ */
+public final class ListingMapper {
+
+    private ListingMapper() {}
+
+    /**
+     * Apply a create/update event on top of the currently indexed version (if any).
+     * Fields the event doesn't carry keep their indexed value.
+     */
+    public static IndexedListing merge(IndexedListing existing, PropertyEvent event) {
+        IndexedListing listing = existing != null ? existing.copy() : new IndexedListing();
+        listing.setId(event.getPropertyId());
+        if (event.getTitle() != null) listing.setTitle(event.getTitle());
+        if (event.getDescription() != null) listing.setDescription(event.getDescription());
+        if (event.getPrice() != null) listing.setPrice(event.getPrice());
+        if (event.getLocation() != null) listing.setLocation(event.getLocation());
+        if (event.getAddress() != null) listing.setAddress(event.getAddress());
+        if (event.getCity() != null) listing.setCity(event.getCity());
+        if (event.getState() != null) listing.setState(event.getState());
+        if (event.getPincode() != null) listing.setPincode(event.getPincode());
+        if (event.getPropertyType() != null) listing.setPropertyType(event.getPropertyType());
+        if (event.getListingType() != null) listing.setListingType(event.getListingType());
+        if (event.getBedrooms() != null) listing.setBedrooms(event.getBedrooms());
+        if (event.getBathrooms() != null) listing.setBathrooms(event.getBathrooms());
+        if (event.getAreaSqft() != null) listing.setAreaSqft(event.getAreaSqft());
+        if (event.getFurnishedStatus() != null) listing.setFurnishedStatus(event.getFurnishedStatus());
+        if (event.getAmenities() != null) listing.setAmenities(event.getAmenities());
+        if (event.getContactName() != null) listing.setContactName(event.getContactName());
+        if (event.getContactPhone() != null) listing.setContactPhone(event.getContactPhone());
+        if (event.getIsFeatured() != null) listing.setIsFeatured(event.getIsFeatured());
+        if (event.getIsVerified() != null) listing.setIsVerified(event.getIsVerified());
+        if (event.getLatitude() != null) listing.setLatitude(event.getLatitude());
+        if (event.getLongitude() != null) listing.setLongitude(event.getLongitude());
+        if (event.getImageUrls() != null) listing.setImages(event.getImageUrls());
+        if (event.getCreatedAt() != null) listing.setCreatedAt(event.getCreatedAt());
+        if (listing.getCreatedAt() == null) listing.setCreatedAt(event.getTimestamp());
+        if (listing.getViewsCount() == null) listing.setViewsCount(0L);
+        if (listing.getFavoritesCount() == null) listing.setFavoritesCount(0L);
+        return listing;
+    }
+
+    /**
+     * Map the CQRS command-side {@link PropertyEvents.PropertyCreatedEvent}, which carries fewer fields.
+     */
+    public static IndexedListing fromCreatedEvent(PropertyEvents.PropertyCreatedEvent event) {
+        IndexedListing listing = new IndexedListing();
+        listing.setId(event.getAggregateId());
+        listing.setTitle(event.getTitle());
+        listing.setDescription(event.getDescription());
+        listing.setLocation(event.getLocation());
+        listing.setPrice(event.getPrice());
+        listing.setPropertyType(event.getPropertyType());
+        listing.setBedrooms(event.getBedrooms());
+        listing.setBathrooms(event.getBathrooms());
+        if (event.getAreaSqft() != null) {
+            listing.setAreaSqft(event.getAreaSqft().intValue());
+        }
+        listing.setViewsCount(0L);
+        listing.setFavoritesCount(0L);
+        listing.setCreatedAt(LocalDateTime.ofInstant(event.getTimestamp(), ZoneId.systemDefault()));
+        return listing;
+    }
+}
@@ -0,0 +1,60 @@
+package com.hyderabadinfra.search.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-field term frequencies and field lengths of one listing, computed once at
+ * index time so scoring never re-tokenizes listing text.
+ */
+final class ListingTerms {
+
+    static final int TITLE = 0;
+    static final int DESCRIPTION = 1;
+    static final int LOCATION = 2;
+    static final int FIELD_COUNT = 3;
+
+    private final Map<String, int[]> frequencies = new HashMap<>();
+    private final int[] lengths = new int[FIELD_COUNT];
+
+    private ListingTerms() {}
+
+    /**
+     * City is folded into the location field: both name where the listing is.
+     */
+    static ListingTerms of(String title, String description, String location, String city) {
+        ListingTerms terms = new ListingTerms();
+        terms.addField(TITLE, title);
+        terms.addField(DESCRIPTION, description);
+        terms.addField(LOCATION, location);
+        terms.addField(LOCATION, city);
+        return terms;
+    }
+
+    private void addField(int field, String text) {
+        for (String token : ListingTokenizer.tokenize(text)) {
+            frequencies.computeIfAbsent(token, t -> new int[FIELD_COUNT])[field]++;
+            lengths[field]++;
+        }
+    }
+
+    /**
+     * Per-field frequencies of a term, or null when the listing doesn't contain it.
+     */
+    int[] frequencies(String term) {
+        return frequencies.get(term);
+    }
+
+    int length(int field) {
+        return lengths[field];
+    }
+
+    Set<String> terms() {
+        return frequencies.keySet();
+    }
+
+    Map<String, int[]> frequencies() {
+        return frequencies;
+    }
+}
@@ -0,0 +1,109 @@
+package com.hyderabadinfra.search.index;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+
+/**
+ * Primitive {@code long} column over listing ordinals, kept sorted by (value, ordinal)
+ * so an inclusive range is two binary searches and a contiguous run of ordinals.
+ *
+ * Values are also stored by ordinal, so a single listing can be range-checked without
+ * touching the sorted arrays. Not thread-safe; guarded by {@link PropertySearchIndex}'s lock.
+ */
+final class LongRangeColumn {
+
+    private long[] values = new long[1024];
+    private boolean[] present = new boolean[1024];
+
+    private long[] sortedValues = new long[1024];
+    private int[] sortedOrdinals = new int[1024];
+    private int size;
+
+    void add(int ordinal, long value) {
+        remove(ordinal);
+        if (ordinal >= present.length) {
+            int capacity = Math.max(ordinal + 1, present.length * 2);
+            values = Arrays.copyOf(values, capacity);
+            present = Arrays.copyOf(present, capacity);
+        }
+        values[ordinal] = value;
+        present[ordinal] = true;
+
+        if (size == sortedValues.length) {
+            sortedValues = Arrays.copyOf(sortedValues, size * 2);
+            sortedOrdinals = Arrays.copyOf(sortedOrdinals, size * 2);
+        }
+        int position = position(value, ordinal);
+        System.arraycopy(sortedValues, position, sortedValues, position + 1, size - position);
+        System.arraycopy(sortedOrdinals, position, sortedOrdinals, position + 1, size - position);
+        sortedValues[position] = value;
+        sortedOrdinals[position] = ordinal;
+        size++;
+    }
+
+    void remove(int ordinal) {
+        if (ordinal >= present.length || !present[ordinal]) {
+            return;
+        }
+        int position = position(values[ordinal], ordinal);
+        System.arraycopy(sortedValues, position + 1, sortedValues, position, size - position - 1);
+        System.arraycopy(sortedOrdinals, position + 1, sortedOrdinals, position, size - position - 1);
+        size--;
+        present[ordinal] = false;
+    }
+
+    boolean contains(int ordinal, long min, long max) {
+        if (ordinal >= present.length || !present[ordinal]) {
+            return false;
+        }
+        long value = values[ordinal];
+        return value >= min && value <= max;
+    }
+
+    /**
+     * Number of ordinals with a value in [min, max].
+     */
+    int count(long min, long max) {
+        return Math.max(0, position(max, Integer.MAX_VALUE) - position(min, Integer.MIN_VALUE));
+    }
+
+    /**
+     * Ordinals with a value in [min, max].
+     */
+    RoaringBitmap range(long min, long max) {
+        int from = position(min, Integer.MIN_VALUE);
+        int to = position(max, Integer.MAX_VALUE);
+        RoaringBitmap ordinals = new RoaringBitmap();
+        if (to > from) {
+            ordinals.addN(sortedOrdinals, from, to - from);
+        }
+        return ordinals;
+    }
+
+    /**
+     * Heap held by the column's arrays, including unused capacity.
+     */
+    long estimatedBytes() {
+        return (long) values.length * 9 + (long) sortedValues.length * 12;
+    }
+
+    /**
+     * First position whose (value, ordinal) is not less than the given pair. Ordinals are
+     * never negative, so {@code Integer.MIN_VALUE}/{@code MAX_VALUE} give the bounds of a value.
+     */
+    private int position(long value, int ordinal) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long midValue = sortedValues[mid];
+            if (midValue < value || (midValue == value && sortedOrdinals[mid] < ordinal)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
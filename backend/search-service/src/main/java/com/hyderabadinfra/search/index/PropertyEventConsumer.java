@@ -0,0 +1,140 @@
+package com.hyderabadinfra.search.index;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyderabadinfra.common.events.PropertyEvent;
+import com.hyderabadinfra.common.events.PropertyEvents;
+import com.hyderabadinfra.search.recommend.UserPreferenceService;
+import com.hyderabadinfra.search.shard.ShardRouter;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@link PropertySearchIndex} current from the property-events topic.
+ *
+ * The topic carries both the legacy {@link PropertyEvent} (eventType PROPERTY_*) and the
+ * CQRS {@link PropertyEvents} domain events, so payloads are read as raw JSON and
+ * dispatched on their eventType. Every search-service instance reads the whole topic,
+ * hence a per-instance consumer group, and indexes the listings of its own city shard. Offsets are tracked by {@link IndexSnapshotManager}
+ * so a restart can resume from the last snapshot; without one the group starts at the end
+ * of the topic, and the property-service bootstrap waits for that position to exist.
+ */
+@Service
+public class PropertyEventConsumer implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyEventConsumer.class);
+
+    private static final String ACTIVE_STATUS = "ACTIVE";
+
+    @Autowired
+    private PropertySearchIndex propertySearchIndex;
+
+    @Autowired
+    private List<ListingChangeListener> listingChangeListeners;
+
+    @Autowired
+    private UserPreferenceService userPreferenceService;
+
+    @Autowired
+    private IndexSnapshotManager indexSnapshotManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "property-events",
+            groupId = "search-index-${random.uuid}",
+            autoStartup = "${search.index.enabled:true}",
+            properties = {
+                    "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                    "auto.offset.reset=latest"})
+    public void handlePropertyEvent(String payload,
+                                    @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                                    @Header(KafkaHeaders.OFFSET) long offset) {
+        indexSnapshotManager.apply(partition, offset, () -> applyPayload(payload));
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        indexSnapshotManager.onPartitionsAssigned(assignments, callback);
+    }
+
+    private void applyPayload(String payload) {
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            String eventType = node.path("eventType").asText();
+
+            switch (eventType) {
+                case "PROPERTY_CREATED", "PROPERTY_UPDATED" -> applyListingEvent(objectMapper.treeToValue(node, PropertyEvent.class));
+                case "PROPERTY_DELETED" -> remove(node.path("propertyId").asText());
+                case "PROPERTY_VIEWED" -> propertySearchIndex.incrementCounters(node.path("propertyId").asText(), 1, 0);
+                case "PROPERTY_FAVORITED" -> propertySearchIndex.incrementCounters(node.path("propertyId").asText(), 0, 1);
+                case "PROPERTY_UNFAVORITED" -> propertySearchIndex.incrementCounters(node.path("propertyId").asText(), 0, -1);
+                case "PropertyCreated" -> {
+                    IndexedListing listing = ListingMapper.fromCreatedEvent(
+                            objectMapper.treeToValue(node, PropertyEvents.PropertyCreatedEvent.class));
+                    index(propertySearchIndex.get(listing.getId()), listing);
+                }
+                case "PropertyViewed" -> {
+                    propertySearchIndex.incrementCounters(node.path("aggregateId").asText(), 1, 0);
+                    userPreferenceService.recordView(node.path("viewerUserId").asText(null), node.path("aggregateId").asText());
+                }
+                default -> logger.debug("Ignoring property event type: {}", eventType);
+            }
+
+        } catch (Exception e) {
+            logger.error("Failed to apply property event to search index - {}", e.getMessage());
+        }
+    }
+
+    private void applyListingEvent(PropertyEvent event) {
+        if (event.getStatus() != null && !ACTIVE_STATUS.equals(event.getStatus())) {
+            remove(event.getPropertyId());
+            return;
+        }
+        IndexedListing existing = propertySearchIndex.get(event.getPropertyId());
+        index(existing, ListingMapper.merge(existing, event));
+        logger.debug("Indexed property {} from {}", event.getPropertyId(), event.getEventType());
+    }
+
+    private void index(IndexedListing before, IndexedListing after) {
+        if (!shardRouter.isLocal(after)) {
+            // Another shard's city, possibly after moving away from one of ours
+            remove(after.getId());
+            return;
+        }
+        propertySearchIndex.upsert(after);
+        notifyListeners(before, after);
+    }
+
+    private void remove(String propertyId) {
+        IndexedListing before = propertySearchIndex.get(propertyId);
+        propertySearchIndex.remove(propertyId);
+        if (before != null) {
+            notifyListeners(before, null);
+        }
+    }
+
+    private void notifyListeners(IndexedListing before, IndexedListing after) {
+        for (ListingChangeListener listener : listingChangeListeners) {
+            try {
+                listener.onListingChanged(before, after);
+            } catch (Exception e) {
+                logger.error("Listing change listener {} failed - {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
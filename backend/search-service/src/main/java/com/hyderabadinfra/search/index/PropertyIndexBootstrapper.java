@@ -0,0 +1,123 @@
+package com.hyderabadinfra.search.index;
+
+import com.hyderabadinfra.search.client.PropertyPage;
+import com.hyderabadinfra.search.client.PropertyServiceClient;
+import com.hyderabadinfra.search.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Loads the initial index contents by paging through property-service's active listings,
+ * keeping those of this instance's city shard.
+ * Paging only starts once the property-events consumer has been assigned its partitions:
+ * a new consumer group starts at the end of the topic, and until the assignment there is
+ * no position yet, so a change published in between to a page already fetched would be
+ * lost. Anything that changes after the assignment is picked up from Kafka. Skipped when
+ * {@link IndexSnapshotManager} already restored the index from disk.
+ */
+@Component
+public class PropertyIndexBootstrapper {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyIndexBootstrapper.class);
+
+    @Autowired
+    private PropertySearchIndex propertySearchIndex;
+
+    @Autowired
+    private PropertyServiceClient propertyServiceClient;
+
+    @Autowired
+    private IndexSnapshotManager indexSnapshotManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${search.property-service.url:http://localhost:8082/api/public/properties}")
+    private String propertyServiceUrl;
+
+    @Value("${search.index.enabled:true}")
+    private boolean indexEnabled;
+
+    @Value("${search.index.bootstrap-page-size:500}")
+    private int bootstrapPageSize;
+
+    @Value("${search.index.assignment-wait-log-interval:30s}")
+    private Duration assignmentWaitLogInterval;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (!indexEnabled) {
+            logger.info("Search index disabled, searches will be proxied to property-service");
+            return;
+        }
+        if (indexSnapshotManager.isRestored()) {
+            // Already serving; the consumer replays property-events since the snapshot
+            eventPublisher.publishEvent(new SearchIndexReadyEvent(propertySearchIndex.size()));
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        try {
+            // Searches stay on the REST fallback meanwhile, so waiting out a slow broker is fine
+            while (!indexSnapshotManager.awaitAssignment(assignmentWaitLogInterval)) {
+                logger.warn("Search index bootstrap still waiting for property-events partitions after {} ms",
+                        System.currentTimeMillis() - started);
+            }
+            loadActiveListings(propertySearchIndex::loadSnapshotListing, page -> {});
+
+            propertySearchIndex.markReady();
+            logger.info("Search index ready with {} listings in {} ms",
+                    propertySearchIndex.size(), System.currentTimeMillis() - started);
+            eventPublisher.publishEvent(new SearchIndexReadyEvent(propertySearchIndex.size()));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Stay on the REST fallback rather than serve a partial index
+            logger.error("Failed to bootstrap search index, falling back to property-service - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Page through property-service's active listings, handing this shard's listings to
+     * {@code sink} and each page's metadata to {@code onPage}.
+     */
+    void loadActiveListings(Consumer<IndexedListing> sink, Consumer<PropertyPage> onPage) {
+        // Follow keyset cursors so late pages cost property-service the same as the first
+        String cursor = null;
+        boolean last = false;
+        while (!last) {
+            String url = UriComponentsBuilder.fromHttpUrl(propertyServiceUrl)
+                    .queryParam("size", bootstrapPageSize)
+                    .queryParam("sortBy", "createdAt")
+                    .queryParam("sortDir", "asc")
+                    .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                    .toUriString();
+            PropertyPage snapshotPage = propertyServiceClient.fetchPage(url, listing -> {
+                if (shardRouter.isLocal(listing)) {
+                    sink.accept(listing);
+                }
+            });
+            onPage.accept(snapshotPage);
+
+            cursor = snapshotPage.getNextCursor();
+            last = snapshotPage.isLast() || cursor == null || snapshotPage.getListingCount() == 0;
+        }
+    }
+}
@@ -0,0 +1,1052 @@
+package com.hyderabadinfra.search.index;
+
+import com.hyderabadinfra.common.util.PageCursor;
+import com.hyderabadinfra.search.dto.SearchPlan;
+import com.hyderabadinfra.search.dto.SearchRequest;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process inverted index over active listings.
+ *
+ * Every listing gets a dense integer ordinal. Text terms (title, description,
+ * location, city) and keyword fields (city, type, bedrooms, ...) map to a compressed
+ * {@link RoaringBitmap} of ordinals, so a filtered search is a handful of bitmap ANDs
+ * followed by price/area range restriction over sorted primitive columns, and facet
+ * counts are bitmap intersection cardinalities. Coordinates go into a
+ * {@link GeoGridIndex} so radius filters only touch nearby grid cells. Filters are
+ * applied most selective first by {@link QueryPlanner}.
+ *
+ * Pages are selected with a bounded heap of page * size entries rather than a full sort,
+ * and BM25 term statistics are kept up to date for {@link RelevanceScorer}.
+ *
+ * Restored from disk by {@link IndexSnapshotManager} or bootstrapped from a
+ * property-service snapshot by {@link PropertyIndexBootstrapper}, and kept current
+ * by {@link PropertyEventConsumer}. All of it lives in a {@link Generation}; reads go
+ * through the serving one, and {@link IndexRebuilder} can build a replacement alongside
+ * it and swap it in without a gap.
+ */
+@Component
+public class PropertySearchIndex {
+
+    static final String FIELD_CITY = "city";
+    static final String FIELD_STATE = "state";
+    static final String FIELD_PROPERTY_TYPE = "propertyType";
+    static final String FIELD_LISTING_TYPE = "listingType";
+    static final String FIELD_BEDROOMS = "bedrooms";
+    static final String FIELD_BATHROOMS = "bathrooms";
+    static final String FIELD_FURNISHED_STATUS = "furnishedStatus";
+    static final String FIELD_FEATURED = "featured";
+    static final String FIELD_LOCATION = "location";
+    static final String FIELD_PRICE_BUCKET = "priceBucket";
+    static final String FIELD_PINCODE = "pincode";
+
+    // Planner-only fields of non-keyword filters
+    private static final String FIELD_PRICE = "price";
+    private static final String FIELD_AREA = "areaSqft";
+    private static final String FIELD_GEO = "geo";
+    private static final String FIELD_TEXT = "text";
+
+    private static final int PRICE_SCALE = 2;
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    // Facets are returned in this order; price buckets last, in bucket order
+    private static final List<String> FACET_FIELDS = List.of(FIELD_CITY, FIELD_LOCATION, FIELD_PROPERTY_TYPE,
+            FIELD_LISTING_TYPE, FIELD_BEDROOMS, FIELD_FURNISHED_STATUS);
+
+    static final String SORT_RELEVANCE = "relevance";
+    static final String SORT_DISTANCE = "distance";
+
+    // Rough per-entry heap costs for the memory report, beyond string and bitmap contents
+    private static final int LISTING_OVERHEAD_BYTES = 480;
+    private static final int TERM_ENTRY_BYTES = 96;
+    private static final int POSTINGS_ENTRY_BYTES = 64;
+
+    // Held shared by every write while it is applied to both generations and exclusively
+    // to start or swap a rebuild, so no write lands in only one of them
+    private final ReentrantReadWriteLock generationLock = new ReentrantReadWriteLock();
+
+    // The alias every read resolves; replaced in one step when a rebuild completes
+    private volatile Generation serving = new Generation(1);
+    // A rebuild in progress: receives every write but serves no reads until swapped in
+    private volatile Generation building;
+
+    @Value("${search.geo.default-radius-km:10}")
+    private double defaultRadiusKm;
+
+    @Value("${search.facets.price-buckets:15000,30000,60000,1000000,3000000,6000000,10000000,20000000}")
+    private long[] priceBucketBounds;
+
+    @Autowired
+    private RelevanceScorer relevanceScorer;
+
+    private List<String> priceBucketLabels;
+
+    @PostConstruct
+    public void initPriceBuckets() {
+        List<String> labels = new ArrayList<>(priceBucketBounds.length + 1);
+        long lower = 0;
+        for (long upper : priceBucketBounds) {
+            labels.add(lower + "-" + upper);
+            lower = upper;
+        }
+        labels.add(lower + "+");
+        priceBucketLabels = labels;
+    }
+
+    /**
+     * Insert or replace a listing. Called from the event consumer.
+     */
+    public void upsert(IndexedListing listing) {
+        write(generation -> generation.upsert(listing));
+    }
+
+    /**
+     * Insert a listing from the bootstrap snapshot, unless an event has already
+     * inserted or deleted it (events are always newer than the snapshot).
+     */
+    public void loadSnapshotListing(IndexedListing listing) {
+        serving.loadSnapshotListing(listing);
+    }
+
+    public void remove(String id) {
+        write(generation -> generation.remove(id));
+    }
+
+    /**
+     * Bump engagement counters without re-tokenizing the listing.
+     */
+    public void incrementCounters(String id, long viewsDelta, long favoritesDelta) {
+        write(generation -> generation.incrementCounters(id, viewsDelta, favoritesDelta));
+    }
+
+    public IndexedListing get(String id) {
+        return serving.get(id);
+    }
+
+    /**
+     * Find all listings matching the request, ordered by its sortBy/sortOrder
+     * ({@code relevance} ranks by {@link RelevanceScorer}), and return the requested
+     * page plus the total hit count. With a cursor, the page starts right after the
+     * cursor's listing and {@code page} is ignored, so deep pages keep only {@code size}
+     * listings in the heap instead of every listing before them.
+     */
+    public IndexSearchResult search(SearchRequest request) {
+        return serving.search(request);
+    }
+
+    /**
+     * Hit counts per value for every facet field, computed from the same filters as
+     * {@link #search}. Each facet ignores its own filter (so a city filter still shows
+     * the other cities' counts) but applies all the others.
+     */
+    public Map<String, Map<String, Long>> facets(SearchRequest request) {
+        return serving.facets(request);
+    }
+
+    /**
+     * The filter evaluation plan {@link #search} uses for this request, with the hit count.
+     */
+    public SearchPlan explain(SearchRequest request) {
+        return serving.explain(request);
+    }
+
+    /**
+     * Featured listings, newest first.
+     */
+    public List<IndexedListing> featured(int limit) {
+        return serving.featured(limit);
+    }
+
+    /**
+     * Visit every indexed listing under the read lock; the visitor must not call back into the index.
+     */
+    public void forEachListing(Consumer<IndexedListing> visitor) {
+        serving.forEachListing(visitor);
+    }
+
+    public int size() {
+        return serving.size();
+    }
+
+    public boolean isReady() {
+        return serving.isReady();
+    }
+
+    public void markReady() {
+        serving.markReady();
+    }
+
+    /**
+     * Start an empty generation next to the serving one. Every write from here on is
+     * applied to both, so once {@link IndexRebuilder} has loaded the current listings
+     * into it the new generation is caught up.
+     *
+     * @return the new generation's number
+     */
+    long beginRebuild() {
+        generationLock.writeLock().lock();
+        try {
+            if (building != null) {
+                throw new IllegalStateException("Generation " + building.number + " is already being built");
+            }
+            building = new Generation(serving.number + 1);
+            return building.number;
+        } finally {
+            generationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Like {@link #loadSnapshotListing}, into the generation being built.
+     */
+    void loadRebuildListing(IndexedListing listing) {
+        Generation next = building;
+        if (next != null) {
+            next.loadSnapshotListing(listing);
+        }
+    }
+
+    /**
+     * Switch reads to the rebuilt generation. Searches already running finish on the
+     * old one, which is garbage once they return.
+     */
+    void completeRebuild() {
+        generationLock.writeLock().lock();
+        try {
+            if (building == null) {
+                throw new IllegalStateException("No generation is being built");
+            }
+            building.markReady();
+            serving = building;
+            building = null;
+        } finally {
+            generationLock.writeLock().unlock();
+        }
+    }
+
+    void abortRebuild() {
+        generationLock.writeLock().lock();
+        try {
+            building = null;
+        } finally {
+            generationLock.writeLock().unlock();
+        }
+    }
+
+    public GenerationStats servingStats() {
+        return serving.stats();
+    }
+
+    /**
+     * The generation being rebuilt, or null when no rebuild is running.
+     */
+    public GenerationStats buildingStats() {
+        Generation next = building;
+        return next != null ? next.stats() : null;
+    }
+
+    private void write(Consumer<Generation> change) {
+        generationLock.readLock().lock();
+        try {
+            change.accept(serving);
+            Generation next = building;
+            if (next != null) {
+                change.accept(next);
+            }
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    private void forEachKeyword(IndexedListing listing, KeywordVisitor visitor) {
+        visitKeyword(visitor, FIELD_CITY, listing.getCity());
+        visitKeyword(visitor, FIELD_LOCATION, listing.getLocation());
+        visitKeyword(visitor, FIELD_STATE, listing.getState());
+        visitKeyword(visitor, FIELD_PINCODE, listing.getPincode());
+        visitKeyword(visitor, FIELD_PROPERTY_TYPE, listing.getPropertyType());
+        visitKeyword(visitor, FIELD_LISTING_TYPE, listing.getListingType());
+        visitKeyword(visitor, FIELD_FURNISHED_STATUS, listing.getFurnishedStatus());
+        visitKeyword(visitor, FIELD_BEDROOMS, toKey(listing.getBedrooms()));
+        visitKeyword(visitor, FIELD_BATHROOMS, toKey(listing.getBathrooms()));
+        if (Boolean.TRUE.equals(listing.getIsFeatured())) {
+            visitKeyword(visitor, FIELD_FEATURED, Boolean.TRUE.toString());
+        }
+        if (listing.getPrice() != null) {
+            visitKeyword(visitor, FIELD_PRICE_BUCKET, priceBucket(listing.getPrice()));
+        }
+    }
+
+    private void visitKeyword(KeywordVisitor visitor, String field, String value) {
+        String key = ListingTokenizer.keyword(value);
+        if (key != null) {
+            visitor.visit(field, key, value.trim());
+        }
+    }
+
+    /**
+     * Price in hundredths as a long; out-of-range values clamp to the long range.
+     */
+    private static long scaledPrice(BigDecimal price, RoundingMode rounding) {
+        BigDecimal scaled = price.movePointRight(PRICE_SCALE).setScale(0, rounding);
+        if (scaled.compareTo(LONG_MAX) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (scaled.compareTo(LONG_MIN) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return scaled.longValue();
+    }
+
+    private String priceBucket(BigDecimal price) {
+        long value = price.longValue();
+        for (int bucket = 0; bucket < priceBucketBounds.length; bucket++) {
+            if (value < priceBucketBounds[bucket]) {
+                return priceBucketLabels.get(bucket);
+            }
+        }
+        return priceBucketLabels.get(priceBucketBounds.length);
+    }
+
+    /**
+     * One complete copy of the index. Reads go to the serving generation; a rebuild fills
+     * a second one from scratch, so a change in tokenization or scoring never shows up
+     * half-applied.
+     */
+    private final class Generation {
+
+        private final long number;
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final List<IndexedListing> listings = new ArrayList<>();
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final RoaringBitmap live = new RoaringBitmap();
+
+        private final List<ListingTerms> listingTerms = new ArrayList<>();
+        private final TextStatistics textStatistics = new TextStatistics();
+
+        private final Map<String, RoaringBitmap> terms = new HashMap<>();
+        private final Map<String, Map<String, RoaringBitmap>> fields = new HashMap<>();
+        // Original spelling of each normalized keyword value, for facet labels
+        private final Map<String, Map<String, String>> displayValues = new HashMap<>();
+        private final GeoGridIndex geo = new GeoGridIndex();
+        // Price in hundredths (paise) and area in sqft, sorted for range filters
+        private final LongRangeColumn priceColumn = new LongRangeColumn();
+        private final IntRangeColumn areaColumn = new IntRangeColumn();
+
+        // Ids deleted by events while the snapshot is still loading, so a stale
+        // snapshot row cannot resurrect them
+        private final Set<String> removedDuringBootstrap = new HashSet<>();
+
+        private volatile boolean ready;
+        private long listingBytes;
+
+        Generation(long number) {
+            this.number = number;
+        }
+
+        void upsert(IndexedListing listing) {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.get(listing.getId());
+                if (ordinal != null) {
+                    unindex(ordinal, listings.get(ordinal));
+                } else {
+                    ordinal = allocateOrdinal();
+                    ordinals.put(listing.getId(), ordinal);
+                }
+                listings.set(ordinal, listing);
+                index(ordinal, listing);
+                removedDuringBootstrap.remove(listing.getId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void loadSnapshotListing(IndexedListing listing) {
+            lock.writeLock().lock();
+            try {
+                if (ordinals.containsKey(listing.getId()) || removedDuringBootstrap.contains(listing.getId())) {
+                    return;
+                }
+                int ordinal = allocateOrdinal();
+                ordinals.put(listing.getId(), ordinal);
+                listings.set(ordinal, listing);
+                index(ordinal, listing);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String id) {
+            lock.writeLock().lock();
+            try {
+                if (!ready) {
+                    removedDuringBootstrap.add(id);
+                }
+                Integer ordinal = ordinals.remove(id);
+                if (ordinal == null) {
+                    return;
+                }
+                unindex(ordinal, listings.get(ordinal));
+                listings.set(ordinal, null);
+                freeOrdinals.push(ordinal);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void incrementCounters(String id, long viewsDelta, long favoritesDelta) {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.get(id);
+                if (ordinal == null) {
+                    return;
+                }
+                IndexedListing updated = listings.get(ordinal).copy();
+                updated.setViewsCount(valueOrZero(updated.getViewsCount()) + viewsDelta);
+                updated.setFavoritesCount(valueOrZero(updated.getFavoritesCount()) + favoritesDelta);
+                listings.set(ordinal, updated);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        IndexedListing get(String id) {
+            lock.readLock().lock();
+            try {
+                Integer ordinal = ordinals.get(id);
+                return ordinal != null ? listings.get(ordinal) : null;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        IndexSearchResult search(SearchRequest request) {
+            lock.readLock().lock();
+            try {
+                Selection selection = select(request);
+                RoaringBitmap candidates = QueryPlanner.execute(live, selection.predicates, null, null);
+                if (candidates.isEmpty()) {
+                    return IndexSearchResult.empty();
+                }
+                Map<Integer, Double> nearby = selection.nearby;
+                List<String> queryTerms = selection.queryTerms;
+
+                boolean byDistance = nearby != null && SORT_DISTANCE.equals(request.getSortBy());
+                String ordering = ordering(request, byDistance);
+                List<String> after = request.getCursor() != null && !request.getCursor().isBlank()
+                        ? PageCursor.decode(request.getCursor(), ordering, 2) : null;
+                int offset = after != null ? 0 : request.getPage() * request.getSize();
+                int limit = after != null ? request.getSize() : topK(request);
+                RelevanceScorer.PreparedQuery preparedQuery = relevanceScorer.prepare(queryTerms, textStatistics);
+                Map<IndexedListing, Double> distances = nearby != null ? new IdentityHashMap<>() : null;
+                Map<IndexedListing, Double> scores = new IdentityHashMap<>();
+                List<IndexedListing> ranked;
+                long totalHits = candidates.getLongCardinality();
+                // Candidates past the cursor (all of them without one)
+                long remaining = 0;
+
+                if (SORT_RELEVANCE.equals(request.getSortBy())) {
+                    // Every candidate has to be scored to rank by score; only the top K are kept
+                    Comparator<ScoredListing> order = Comparator.comparingDouble(ScoredListing::score)
+                            .thenComparing(hit -> hit.listing().getId(), Comparator.reverseOrder());
+                    ScoredListing anchor = after != null
+                            ? new ScoredListing(anchorListing(after.get(1)), Double.parseDouble(after.get(0))) : null;
+                    PriorityQueue<ScoredListing> heap = new PriorityQueue<>(order);
+                    for (IntIterator it = candidates.getIntIterator(); it.hasNext(); ) {
+                        int ord = it.next();
+                        IndexedListing listing = listings.get(ord);
+                        ScoredListing hit = new ScoredListing(listing, relevanceScorer.score(listing, listingTerms.get(ord), preparedQuery));
+                        if (anchor != null && order.compare(hit, anchor) >= 0) {
+                            continue;
+                        }
+                        remaining++;
+                        if (distances != null) {
+                            distances.put(listing, nearby.get(ord));
+                        }
+                        offerBounded(heap, hit, limit);
+                    }
+                    ranked = new ArrayList<>(heap.size());
+                    for (ScoredListing hit : drainBestFirst(heap)) {
+                        ranked.add(hit.listing());
+                        scores.put(hit.listing(), hit.score());
+                    }
+                } else {
+                    if (byDistance) {
+                        // Nearest first regardless of sortOrder
+                        for (IntIterator it = candidates.getIntIterator(); it.hasNext(); ) {
+                            int ord = it.next();
+                            distances.put(listings.get(ord), nearby.get(ord));
+                        }
+                    }
+                    Comparator<IndexedListing> order = byDistance
+                            ? Comparator.<IndexedListing>comparingDouble(distances::get).thenComparing(IndexedListing::getId)
+                            : comparator(request.getSortBy(), request.getSortOrder());
+                    IndexedListing anchor = after != null ? anchorListing(after.get(1)) : null;
+                    if (anchor != null && !byDistance) {
+                        setSortKey(anchor, sortField(request), after.get(0));
+                    }
+                    double anchorDistance = after != null && byDistance ? Double.parseDouble(after.get(0)) : 0;
+                    PriorityQueue<IndexedListing> heap = new PriorityQueue<>(order.reversed());
+                    for (IntIterator it = candidates.getIntIterator(); it.hasNext(); ) {
+                        int ord = it.next();
+                        IndexedListing listing = listings.get(ord);
+                        if (anchor != null && !(byDistance
+                                ? isAfter(distances.get(listing), listing.getId(), anchorDistance, anchor.getId())
+                                : order.compare(listing, anchor) > 0)) {
+                            continue;
+                        }
+                        remaining++;
+                        if (distances != null && !byDistance) {
+                            distances.put(listing, nearby.get(ord));
+                        }
+                        offerBounded(heap, listing, limit);
+                    }
+                    ranked = drainBestFirst(heap);
+                }
+
+                int from = Math.min(offset, ranked.size());
+                List<IndexedListing> page = new ArrayList<>(ranked.subList(from, ranked.size()));
+                for (IndexedListing listing : page) {
+                    // Only the returned page is scored when ranking by another field
+                    scores.computeIfAbsent(listing, l -> relevanceScorer.score(
+                            l, listingTerms.get(ordinals.get(l.getId())), preparedQuery));
+                }
+
+                // Cursor positioned after each listing; the last one continues to the next page
+                List<String> cursors = new ArrayList<>(page.size());
+                for (IndexedListing listing : page) {
+                    String key = SORT_RELEVANCE.equals(request.getSortBy()) ? scores.get(listing).toString()
+                            : byDistance ? distances.get(listing).toString()
+                            : sortKey(listing, sortField(request));
+                    cursors.add(PageCursor.encode(ordering, key, listing.getId()));
+                }
+                String nextCursor = !page.isEmpty() && remaining > offset + page.size()
+                        ? cursors.get(cursors.size() - 1) : null;
+                return new IndexSearchResult(page, totalHits, distances, scores, cursors, nextCursor);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Map<String, Map<String, Long>> facets(SearchRequest request) {
+            lock.readLock().lock();
+            try {
+                Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+                Selection selection = select(request);
+                for (String field : FACET_FIELDS) {
+                    facets.put(field, countByValue(QueryPlanner.execute(live, selection.predicates, field, null), field));
+                }
+
+                // Price buckets ignore the price range but keep every other filter
+                RoaringBitmap priceScope = QueryPlanner.execute(live, selection.predicates, FIELD_PRICE, null);
+                Map<String, RoaringBitmap> buckets = fields.getOrDefault(FIELD_PRICE_BUCKET, Map.of());
+                Map<String, Long> priceCounts = new LinkedHashMap<>();
+                for (String label : priceBucketLabels) {
+                    RoaringBitmap postings = buckets.get(label);
+                    long count = postings != null ? RoaringBitmap.andCardinality(priceScope, postings) : 0;
+                    if (count > 0) {
+                        priceCounts.put(label, count);
+                    }
+                }
+                facets.put(FIELD_PRICE_BUCKET, priceCounts);
+                return facets;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        SearchPlan explain(SearchRequest request) {
+            lock.readLock().lock();
+            try {
+                SearchPlan plan = new SearchPlan();
+                plan.setTotalHits(QueryPlanner.execute(live, select(request).predicates, null, plan).getLongCardinality());
+                return plan;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<IndexedListing> featured(int limit) {
+            lock.readLock().lock();
+            try {
+                RoaringBitmap featured = fieldPostings(FIELD_FEATURED, Boolean.TRUE.toString());
+                if (featured == null) {
+                    return List.of();
+                }
+                List<IndexedListing> matches = new ArrayList<>(featured.getCardinality());
+                for (IntIterator it = featured.getIntIterator(); it.hasNext(); ) {
+                    matches.add(listings.get(it.next()));
+                }
+                matches.sort(comparator("createdAt", "desc"));
+                return new ArrayList<>(matches.subList(0, Math.min(limit, matches.size())));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void forEachListing(Consumer<IndexedListing> visitor) {
+            lock.readLock().lock();
+            try {
+                for (IntIterator it = live.getIntIterator(); it.hasNext(); ) {
+                    visitor.accept(listings.get(it.next()));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return ordinals.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean isReady() {
+            return ready;
+        }
+
+        void markReady() {
+            lock.writeLock().lock();
+            try {
+                ready = true;
+                removedDuringBootstrap.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private int allocateOrdinal() {
+            if (!freeOrdinals.isEmpty()) {
+                return freeOrdinals.pop();
+            }
+            listings.add(null);
+            listingTerms.add(null);
+            return listings.size() - 1;
+        }
+
+        private void index(int ordinal, IndexedListing listing) {
+            live.add(ordinal);
+            if (listing.getLatitude() != null && listing.getLongitude() != null) {
+                geo.add(ordinal, listing.getLatitude(), listing.getLongitude());
+            }
+            if (listing.getPrice() != null) {
+                priceColumn.add(ordinal, scaledPrice(listing.getPrice(), RoundingMode.HALF_UP));
+            }
+            if (listing.getAreaSqft() != null) {
+                areaColumn.add(ordinal, listing.getAreaSqft());
+            }
+            ListingTerms text = ListingTerms.of(listing.getTitle(), listing.getDescription(),
+                    listing.getLocation(), listing.getCity());
+            listingTerms.set(ordinal, text);
+            textStatistics.add(text);
+            listingBytes += estimatedBytes(listing, text);
+            for (String term : text.terms()) {
+                terms.computeIfAbsent(term, t -> new RoaringBitmap()).add(ordinal);
+            }
+            forEachKeyword(listing, (field, key, value) -> {
+                fields.computeIfAbsent(field, f -> new HashMap<>())
+                        .computeIfAbsent(key, k -> new RoaringBitmap())
+                        .add(ordinal);
+                displayValues.computeIfAbsent(field, f -> new HashMap<>()).putIfAbsent(key, value);
+            });
+        }
+
+        private void unindex(int ordinal, IndexedListing listing) {
+            live.remove(ordinal);
+            geo.remove(ordinal);
+            priceColumn.remove(ordinal);
+            areaColumn.remove(ordinal);
+            ListingTerms text = listingTerms.set(ordinal, null);
+            textStatistics.remove(text);
+            listingBytes -= estimatedBytes(listing, text);
+            for (String term : text.terms()) {
+                RoaringBitmap postings = terms.get(term);
+                if (postings != null) {
+                    postings.remove(ordinal);
+                    if (postings.isEmpty()) {
+                        terms.remove(term);
+                    }
+                }
+            }
+            forEachKeyword(listing, (field, key, value) -> {
+                Map<String, RoaringBitmap> values = fields.get(field);
+                RoaringBitmap postings = values != null ? values.get(key) : null;
+                if (postings != null) {
+                    postings.remove(ordinal);
+                    if (postings.isEmpty()) {
+                        values.remove(key);
+                        displayValues.get(field).remove(key);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Turn the request's geo, text, keyword and range constraints into planner predicates,
+         * each with its exact match count as the estimate.
+         */
+        private Selection select(SearchRequest request) {
+            List<FilterPredicate> predicates = new ArrayList<>();
+
+            Map<Integer, Double> nearby = null;
+            if (request.getLatitude() != null && request.getLongitude() != null) {
+                double radiusKm = request.getRadiusKm() != null && request.getRadiusKm() > 0
+                        ? request.getRadiusKm() : defaultRadiusKm;
+                Map<Integer, Double> inRadius = geo.within(request.getLatitude(), request.getLongitude(), radiusKm);
+                nearby = inRadius;
+                predicates.add(new FilterPredicate(FIELD_GEO, "within " + radiusKm + " km", inRadius.size(), false, () -> {
+                    RoaringBitmap ordinals = new RoaringBitmap();
+                    inRadius.keySet().forEach(ordinals::add);
+                    return ordinals;
+                }, inRadius::containsKey));
+            }
+
+            // A term no listing has yields an empty predicate, so the search matches nothing
+            List<String> queryTerms = RelevanceScorer.queryTerms(request.getQuery());
+            for (String token : queryTerms) {
+                predicates.add(FilterPredicate.postings(FIELD_TEXT, "text=" + token, terms.get(token)));
+            }
+
+            addFilter(predicates, FIELD_CITY, request.getCity());
+            addFilter(predicates, FIELD_STATE, request.getState());
+            addFilter(predicates, FIELD_PINCODE, request.getPincode());
+            addFilter(predicates, FIELD_PROPERTY_TYPE, request.getPropertyType());
+            addFilter(predicates, FIELD_LISTING_TYPE, request.getListingType());
+            addFilter(predicates, FIELD_FURNISHED_STATUS, request.getFurnishedStatus());
+            addFilter(predicates, FIELD_BEDROOMS, toKey(request.getBedrooms()));
+            addFilter(predicates, FIELD_BATHROOMS, toKey(request.getBathrooms()));
+
+            if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+                long min = request.getMinPrice() != null
+                        ? scaledPrice(request.getMinPrice(), RoundingMode.CEILING) : Long.MIN_VALUE;
+                long max = request.getMaxPrice() != null
+                        ? scaledPrice(request.getMaxPrice(), RoundingMode.FLOOR) : Long.MAX_VALUE;
+                predicates.add(new FilterPredicate(FIELD_PRICE,
+                        "price in [" + plain(request.getMinPrice()) + ", " + plain(request.getMaxPrice()) + "]",
+                        priceColumn.count(min, max), false, () -> priceColumn.range(min, max),
+                        ord -> priceColumn.contains(ord, min, max)));
+            }
+            if (request.getMinArea() != null || request.getMaxArea() != null) {
+                int min = request.getMinArea() != null ? request.getMinArea() : Integer.MIN_VALUE;
+                int max = request.getMaxArea() != null ? request.getMaxArea() : Integer.MAX_VALUE;
+                predicates.add(new FilterPredicate(FIELD_AREA,
+                        "areaSqft in [" + request.getMinArea() + ", " + request.getMaxArea() + "]",
+                        areaColumn.count(min, max), false, () -> areaColumn.range(min, max),
+                        ord -> areaColumn.contains(ord, min, max)));
+            }
+            return new Selection(predicates, nearby, queryTerms);
+        }
+
+        /**
+         * A filter on a value no listing has still counts: it matches nothing.
+         */
+        private void addFilter(List<FilterPredicate> predicates, String field, String value) {
+            String key = ListingTokenizer.keyword(value);
+            if (key != null) {
+                predicates.add(FilterPredicate.postings(field, field + "=" + key, fieldPostings(field, key)));
+            }
+        }
+
+        private Map<String, Long> countByValue(RoaringBitmap scope, String field) {
+            List<Map.Entry<String, Long>> counts = new ArrayList<>();
+            Map<String, String> labels = displayValues.getOrDefault(field, Map.of());
+            for (Map.Entry<String, RoaringBitmap> value : fields.getOrDefault(field, Map.of()).entrySet()) {
+                long count = RoaringBitmap.andCardinality(scope, value.getValue());
+                if (count > 0) {
+                    counts.add(Map.entry(labels.getOrDefault(value.getKey(), value.getKey()), count));
+                }
+            }
+            counts.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+            Map<String, Long> result = new LinkedHashMap<>();
+            counts.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+            return result;
+        }
+
+        private RoaringBitmap fieldPostings(String field, String key) {
+            Map<String, RoaringBitmap> values = fields.get(field);
+            return values != null ? values.get(key) : null;
+        }
+
+        GenerationStats stats() {
+            lock.readLock().lock();
+            try {
+                long bytes = listingBytes + live.getLongSizeInBytes() + geo.estimatedBytes()
+                        + priceColumn.estimatedBytes() + areaColumn.estimatedBytes();
+                for (RoaringBitmap postings : terms.values()) {
+                    bytes += POSTINGS_ENTRY_BYTES + postings.getLongSizeInBytes();
+                }
+                for (Map<String, RoaringBitmap> values : fields.values()) {
+                    for (RoaringBitmap postings : values.values()) {
+                        bytes += POSTINGS_ENTRY_BYTES + postings.getLongSizeInBytes();
+                    }
+                }
+                return new GenerationStats(number, ordinals.size(), ready, bytes);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * The ordering a cursor is bound to; cursors from one ordering are rejected by another.
+     */
+    private static String ordering(SearchRequest request, boolean byDistance) {
+        if (SORT_RELEVANCE.equals(request.getSortBy())) {
+            return SORT_RELEVANCE;
+        }
+        if (byDistance) {
+            return SORT_DISTANCE;
+        }
+        return sortField(request) + ":" + ("asc".equalsIgnoreCase(request.getSortOrder()) ? "asc" : "desc");
+    }
+
+    private static String sortField(SearchRequest request) {
+        return request.getSortBy() != null ? request.getSortBy() : "createdAt";
+    }
+
+    private static boolean isAfter(double distance, String id, double anchorDistance, String anchorId) {
+        return distance > anchorDistance || (distance == anchorDistance && id.compareTo(anchorId) > 0);
+    }
+
+    /**
+     * Cursor form of the field a listing is sorted by, matching {@link #comparator}.
+     */
+    private static String sortKey(IndexedListing listing, String sortBy) {
+        Object key = switch (sortBy) {
+            case "price" -> listing.getPrice();
+            case "areaSqft" -> listing.getAreaSqft();
+            case "viewsCount" -> listing.getViewsCount();
+            case "favoritesCount" -> listing.getFavoritesCount();
+            case "title" -> listing.getTitle();
+            default -> listing.getCreatedAt();
+        };
+        return key != null ? key.toString() : null;
+    }
+
+    private static void setSortKey(IndexedListing listing, String sortBy, String key) {
+        if (key == null) {
+            return;
+        }
+        switch (sortBy) {
+            case "price" -> listing.setPrice(new BigDecimal(key));
+            case "areaSqft" -> listing.setAreaSqft(Integer.valueOf(key));
+            case "viewsCount" -> listing.setViewsCount(Long.valueOf(key));
+            case "favoritesCount" -> listing.setFavoritesCount(Long.valueOf(key));
+            case "title" -> listing.setTitle(key);
+            default -> listing.setCreatedAt(LocalDateTime.parse(key));
+        }
+    }
+
+    /**
+     * Stand-in for the cursor's listing, to compare candidates against.
+     */
+    private static IndexedListing anchorListing(String id) {
+        IndexedListing anchor = new IndexedListing();
+        anchor.setId(id);
+        return anchor;
+    }
+
+    private static Comparator<IndexedListing> comparator(String sortBy, String sortOrder) {
+        Comparator<IndexedListing> comparator = switch (sortBy != null ? sortBy : "createdAt") {
+            case "price" -> Comparator.comparing(IndexedListing::getPrice,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "areaSqft" -> Comparator.comparing(IndexedListing::getAreaSqft,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "viewsCount" -> Comparator.comparing(IndexedListing::getViewsCount,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "favoritesCount" -> Comparator.comparing(IndexedListing::getFavoritesCount,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "title" -> Comparator.comparing(IndexedListing::getTitle,
+                    Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+            default -> Comparator.comparing(IndexedListing::getCreatedAt,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+        };
+        comparator = "asc".equalsIgnoreCase(sortOrder) ? comparator : comparator.reversed();
+        // Stable tie-break so pages don't overlap between requests
+        return comparator.thenComparing(IndexedListing::getId);
+    }
+
+    /**
+     * Keep the best {@code limit} items; the heap's head is the worst item kept.
+     */
+    private static <T> void offerBounded(PriorityQueue<T> heap, T item, int limit) {
+        if (heap.size() < limit) {
+            heap.add(item);
+        } else if (limit > 0 && heap.comparator().compare(item, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    private static <T> List<T> drainBestFirst(PriorityQueue<T> heap) {
+        List<T> items = new ArrayList<>(heap);
+        items.sort(Collections.reverseOrder(heap.comparator()));
+        return items;
+    }
+
+    private static int topK(SearchRequest request) {
+        long limit = (long) (request.getPage() + 1) * request.getSize();
+        return (int) Math.min(Math.max(limit, 0), Integer.MAX_VALUE);
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.toPlainString() : null;
+    }
+
+    private static String toKey(Integer value) {
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Approximate heap of a listing and its term frequencies: a fixed allowance for
+     * headers and boxed fields plus the free-text contents.
+     */
+    private static long estimatedBytes(IndexedListing listing, ListingTerms text) {
+        long bytes = LISTING_OVERHEAD_BYTES + (long) text.terms().size() * TERM_ENTRY_BYTES;
+        for (String value : new String[]{listing.getTitle(), listing.getDescription(), listing.getAddress(),
+                listing.getAmenities(), listing.getLocation(), listing.getContactName()}) {
+            bytes += value != null ? value.length() : 0;
+        }
+        if (listing.getImages() != null) {
+            for (String image : listing.getImages()) {
+                bytes += image != null ? image.length() : 0;
+            }
+        }
+        return bytes;
+    }
+
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private record ScoredListing(IndexedListing listing, double score) {}
+
+    @FunctionalInterface
+    private interface KeywordVisitor {
+        void visit(String field, String key, String value);
+    }
+
+    /**
+     * Planner predicates of a request, plus what ranking needs besides the matches.
+     */
+    private static final class Selection {
+        private final List<FilterPredicate> predicates;
+        private final Map<Integer, Double> nearby;
+        private final List<String> queryTerms;
+
+        Selection(List<FilterPredicate> predicates, Map<Integer, Double> nearby, List<String> queryTerms) {
+            this.predicates = predicates;
+            this.nearby = nearby;
+            this.queryTerms = queryTerms;
+        }
+    }
+
+    /**
+     * Size of one index generation; {@code estimatedBytes} counts listings, postings,
+     * columns and the geo grid, not JVM-exact.
+     */
+    public static class GenerationStats {
+        private final long generation;
+        private final int listings;
+        private final boolean ready;
+        private final long estimatedBytes;
+
+        GenerationStats(long generation, int listings, boolean ready, long estimatedBytes) {
+            this.generation = generation;
+            this.listings = listings;
+            this.ready = ready;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        public long getGeneration() { return generation; }
+        public int getListings() { return listings; }
+        public boolean isReady() { return ready; }
+        public long getEstimatedBytes() { return estimatedBytes; }
+    }
+
+    /**
+     * One page of index hits plus the total number of matching listings.
+     */
+    public static class IndexSearchResult {
+        private final List<IndexedListing> listings;
+        private final long totalHits;
+        private final Map<IndexedListing, Double> distancesKm;
+        private final Map<IndexedListing, Double> scores;
+        private final List<String> cursors;
+        private final String nextCursor;
+
+        public IndexSearchResult(List<IndexedListing> listings, long totalHits,
+                                 Map<IndexedListing, Double> distancesKm, Map<IndexedListing, Double> scores,
+                                 List<String> cursors, String nextCursor) {
+            this.listings = listings;
+            this.totalHits = totalHits;
+            this.distancesKm = distancesKm;
+            this.scores = scores;
+            this.cursors = cursors;
+            this.nextCursor = nextCursor;
+        }
+
+        public static IndexSearchResult empty() {
+            return new IndexSearchResult(List.of(), 0, null, null, List.of(), null);
+        }
+
+        public List<IndexedListing> getListings() { return listings; }
+        public long getTotalHits() { return totalHits; }
+
+        /**
+         * Cursor for the page after this one, or null when this is the last page.
+         */
+        public String getNextCursor() { return nextCursor; }
+
+        /**
+         * For each listing on the page, a cursor continuing right after it; lets a
+         * scatter-gather merge resume from whichever shard's listing ends its page.
+         */
+        public List<String> getCursors() { return cursors; }
+
+        /**
+         * Distance from the request's point, or null when the search had no geo filter.
+         */
+        public Double getDistanceKm(IndexedListing listing) {
+            return distancesKm != null ? distancesKm.get(listing) : null;
+        }
+
+        /**
+         * Relevance score computed by {@link RelevanceScorer} for a listing on this page.
+         */
+        public Double getScore(IndexedListing listing) {
+            return scores != null ? scores.get(listing) : null;
+        }
+    }
+}
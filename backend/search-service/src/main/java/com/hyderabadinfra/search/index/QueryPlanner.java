@@ -0,0 +1,99 @@
+package com.hyderabadinfra.search.index;
+
+import com.hyderabadinfra.search.dto.SearchPlan;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Evaluates a search's filters most selective first.
+ *
+ * Every filter's match count is estimated up front from per-value statistics (posting
+ * list cardinality, sorted range column counts, geo cell hits). The smallest one seeds
+ * the candidate set, and each following filter is either intersected as a bitmap or
+ * deferred to a single post-filter scan over the final candidates, whichever is
+ * cheaper at that point. Range and geo filters must build their bitmap first, so they
+ * are scanned as soon as the candidates are fewer than their matches. Postings already
+ * exist and intersect word-wise, so they are only scanned when the candidates are
+ * {@value #POSTINGS_SCAN_RATIO} times fewer.
+ */
+final class QueryPlanner {
+
+    static final int POSTINGS_SCAN_RATIO = 32;
+
+    private QueryPlanner() {}
+
+    /**
+     * Ordinals matching every predicate except those on {@code excludedField}; with no
+     * predicates that is {@code all}. Records each step in {@code plan} when given. The
+     * result may be shared with the index and must not be modified.
+     */
+    static RoaringBitmap execute(RoaringBitmap all, List<FilterPredicate> predicates, String excludedField,
+                                 SearchPlan plan) {
+        List<FilterPredicate> ordered = new ArrayList<>(predicates.size());
+        for (FilterPredicate predicate : predicates) {
+            if (!predicate.field().equals(excludedField)) {
+                ordered.add(predicate);
+            }
+        }
+        if (ordered.isEmpty()) {
+            return all;
+        }
+        ordered.sort(Comparator.comparingLong(FilterPredicate::estimate));
+
+        FilterPredicate seed = ordered.get(0);
+        RoaringBitmap candidates = seed.matches();
+        step(plan, seed, SearchPlan.Strategy.SEED, candidates.getLongCardinality());
+
+        List<FilterPredicate> scanned = new ArrayList<>();
+        for (int i = 1; i < ordered.size(); i++) {
+            FilterPredicate next = ordered.get(i);
+            long remaining = candidates.getLongCardinality();
+            if (remaining == 0) {
+                for (FilterPredicate skipped : ordered.subList(i, ordered.size())) {
+                    step(plan, skipped, SearchPlan.Strategy.SKIPPED, null);
+                }
+                return candidates;
+            }
+            long scanThreshold = next.prebuilt() ? next.estimate() / POSTINGS_SCAN_RATIO : next.estimate();
+            if (remaining < scanThreshold) {
+                scanned.add(next);
+            } else {
+                candidates = RoaringBitmap.and(candidates, next.matches());
+                step(plan, next, SearchPlan.Strategy.INTERSECT, candidates.getLongCardinality());
+            }
+        }
+        return scanned.isEmpty() ? candidates : scan(candidates, scanned, plan);
+    }
+
+    /**
+     * Keep the candidates passing every predicate, testing in order and stopping at the first miss.
+     */
+    private static RoaringBitmap scan(RoaringBitmap candidates, List<FilterPredicate> predicates, SearchPlan plan) {
+        long[] passed = new long[predicates.size()];
+        RoaringBitmap result = new RoaringBitmap();
+        for (IntIterator it = candidates.getIntIterator(); it.hasNext(); ) {
+            int ordinal = it.next();
+            int p = 0;
+            while (p < predicates.size() && predicates.get(p).test(ordinal)) {
+                passed[p++]++;
+            }
+            if (p == predicates.size()) {
+                result.add(ordinal);
+            }
+        }
+        for (int p = 0; p < predicates.size(); p++) {
+            step(plan, predicates.get(p), SearchPlan.Strategy.SCAN, passed[p]);
+        }
+        return result;
+    }
+
+    private static void step(SearchPlan plan, FilterPredicate predicate, SearchPlan.Strategy strategy, Long candidatesAfter) {
+        if (plan != null) {
+            plan.getSteps().add(new SearchPlan.Step(predicate.label(), predicate.estimate(), strategy, candidatesAfter));
+        }
+    }
+}
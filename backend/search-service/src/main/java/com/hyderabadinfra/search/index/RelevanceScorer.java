@@ -0,0 +1,173 @@
+package com.hyderabadinfra.search.index;
+
+import com.hyderabadinfra.search.dto.PropertySearchResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Relevance score = listing boosts + weighted BM25 over title, description and location.
+ *
+ * Each field is scored with its own length normalization and document frequencies
+ * and the per-field scores are combined with {@code search.relevance.*-weight}. The
+ * featured/verified/views/favorites boosts are additive and configured alongside.
+ */
+@Component
+public class RelevanceScorer {
+
+    @Value("${search.relevance.bm25.k1:1.2}")
+    private double k1;
+
+    @Value("${search.relevance.bm25.b:0.75}")
+    private double b;
+
+    @Value("${search.relevance.title-weight:2.5}")
+    private double titleWeight;
+
+    @Value("${search.relevance.description-weight:1.0}")
+    private double descriptionWeight;
+
+    @Value("${search.relevance.location-weight:2.0}")
+    private double locationWeight;
+
+    @Value("${search.relevance.text-weight:10}")
+    private double textWeight;
+
+    @Value("${search.relevance.base-score:10}")
+    private double baseScore;
+
+    @Value("${search.relevance.featured-boost:20}")
+    private double featuredBoost;
+
+    @Value("${search.relevance.verified-boost:15}")
+    private double verifiedBoost;
+
+    @Value("${search.relevance.views-weight:0.1}")
+    private double viewsWeight;
+
+    @Value("${search.relevance.views-cap:10}")
+    private double viewsCap;
+
+    @Value("${search.relevance.favorites-weight:0.5}")
+    private double favoritesWeight;
+
+    @Value("${search.relevance.favorites-cap:15}")
+    private double favoritesCap;
+
+    /**
+     * Distinct query terms, in query order.
+     */
+    public static List<String> queryTerms(String query) {
+        return new ArrayList<>(new LinkedHashSet<>(ListingTokenizer.tokenize(query)));
+    }
+
+    /**
+     * Resolve idf and average field lengths once per query instead of once per candidate.
+     */
+    PreparedQuery prepare(List<String> queryTerms, TextStatistics statistics) {
+        int documentCount = statistics.documentCount();
+        double[][] termWeights = new double[queryTerms.size()][ListingTerms.FIELD_COUNT];
+        double[] averageLengths = new double[ListingTerms.FIELD_COUNT];
+        for (int field = 0; field < ListingTerms.FIELD_COUNT; field++) {
+            averageLengths[field] = statistics.averageLength(field);
+            for (int i = 0; i < queryTerms.size(); i++) {
+                int df = statistics.documentFrequency(queryTerms.get(i), field);
+                double idf = Math.log(1.0 + (documentCount - df + 0.5) / (df + 0.5));
+                termWeights[i][field] = textWeight * fieldWeight(field) * idf;
+            }
+        }
+        return new PreparedQuery(queryTerms, termWeights, averageLengths);
+    }
+
+    /**
+     * Score an indexed listing against a query prepared from the index-wide statistics.
+     */
+    double score(IndexedListing listing, ListingTerms terms, PreparedQuery query) {
+        return boosts(listing.getIsFeatured(), listing.getIsVerified(), listing.getViewsCount(), listing.getFavoritesCount())
+                + textScore(terms, query);
+    }
+
+    /**
+     * Score results that did not come from the index (REST fallback). Term statistics
+     * are taken from the page itself since no collection-wide ones are available.
+     */
+    public void scoreResults(List<PropertySearchResult> results, String query) {
+        List<ListingTerms> pageTerms = new ArrayList<>(results.size());
+        TextStatistics statistics = new TextStatistics();
+        for (PropertySearchResult result : results) {
+            ListingTerms terms = ListingTerms.of(result.getTitle(), result.getDescription(), result.getLocation(), result.getCity());
+            pageTerms.add(terms);
+            statistics.add(terms);
+        }
+        PreparedQuery preparedQuery = prepare(queryTerms(query), statistics);
+        for (int i = 0; i < results.size(); i++) {
+            PropertySearchResult result = results.get(i);
+            result.setRelevanceScore(boosts(result.getIsFeatured(), result.getIsVerified(),
+                    result.getViewsCount(), result.getFavoritesCount())
+                    + textScore(pageTerms.get(i), preparedQuery));
+        }
+    }
+
+    private double boosts(Boolean featured, Boolean verified, Long views, Long favorites) {
+        double score = baseScore;
+        if (Boolean.TRUE.equals(featured)) {
+            score += featuredBoost;
+        }
+        if (Boolean.TRUE.equals(verified)) {
+            score += verifiedBoost;
+        }
+        if (views != null) {
+            score += Math.min(views * viewsWeight, viewsCap);
+        }
+        if (favorites != null) {
+            score += Math.min(favorites * favoritesWeight, favoritesCap);
+        }
+        return score;
+    }
+
+    private double textScore(ListingTerms terms, PreparedQuery query) {
+        double score = 0.0;
+        for (int i = 0; i < query.terms.size(); i++) {
+            int[] frequencies = terms.frequencies(query.terms.get(i));
+            if (frequencies == null) {
+                continue;
+            }
+            for (int field = 0; field < ListingTerms.FIELD_COUNT; field++) {
+                int tf = frequencies[field];
+                if (tf == 0) {
+                    continue;
+                }
+                double averageLength = query.averageLengths[field];
+                double lengthRatio = averageLength > 0 ? terms.length(field) / averageLength : 1.0;
+                score += query.termWeights[i][field] * tf * (k1 + 1) / (tf + k1 * (1 - b + b * lengthRatio));
+            }
+        }
+        return score;
+    }
+
+    private double fieldWeight(int field) {
+        return switch (field) {
+            case ListingTerms.TITLE -> titleWeight;
+            case ListingTerms.DESCRIPTION -> descriptionWeight;
+            default -> locationWeight;
+        };
+    }
+
+    /**
+     * Query terms with their per-field weight (text weight * field weight * idf).
+     */
+    static final class PreparedQuery {
+        private final List<String> terms;
+        private final double[][] termWeights;
+        private final double[] averageLengths;
+
+        private PreparedQuery(List<String> terms, double[][] termWeights, double[] averageLengths) {
+            this.terms = terms;
+            this.termWeights = termWeights;
+            this.averageLengths = averageLengths;
+        }
+    }
+}
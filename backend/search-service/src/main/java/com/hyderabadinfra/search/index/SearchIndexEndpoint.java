@@ -0,0 +1,24 @@
+package com.hyderabadinfra.search.index;
+
+import com.hyderabadinfra.search.dto.IndexRebuildStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/searchindex}: rebuild progress and the estimated memory of the serving
+ * and rebuilding index generations.
+ */
+@Component
+@Endpoint(id = "searchindex")
+public class SearchIndexEndpoint {
+
+    @Autowired
+    private IndexRebuilder indexRebuilder;
+
+    @ReadOperation
+    public IndexRebuildStatus status() {
+        return indexRebuilder.status();
+    }
+}
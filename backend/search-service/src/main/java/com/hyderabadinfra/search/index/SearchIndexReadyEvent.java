@@ -0,0 +1,17 @@
+package com.hyderabadinfra.search.index;
+
+/**
+ * Published once the bootstrap snapshot has been loaded and searches are served from the index.
+ */
+public class SearchIndexReadyEvent {
+
+    private final int listingCount;
+
+    public SearchIndexReadyEvent(int listingCount) {
+        this.listingCount = listingCount;
+    }
+
+    public int getListingCount() {
+        return listingCount;
+    }
+}
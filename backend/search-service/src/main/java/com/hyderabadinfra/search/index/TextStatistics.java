@@ -0,0 +1,67 @@
+package com.hyderabadinfra.search.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collection-wide term statistics for BM25: document count, per-field document
+ * frequencies and total field lengths. Maintained incrementally as listings are
+ * indexed and removed; callers provide the locking.
+ */
+final class TextStatistics {
+
+    private int documentCount;
+    private final long[] totalLengths = new long[ListingTerms.FIELD_COUNT];
+    private final Map<String, int[]> documentFrequencies = new HashMap<>();
+
+    void add(ListingTerms terms) {
+        documentCount++;
+        for (int field = 0; field < ListingTerms.FIELD_COUNT; field++) {
+            totalLengths[field] += terms.length(field);
+        }
+        for (Map.Entry<String, int[]> entry : terms.frequencies().entrySet()) {
+            int[] df = documentFrequencies.computeIfAbsent(entry.getKey(), t -> new int[ListingTerms.FIELD_COUNT]);
+            for (int field = 0; field < ListingTerms.FIELD_COUNT; field++) {
+                if (entry.getValue()[field] > 0) {
+                    df[field]++;
+                }
+            }
+        }
+    }
+
+    void remove(ListingTerms terms) {
+        documentCount--;
+        for (int field = 0; field < ListingTerms.FIELD_COUNT; field++) {
+            totalLengths[field] -= terms.length(field);
+        }
+        for (Map.Entry<String, int[]> entry : terms.frequencies().entrySet()) {
+            int[] df = documentFrequencies.get(entry.getKey());
+            if (df == null) {
+                continue;
+            }
+            boolean empty = true;
+            for (int field = 0; field < ListingTerms.FIELD_COUNT; field++) {
+                if (entry.getValue()[field] > 0) {
+                    df[field]--;
+                }
+                empty &= df[field] == 0;
+            }
+            if (empty) {
+                documentFrequencies.remove(entry.getKey());
+            }
+        }
+    }
+
+    int documentCount() {
+        return documentCount;
+    }
+
+    int documentFrequency(String term, int field) {
+        int[] df = documentFrequencies.get(term);
+        return df != null ? df[field] : 0;
+    }
+
+    double averageLength(int field) {
+        return documentCount > 0 ? (double) totalLengths[field] / documentCount : 0.0;
+    }
+}
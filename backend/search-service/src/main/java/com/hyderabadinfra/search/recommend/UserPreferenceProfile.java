@@ -0,0 +1,127 @@
+package com.hyderabadinfra.search.recommend;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exponentially decayed preference counters for one user over city, property type,
+ * bedrooms and price band.
+ *
+ * Counters are stored scaled to a per-profile reference time, so an update is a single
+ * add and shares within a dimension need no decay pass. The reference is moved forward
+ * before the scale factor can overflow.
+ */
+final class UserPreferenceProfile {
+
+    static final int CITY = 0;
+    static final int PROPERTY_TYPE = 1;
+    static final int BEDROOMS = 2;
+    static final int PRICE_BAND = 3;
+    private static final int DIMENSIONS = 4;
+
+    private static final int MAX_VALUES_PER_DIMENSION = 16;
+    private static final double MAX_EXPONENT = 30.0;
+
+    private final double decayPerMilli;
+    private final List<Map<String, Double>> counters = new ArrayList<>(DIMENSIONS);
+    private long referenceMillis;
+
+    // Newest search history row folded in at seeding; older search-events are skipped
+    private final LocalDateTime seededThrough;
+
+    UserPreferenceProfile(double decayPerMilli, long referenceMillis, LocalDateTime seededThrough) {
+        this.decayPerMilli = decayPerMilli;
+        this.referenceMillis = referenceMillis;
+        this.seededThrough = seededThrough;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            counters.add(new HashMap<>());
+        }
+    }
+
+    synchronized void add(int dimension, String value, double weight, long atMillis) {
+        if (value == null) {
+            return;
+        }
+        double exponent = decayPerMilli * (atMillis - referenceMillis);
+        if (exponent > MAX_EXPONENT) {
+            rebase(atMillis);
+            exponent = 0.0;
+        }
+        Map<String, Double> values = counters.get(dimension);
+        values.merge(value, weight * Math.exp(exponent), Double::sum);
+        if (values.size() > MAX_VALUES_PER_DIMENSION) {
+            // Never evict the value just recorded, or a new preference could not build up
+            values.remove(weakest(values, value));
+        }
+    }
+
+    /**
+     * The value with the highest decayed count, or null if nothing was recorded.
+     */
+    synchronized String top(int dimension) {
+        String top = null;
+        double best = 0.0;
+        for (Map.Entry<String, Double> entry : counters.get(dimension).entrySet()) {
+            if (entry.getValue() > best) {
+                best = entry.getValue();
+                top = entry.getKey();
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Share of a value within its dimension, 0..1.
+     */
+    synchronized double share(int dimension, String value) {
+        if (value == null) {
+            return 0.0;
+        }
+        Map<String, Double> values = counters.get(dimension);
+        Double count = values.get(value);
+        if (count == null) {
+            return 0.0;
+        }
+        double total = 0.0;
+        for (double c : values.values()) {
+            total += c;
+        }
+        return total > 0 ? count / total : 0.0;
+    }
+
+    synchronized boolean isEmpty() {
+        for (Map<String, Double> values : counters) {
+            if (!values.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isSeededThrough(LocalDateTime time) {
+        return seededThrough != null && time != null && !time.isAfter(seededThrough);
+    }
+
+    private void rebase(long atMillis) {
+        double factor = Math.exp(-decayPerMilli * (atMillis - referenceMillis));
+        for (Map<String, Double> values : counters) {
+            values.replaceAll((value, count) -> count * factor);
+        }
+        referenceMillis = atMillis;
+    }
+
+    private static String weakest(Map<String, Double> values, String keep) {
+        String weakest = null;
+        double lowest = Double.MAX_VALUE;
+        for (Map.Entry<String, Double> entry : values.entrySet()) {
+            if (entry.getValue() < lowest && !entry.getKey().equals(keep)) {
+                lowest = entry.getValue();
+                weakest = entry.getKey();
+            }
+        }
+        return weakest;
+    }
+}
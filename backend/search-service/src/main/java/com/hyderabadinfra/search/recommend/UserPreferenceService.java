@@ -0,0 +1,237 @@
+package com.hyderabadinfra.search.recommend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hyderabadinfra.search.dto.SearchRequest;
+import com.hyderabadinfra.search.entity.SearchHistory;
+import com.hyderabadinfra.search.index.IndexedListing;
+import com.hyderabadinfra.search.index.ListingTokenizer;
+import com.hyderabadinfra.search.index.PropertySearchIndex;
+import com.hyderabadinfra.search.repository.SearchHistoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Per-user preference profiles for recommendations, kept in memory and updated
+ * incrementally from search-events and PropertyViewed events.
+ *
+ * A profile is seeded once from the user's recent search history the first time
+ * it is needed; after that neither recommendations nor updates read history or
+ * parse stored filter JSON.
+ */
+@Service
+public class UserPreferenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPreferenceService.class);
+
+    private static final String ANONYMOUS_USER = "anonymous";
+
+    @Autowired
+    private SearchHistoryRepository searchHistoryRepository;
+
+    @Autowired
+    private PropertySearchIndex propertySearchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.recommend.half-life:7d}")
+    private Duration halfLife;
+
+    @Value("${search.recommend.max-profiles:100000}")
+    private long maxProfiles;
+
+    @Value("${search.recommend.seed-searches:50}")
+    private int seedSearches;
+
+    @Value("${search.recommend.search-weight:1.0}")
+    private double searchWeight;
+
+    @Value("${search.recommend.view-weight:2.0}")
+    private double viewWeight;
+
+    @Value("${search.recommend.candidate-pool:200}")
+    private int candidatePool;
+
+    // Upper bounds of the price bands; the last band is open-ended
+    @Value("${search.recommend.price-bands:15000,30000,60000,1000000,3000000,6000000,10000000,20000000}")
+    private long[] priceBands;
+
+    private Cache<String, UserPreferenceProfile> profiles;
+    private double decayPerMilli;
+
+    @PostConstruct
+    public void init() {
+        decayPerMilli = Math.log(2) / halfLife.toMillis();
+        profiles = Caffeine.newBuilder()
+                .maximumSize(maxProfiles)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "search.preference.profiles");
+    }
+
+    /**
+     * Fold one executed search (the search-events {@code filters} payload) into the user's profile.
+     */
+    public void recordSearch(String userId, JsonNode filters, LocalDateTime searchedAt) {
+        if (isAnonymous(userId) || filters == null || filters.isMissingNode()) {
+            return;
+        }
+        UserPreferenceProfile profile = profiles.get(userId, this::seedFromHistory);
+        if (profile.isSeededThrough(searchedAt)) {
+            // Already counted when the profile was seeded from search history
+            return;
+        }
+        applySearch(profile, filters, searchWeight, toMillis(searchedAt));
+    }
+
+    /**
+     * Fold a property view into the viewer's profile using the listing's indexed attributes.
+     */
+    public void recordView(String viewerUserId, String propertyId) {
+        if (isAnonymous(viewerUserId)) {
+            return;
+        }
+        IndexedListing listing = propertySearchIndex.get(propertyId);
+        if (listing == null) {
+            return;
+        }
+        UserPreferenceProfile profile = profiles.get(viewerUserId, this::seedFromHistory);
+        long now = System.currentTimeMillis();
+        profile.add(UserPreferenceProfile.CITY, ListingTokenizer.keyword(listing.getCity()), viewWeight, now);
+        profile.add(UserPreferenceProfile.PROPERTY_TYPE, ListingTokenizer.keyword(listing.getPropertyType()), viewWeight, now);
+        profile.add(UserPreferenceProfile.BEDROOMS, toKey(listing.getBedrooms()), viewWeight, now);
+        profile.add(UserPreferenceProfile.PRICE_BAND, priceBand(listing.getPrice()), viewWeight, now);
+    }
+
+    /**
+     * Listings from the index ranked by how well they match the user's profile; empty
+     * when the user has no recorded preferences or the index isn't loaded.
+     */
+    public List<IndexedListing> recommend(String userId, int limit) {
+        if (isAnonymous(userId) || !propertySearchIndex.isReady()) {
+            return List.of();
+        }
+        UserPreferenceProfile profile = profiles.get(userId, this::seedFromHistory);
+        if (profile.isEmpty()) {
+            return List.of();
+        }
+
+        // Newest listings in the preferred city form the candidate pool
+        SearchRequest poolRequest = new SearchRequest();
+        poolRequest.setCity(profile.top(UserPreferenceProfile.CITY));
+        poolRequest.setSize(candidatePool);
+        List<IndexedListing> candidates = propertySearchIndex.search(poolRequest).getListings();
+        if (candidates.size() < limit && poolRequest.getCity() != null) {
+            poolRequest.setCity(null);
+            candidates = propertySearchIndex.search(poolRequest).getListings();
+        }
+
+        List<IndexedListing> ranked = new ArrayList<>(candidates);
+        // Stable sort: equally good matches stay newest first
+        ranked.sort(Comparator.comparingDouble((IndexedListing listing) -> affinity(profile, listing)).reversed());
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    private double affinity(UserPreferenceProfile profile, IndexedListing listing) {
+        return profile.share(UserPreferenceProfile.CITY, ListingTokenizer.keyword(listing.getCity()))
+                + profile.share(UserPreferenceProfile.PROPERTY_TYPE, ListingTokenizer.keyword(listing.getPropertyType()))
+                + profile.share(UserPreferenceProfile.BEDROOMS, toKey(listing.getBedrooms()))
+                + profile.share(UserPreferenceProfile.PRICE_BAND, priceBand(listing.getPrice()));
+    }
+
+    /**
+     * One-time load of a profile from the user's most recent searches, decayed by their age.
+     */
+    private UserPreferenceProfile seedFromHistory(String userId) {
+        List<SearchHistory> recentSearches = List.of();
+        try {
+            recentSearches = searchHistoryRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, seedSearches));
+        } catch (Exception e) {
+            logger.error("Failed to seed preference profile for user {} - {}", userId, e.getMessage());
+        }
+
+        LocalDateTime seededThrough = recentSearches.isEmpty() ? null : recentSearches.get(0).getCreatedAt();
+        UserPreferenceProfile profile = new UserPreferenceProfile(decayPerMilli, System.currentTimeMillis(), seededThrough);
+        for (SearchHistory history : recentSearches) {
+            if (history.getSearchFilters() == null) {
+                continue;
+            }
+            try {
+                applySearch(profile, objectMapper.readTree(history.getSearchFilters()), searchWeight, toMillis(history.getCreatedAt()));
+            } catch (Exception e) {
+                logger.debug("Skipping unreadable search filters {} - {}", history.getId(), e.getMessage());
+            }
+        }
+        return profile;
+    }
+
+    private void applySearch(UserPreferenceProfile profile, JsonNode filters, double weight, long atMillis) {
+        profile.add(UserPreferenceProfile.CITY, ListingTokenizer.keyword(filters.path("city").asText(null)), weight, atMillis);
+        profile.add(UserPreferenceProfile.PROPERTY_TYPE, ListingTokenizer.keyword(filters.path("propertyType").asText(null)), weight, atMillis);
+        if (filters.path("bedrooms").isNumber()) {
+            profile.add(UserPreferenceProfile.BEDROOMS, filters.path("bedrooms").asText(), weight, atMillis);
+        }
+        profile.add(UserPreferenceProfile.PRICE_BAND, priceBand(targetPrice(filters)), weight, atMillis);
+    }
+
+    /**
+     * Midpoint of the searched price range, or whichever bound was given.
+     */
+    private static BigDecimal targetPrice(JsonNode filters) {
+        JsonNode min = filters.path("minPrice");
+        JsonNode max = filters.path("maxPrice");
+        if (min.isNumber() && max.isNumber()) {
+            return min.decimalValue().add(max.decimalValue()).divide(BigDecimal.valueOf(2));
+        }
+        if (min.isNumber()) {
+            return min.decimalValue();
+        }
+        return max.isNumber() ? max.decimalValue() : null;
+    }
+
+    private String priceBand(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        long value = price.longValue();
+        for (int band = 0; band < priceBands.length; band++) {
+            if (value < priceBands[band]) {
+                return Integer.toString(band);
+            }
+        }
+        return Integer.toString(priceBands.length);
+    }
+
+    private static String toKey(Integer value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : System.currentTimeMillis();
+    }
+
+    private static boolean isAnonymous(String userId) {
+        return userId == null || userId.isBlank() || ANONYMOUS_USER.equals(userId);
+    }
+}
@@ -0,0 +1,24 @@
+package com.hyderabadinfra.search.repository;
+
+import com.hyderabadinfra.search.entity.SavedSearch;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, String> {
+
+    List<SavedSearch> findByUserIdAndActiveTrueOrderByCreatedAtDesc(String userId);
+
+    Optional<SavedSearch> findByIdAndUserId(String id, String userId);
+
+    long countByUserIdAndActiveTrue(String userId);
+
+    List<SavedSearch> findByActiveTrueAndIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
+
+    List<SavedSearch> findByUpdatedAtAfterOrderByUpdatedAtAsc(LocalDateTime since);
+}
@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,13 +16,18 @@ public interface SearchHistoryRepository extends JpaRepository<SearchHistory, St
     
     List<SearchHistory> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
     
-    @Query("SELECT sh.searchQuery FROM SearchHistory sh WHERE sh.searchQuery IS NOT NULL AND sh.searchQuery != '' " +
-           "GROUP BY sh.searchQuery ORDER BY COUNT(sh) DESC")
-    List<String> findPopularSearchTerms(Pageable pageable);
+    // Popularity and per-user totals come from the daily rollups, not the raw partitions
+    @Query(value = "SELECT term, CAST(SUM(searches) AS BIGINT) FROM search_term_daily WHERE day >= :since " +
+                   "GROUP BY term ORDER BY SUM(searches) DESC", nativeQuery = true)
+    List<Object[]> findSearchTermCounts(@Param("since") LocalDate since, Pageable pageable);
     
-    @Query("SELECT COUNT(sh) FROM SearchHistory sh WHERE sh.userId = :userId")
+    @Query(value = "SELECT CAST(COALESCE(SUM(searches), 0) AS BIGINT) FROM search_user_daily WHERE user_id = :userId",
+           nativeQuery = true)
     Long countSearchesByUser(@Param("userId") String userId);
     
-    @Query("SELECT sh FROM SearchHistory sh WHERE sh.userId = :userId AND sh.searchQuery LIKE %:query%")
-    List<SearchHistory> findUserSearchHistory(@Param("userId") String userId, @Param("query") String query, Pageable pageable);
+    // Bounded by created_at so only the partitions since then are scanned
+    @Query("SELECT sh FROM SearchHistory sh WHERE sh.userId = :userId AND sh.createdAt >= :since " +
+           "AND sh.searchQuery LIKE %:query% ORDER BY sh.createdAt DESC")
+    List<SearchHistory> findUserSearchHistory(@Param("userId") String userId, @Param("query") String query,
+                                              @Param("since") LocalDateTime since, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.hyderabadinfra.search.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyderabadinfra.search.recommend.UserPreferenceService;
+import com.hyderabadinfra.search.suggest.SuggestionService;
+import com.hyderabadinfra.search.trending.TrendingSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Feeds executed searches from every search-service instance back into this
+ * instance's in-memory read models. Per-instance consumer group, like the index.
+ */
+@Service
+public class SearchEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchEventConsumer.class);
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private UserPreferenceService userPreferenceService;
+
+    @Autowired
+    private TrendingSearchService trendingSearchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "search-events",
+            groupId = "search-events-${random.uuid}",
+            properties = {"value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"})
+    public void handleSearchEvent(String payload) {
+        try {
+            JsonNode event = objectMapper.readTree(payload);
+            String query = event.path("query").asText(null);
+            suggestionService.recordSearch(query);
+            trendingSearchService.record(query);
+            userPreferenceService.recordSearch(event.path("userId").asText(null), event.path("filters"),
+                    readTimestamp(event.path("timestamp")));
+        } catch (Exception e) {
+            logger.error("Failed to process search event - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The producer may write LocalDateTime as an ISO string or as a [y, m, d, h, min, s, nanos] array.
+     */
+    private static LocalDateTime readTimestamp(JsonNode timestamp) {
+        if (timestamp.isTextual()) {
+            return LocalDateTime.parse(timestamp.asText());
+        }
+        if (timestamp.isArray() && timestamp.size() >= 3) {
+            return LocalDateTime.of(timestamp.path(0).asInt(), timestamp.path(1).asInt(), timestamp.path(2).asInt(),
+                    timestamp.path(3).asInt(), timestamp.path(4).asInt(), timestamp.path(5).asInt(), timestamp.path(6).asInt());
+        }
+        return null;
+    }
+}
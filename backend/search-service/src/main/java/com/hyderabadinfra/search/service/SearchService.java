@@ -1,46 +1,91 @@
 package com.hyderabadinfra.search.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyderabadinfra.common.dto.CursorPage;
+import com.hyderabadinfra.search.cache.SearchResultCache;
+import com.hyderabadinfra.search.client.PropertyPage;
+import com.hyderabadinfra.search.client.PropertyServiceClient;
+import com.hyderabadinfra.search.coalesce.RequestCoalescer;
 import com.hyderabadinfra.search.dto.PropertySearchResult;
+import com.hyderabadinfra.search.dto.SearchPlan;
 import com.hyderabadinfra.search.dto.SearchRequest;
-import com.hyderabadinfra.search.entity.SearchHistory;
-import com.hyderabadinfra.search.repository.SearchHistoryRepository;
+import com.hyderabadinfra.search.dto.ShardPage;
+import com.hyderabadinfra.search.dto.TrendingTerm;
+import com.hyderabadinfra.search.history.SearchHistoryWriter;
+import com.hyderabadinfra.search.index.IndexedListing;
+import com.hyderabadinfra.search.index.PropertySearchIndex;
+import com.hyderabadinfra.search.index.RelevanceScorer;
+import com.hyderabadinfra.search.recommend.UserPreferenceService;
+import com.hyderabadinfra.search.shard.ScatterGatherCoordinator;
+import com.hyderabadinfra.search.shard.ShardRouter;
+import com.hyderabadinfra.search.suggest.SuggestionService;
+import com.hyderabadinfra.search.trending.TrendingSearchService;
+import com.hyderabadinfra.search.trending.TrendingWindow;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
 @Service
-@Transactional
 public class SearchService {
     
     @Autowired
-    private SearchHistoryRepository searchHistoryRepository;
+    private SearchHistoryWriter searchHistoryWriter;
     
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private PropertyServiceClient propertyServiceClient;
     
     @Autowired
-    private RestTemplate restTemplate;
+    private PropertySearchIndex propertySearchIndex;
     
     @Autowired
-    private ObjectMapper objectMapper;
+    private SuggestionService suggestionService;
     
-    private static final String PROPERTY_SERVICE_URL = "http://localhost:8082/api/public/properties";
+    @Autowired
+    private SearchResultCache searchResultCache;
+    
+    @Autowired
+    private RelevanceScorer relevanceScorer;
+    
+    @Autowired
+    private UserPreferenceService userPreferenceService;
+    
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+    
+    @Autowired
+    private TrendingSearchService trendingSearchService;
+    
+    @Autowired
+    private ShardRouter shardRouter;
+    
+    @Autowired
+    private ScatterGatherCoordinator scatterGatherCoordinator;
+    
+    @Value("${search.property-service.url:http://localhost:8082/api/public/properties}")
+    private String propertyServiceUrl;
+    
+    public CursorPage<PropertySearchResult> searchProperties(SearchRequest searchRequest, String userId, String ipAddress, String userAgent) {
+        // Identical concurrent searches share one computation; history is still per caller
+        CursorPage<PropertySearchResult> results = requestCoalescer.execute("search",
+                SearchResultCache.canonicalKey(searchRequest), () -> findResults(searchRequest));
+        
+        // Save search history
+        saveSearchHistory(searchRequest, userId, results.getContent().size(), ipAddress, userAgent);
+        return results;
+    }
     
-    public Page<PropertySearchResult> searchProperties(SearchRequest searchRequest, String userId, String ipAddress, String userAgent) {
+    private CursorPage<PropertySearchResult> findResults(SearchRequest searchRequest) {
+        if (propertySearchIndex.isReady()) {
+            return searchIndex(searchRequest);
+        }
+        
         try {
-            // Build query parameters for property service
-            StringBuilder urlBuilder = new StringBuilder(PROPERTY_SERVICE_URL);
+            // Index not loaded yet - build query parameters for property service
+            StringBuilder urlBuilder = new StringBuilder(propertyServiceUrl);
             
             if (searchRequest.getQuery() != null && !searchRequest.getQuery().isEmpty()) {
                 urlBuilder.append("/search?query=").append(searchRequest.getQuery());
@@ -74,256 +119,144 @@ public class SearchService {
                 urlBuilder.append("&maxArea=").append(searchRequest.getMaxArea());
             }
             
-            // Add pagination and sorting
+            // Add pagination and sorting; property-service search/filter still page by offset
             urlBuilder.append("&page=").append(searchRequest.getPage());
             urlBuilder.append("&size=").append(searchRequest.getSize());
             urlBuilder.append("&sortBy=").append(searchRequest.getSortBy());
             
-            // Call property service
-            ResponseEntity<Map> response = restTemplate.getForEntity(urlBuilder.toString(), Map.class);
+            // Call property service, decoding listings as they stream in
+            List<PropertySearchResult> searchResults = new ArrayList<>(searchRequest.getSize());
+            PropertyPage page = propertyServiceClient.fetchPage(urlBuilder.toString(),
+                    listing -> searchResults.add(listing.toSearchResult()));
             
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
-                Map<String, Object> data = (Map<String, Object>) responseBody.get("data");
-                
-                if (data != null) {
-                    List<Map<String, Object>> content = (List<Map<String, Object>>) data.get("content");
-                    List<PropertySearchResult> searchResults = content.stream()
-                            .map(this::mapToSearchResult)
-                            .toList();
-                    
-                    // Apply relevance scoring
-                    searchResults = applyRelevanceScoring(searchResults, searchRequest);
-                    
-                    // Save search history
-                    saveSearchHistory(searchRequest, userId, searchResults.size(), ipAddress, userAgent);
-                    
-                    // Create page info
-                    Map<String, Object> pageable = (Map<String, Object>) data.get("pageable");
-                    int totalElements = (Integer) data.get("totalElements");
-                    
-                    return new PageImpl<>(searchResults, 
-                            PageRequest.of(searchRequest.getPage(), searchRequest.getSize()), 
-                            totalElements);
-                }
-            }
+            // Apply relevance scoring
+            List<PropertySearchResult> scoredResults = applyRelevanceScoring(searchResults, searchRequest);
             
-            return new PageImpl<>(List.of(), PageRequest.of(searchRequest.getPage(), searchRequest.getSize()), 0);
+            return new CursorPage<>(scoredResults, searchRequest.getSize(), null, page.getTotalElements());
             
         } catch (Exception e) {
             throw new RuntimeException("Failed to search properties: " + e.getMessage());
         }
     }
     
+    /**
+     * Serve a search from the in-process index: no network hop, no table scan. The hit
+     * count comes from the candidate bitmap, so the total is always included. A sharded
+     * index is searched through the scatter-gather coordinator.
+     */
+    private CursorPage<PropertySearchResult> searchIndex(SearchRequest searchRequest) {
+        SearchResultCache.CachedPage cached = searchResultCache.get(searchRequest);
+        if (cached != null) {
+            return new CursorPage<>(cached.getResults(), searchRequest.getSize(),
+                    cached.getNextCursor(), cached.getTotalHits());
+        }
+        
+        // With a single shard this is just the local index
+        ShardPage hits = shardRouter.isSharded()
+                ? scatterGatherCoordinator.search(searchRequest)
+                : scatterGatherCoordinator.localPage(searchRequest);
+        List<PropertySearchResult> searchResults = hits.getResults();
+        String nextCursor = hits.isHasMore() && !searchResults.isEmpty()
+                ? hits.getCursors().get(hits.getCursors().size() - 1) : null;
+        
+        // Scored by the index against collection-wide term statistics; a stable sort, so a
+        // relevance-sorted page keeps the index's tie order
+        searchResults = rankByRelevance(searchResults, searchRequest);
+        searchResultCache.put(searchRequest, searchResults, hits.getTotalHits(), nextCursor);
+        
+        return new CursorPage<>(searchResults, searchRequest.getSize(), nextCursor, hits.getTotalHits());
+    }
+    
+    public SearchPlan explainSearch(SearchRequest searchRequest) {
+        if (!propertySearchIndex.isReady()) {
+            throw new RuntimeException("Search index is still loading; searches are served by property-service");
+        }
+        return propertySearchIndex.explain(searchRequest);
+    }
+    
     public List<PropertySearchResult> getRecommendations(String userId, int limit) {
-        // Get user's search history to understand preferences
-        List<SearchHistory> recentSearches = searchHistoryRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, 10));
+        // Ranked from the user's preference profile, kept current from search and view events
+        List<IndexedListing> recommendations = userPreferenceService.recommend(userId, limit);
         
-        if (recentSearches.isEmpty()) {
-            // If no history, return featured properties
+        if (recommendations.isEmpty()) {
+            // If no preferences yet, return featured properties
             return getFeaturedProperties(limit);
         }
         
-        // Analyze search patterns and get recommendations
-        SearchRequest recommendationRequest = analyzeUserPreferences(recentSearches);
-        Page<PropertySearchResult> recommendations = searchProperties(recommendationRequest, userId, null, null);
-        
-        return recommendations.getContent().stream()
-                .limit(limit)
+        return recommendations.stream()
+                .map(IndexedListing::toSearchResult)
                 .toList();
     }
     
     public List<String> getSearchSuggestions(String query, int limit) {
-        // Get popular search terms
-        List<String> suggestions = searchHistoryRepository.findPopularSearchTerms(PageRequest.of(0, limit));
-        
-        // Filter by query if provided
-        if (query != null && !query.isEmpty()) {
-            return suggestions.stream()
-                    .filter(suggestion -> suggestion.toLowerCase().contains(query.toLowerCase()))
-                    .limit(limit)
-                    .toList();
+        if (suggestionService.isReady()) {
+            return suggestionService.suggest(query, limit);
         }
         
-        return suggestions;
+        // Trie not seeded yet - fall back to this week's trending terms
+        return trendingSearchService.popularTerms(query, limit);
+    }
+    
+    public List<TrendingTerm> getTrendingSearches(TrendingWindow window, int limit) {
+        return trendingSearchService.trending(window, limit);
     }
     
     public List<PropertySearchResult> getFeaturedProperties(int limit) {
+        // A featured campaign sends many identical requests at once; run each limit once
+        return requestCoalescer.execute("featured", Integer.toString(limit), () -> findFeaturedProperties(limit));
+    }
+    
+    private List<PropertySearchResult> findFeaturedProperties(int limit) {
+        if (propertySearchIndex.isReady()) {
+            return propertySearchIndex.featured(limit).stream()
+                    .map(IndexedListing::toSearchResult)
+                    .toList();
+        }
+        
         try {
-            String url = PROPERTY_SERVICE_URL + "/featured?page=0&size=" + limit;
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
-                Map<String, Object> data = (Map<String, Object>) responseBody.get("data");
-                
-                if (data != null) {
-                    List<Map<String, Object>> content = (List<Map<String, Object>>) data.get("content");
-                    return content.stream()
-                            .map(this::mapToSearchResult)
-                            .toList();
-                }
-            }
-            
-            return List.of();
+            String url = propertyServiceUrl + "/featured?page=0&size=" + limit;
+            List<PropertySearchResult> featured = new ArrayList<>(limit);
+            propertyServiceClient.fetchPage(url, listing -> featured.add(listing.toSearchResult()));
+            return featured;
             
         } catch (Exception e) {
             throw new RuntimeException("Failed to get featured properties: " + e.getMessage());
         }
     }
     
-    private PropertySearchResult mapToSearchResult(Map<String, Object> propertyMap) {
-        PropertySearchResult result = new PropertySearchResult();
-        result.setId((String) propertyMap.get("id"));
-        result.setTitle((String) propertyMap.get("title"));
-        result.setDescription((String) propertyMap.get("description"));
-        // Handle BigDecimal properly
-        if (propertyMap.get("price") != null) {
-            result.setPrice(new java.math.BigDecimal(propertyMap.get("price").toString()));
-        }
-        result.setLocation((String) propertyMap.get("location"));
-        result.setAddress((String) propertyMap.get("address"));
-        result.setCity((String) propertyMap.get("city"));
-        result.setState((String) propertyMap.get("state"));
-        result.setPropertyType((String) propertyMap.get("propertyType"));
-        result.setListingType((String) propertyMap.get("listingType"));
-        result.setBedrooms((Integer) propertyMap.get("bedrooms"));
-        result.setBathrooms((Integer) propertyMap.get("bathrooms"));
-        result.setAreaSqft((Integer) propertyMap.get("areaSqft"));
-        result.setFurnishedStatus((String) propertyMap.get("furnishedStatus"));
-        result.setContactName((String) propertyMap.get("contactName"));
-        result.setContactPhone((String) propertyMap.get("contactPhone"));
-        result.setIsFeatured((Boolean) propertyMap.get("isFeatured"));
-        result.setIsVerified((Boolean) propertyMap.get("isVerified"));
-        if (propertyMap.get("viewsCount") != null) {
-            result.setViewsCount(Long.valueOf(propertyMap.get("viewsCount").toString()));
-        }
-        if (propertyMap.get("favoritesCount") != null) {
-            result.setFavoritesCount(Long.valueOf(propertyMap.get("favoritesCount").toString()));
+    /**
+     * Hit counts per facet value for the request's filters; empty until the index is loaded.
+     */
+    public Map<String, Map<String, Long>> getFacets(SearchRequest searchRequest) {
+        if (!propertySearchIndex.isReady()) {
+            return Map.of();
         }
-        result.setLatitude((Double) propertyMap.get("latitude"));
-        result.setLongitude((Double) propertyMap.get("longitude"));
-        
-        // Extract images
-        List<Map<String, Object>> images = (List<Map<String, Object>>) propertyMap.get("images");
-        if (images != null) {
-            List<String> imageUrls = images.stream()
-                    .map(img -> (String) img.get("imageUrl"))
-                    .toList();
-            result.setImages(imageUrls);
-        }
-        
-        return result;
+        return shardRouter.isSharded()
+                ? scatterGatherCoordinator.facets(searchRequest)
+                : propertySearchIndex.facets(searchRequest);
     }
     
     private List<PropertySearchResult> applyRelevanceScoring(List<PropertySearchResult> results, SearchRequest searchRequest) {
-        return results.stream()
-                .peek(result -> {
-                    double score = calculateRelevanceScore(result, searchRequest);
-                    result.setRelevanceScore(score);
-                })
-                .sorted((a, b) -> Double.compare(b.getRelevanceScore(), a.getRelevanceScore()))
-                .toList();
+        relevanceScorer.scoreResults(results, searchRequest.getQuery());
+        return rankByRelevance(results, searchRequest);
     }
     
-    private double calculateRelevanceScore(PropertySearchResult result, SearchRequest searchRequest) {
-        double score = 0.0;
-        
-        // Base score for active listings
-        score += 10.0;
-        
-        // Featured properties get higher score
-        if (Boolean.TRUE.equals(result.getIsFeatured())) {
-            score += 20.0;
-        }
-        
-        // Verified properties get bonus
-        if (Boolean.TRUE.equals(result.getIsVerified())) {
-            score += 15.0;
-        }
-        
-        // View count contributes to score
-        if (result.getViewsCount() != null) {
-            score += Math.min(result.getViewsCount() * 0.1, 10.0);
-        }
-        
-        // Favorites count contributes to score
-        if (result.getFavoritesCount() != null) {
-            score += Math.min(result.getFavoritesCount() * 0.5, 15.0);
+    /**
+     * Order a page by relevance score when relevance is the requested sort. Any other sort,
+     * including none (newest first, as the index applies it), keeps the order it arrived in;
+     * the page's cursor was taken from that order.
+     */
+    private List<PropertySearchResult> rankByRelevance(List<PropertySearchResult> results, SearchRequest searchRequest) {
+        if (!"relevance".equals(searchRequest.getSortBy())) {
+            return results;
         }
-        
-        // Text relevance (simple keyword matching)
-        if (searchRequest.getQuery() != null && !searchRequest.getQuery().isEmpty()) {
-            String query = searchRequest.getQuery().toLowerCase();
-            String title = result.getTitle() != null ? result.getTitle().toLowerCase() : "";
-            String description = result.getDescription() != null ? result.getDescription().toLowerCase() : "";
-            String location = result.getLocation() != null ? result.getLocation().toLowerCase() : "";
-            
-            if (title.contains(query)) score += 25.0;
-            if (description.contains(query)) score += 15.0;
-            if (location.contains(query)) score += 20.0;
-        }
-        
-        return score;
+        return results.stream()
+                .sorted(Comparator.comparingDouble(PropertySearchResult::getRelevanceScore).reversed())
+                .toList();
     }
     
     private void saveSearchHistory(SearchRequest searchRequest, String userId, int resultsCount, String ipAddress, String userAgent) {
-        try {
-            SearchHistory history = new SearchHistory();
-            history.setUserId(userId);
-            history.setSearchQuery(searchRequest.getQuery());
-            history.setSearchFilters(objectMapper.writeValueAsString(searchRequest));
-            history.setResultsCount(resultsCount);
-            history.setIpAddress(ipAddress);
-            history.setUserAgent(userAgent);
-            
-            searchHistoryRepository.save(history);
-            
-            // Publish search event
-            Map<String, Object> searchEvent = Map.of(
-                "userId", userId != null ? userId : "anonymous",
-                "query", searchRequest.getQuery() != null ? searchRequest.getQuery() : "",
-                "filters", searchRequest,
-                "resultsCount", resultsCount,
-                "timestamp", java.time.LocalDateTime.now()
-            );
-            kafkaTemplate.send("search-events", searchEvent);
-            
-        } catch (Exception e) {
-            // Log error but don't fail the search
-            System.err.println("Failed to save search history: " + e.getMessage());
-        }
-    }
-    
-    private SearchRequest analyzeUserPreferences(List<SearchHistory> searchHistory) {
-        SearchRequest preferences = new SearchRequest();
-        
-        // Analyze most common city
-        Map<String, Long> cityCount = searchHistory.stream()
-                .filter(h -> h.getSearchFilters() != null)
-                .map(h -> {
-                    try {
-                        return objectMapper.readValue(h.getSearchFilters(), SearchRequest.class);
-                    } catch (Exception e) {
-                        return null;
-                    }
-                })
-                .filter(r -> r != null && r.getCity() != null)
-                .collect(java.util.stream.Collectors.groupingBy(SearchRequest::getCity, java.util.stream.Collectors.counting()));
-        
-        if (!cityCount.isEmpty()) {
-            String mostSearchedCity = cityCount.entrySet().stream()
-                    .max(Map.Entry.comparingByValue())
-                    .map(Map.Entry::getKey)
-                    .orElse(null);
-            preferences.setCity(mostSearchedCity);
-        }
-        
-        // Set default parameters for recommendations
-        preferences.setSize(10);
-        preferences.setSortBy("createdAt");
-        preferences.setSortOrder("desc");
-        
-        return preferences;
+        // Persisted and published in batches off the request thread
+        searchHistoryWriter.enqueue(searchRequest, userId, resultsCount, ipAddress, userAgent);
     }
-}
\ No newline at end of file
+}
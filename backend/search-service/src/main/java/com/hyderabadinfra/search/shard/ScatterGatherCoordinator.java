@@ -0,0 +1,225 @@
+package com.hyderabadinfra.search.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyderabadinfra.search.dto.PropertySearchResult;
+import com.hyderabadinfra.search.dto.SearchRequest;
+import com.hyderabadinfra.search.dto.ShardPage;
+import com.hyderabadinfra.search.index.PropertySearchIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Runs searches and facet counts across the city shards of the index.
+ *
+ * A city-filtered request only needs the shard owning that city; anything else is sent
+ * to every shard in parallel. Each shard returns its best {@code (page + 1) * size} hits
+ * (or {@code size} hits after the cursor), plus a cursor after each hit. The coordinator
+ * merges them in the request's order and continues from the cursor of the last hit it
+ * returns. Hit totals and facet counts are summed; facets always ask every shard, as the
+ * city facet counts other cities too.
+ *
+ * Relevance scores use each shard's own term statistics, so they are comparable only as
+ * far as the shards' vocabularies are alike.
+ */
+@Component
+public class ScatterGatherCoordinator {
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardClient shardClient;
+
+    @Autowired
+    private PropertySearchIndex propertySearchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${search.shard.timeout:2s}")
+    private Duration timeout;
+
+    private ExecutorService gatherers;
+
+    @PostConstruct
+    public void start() {
+        gatherers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "search-shard-gather");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        gatherers.shutdownNow();
+    }
+
+    /**
+     * This instance's part of a scatter-gather search, in index order.
+     */
+    public ShardPage localPage(SearchRequest request) {
+        if (!propertySearchIndex.isReady()) {
+            throw new RuntimeException("Shard " + shardRouter.getShardId() + " index is still loading");
+        }
+        PropertySearchIndex.IndexSearchResult hits = propertySearchIndex.search(request);
+        List<PropertySearchResult> results = hits.getListings().stream()
+                .map(listing -> {
+                    PropertySearchResult result = listing.toSearchResult();
+                    result.setDistanceKm(hits.getDistanceKm(listing));
+                    result.setRelevanceScore(hits.getScore(listing));
+                    return result;
+                })
+                .toList();
+        return new ShardPage(results, hits.getCursors(), hits.getTotalHits(), hits.getNextCursor() != null);
+    }
+
+    public Map<String, Map<String, Long>> localFacets(SearchRequest request) {
+        if (!propertySearchIndex.isReady()) {
+            throw new RuntimeException("Shard " + shardRouter.getShardId() + " index is still loading");
+        }
+        return propertySearchIndex.facets(request);
+    }
+
+    /**
+     * Merged page across shards, in index order; see {@link ShardPage} for the cursor per hit.
+     */
+    public ShardPage search(SearchRequest request) {
+        boolean byCursor = request.getCursor() != null && !request.getCursor().isBlank();
+        SearchRequest shardRequest = objectMapper.convertValue(request, SearchRequest.class);
+        if (!byCursor) {
+            // Every shard may hold any part of the first (page + 1) * size hits
+            shardRequest.setPage(0);
+            shardRequest.setSize((request.getPage() + 1) * request.getSize());
+        }
+        List<ShardPage> pages = gather(shardRouter.targetShard(request), shardRequest, this::localPage,
+                shard -> shardClient.search(shard, shardRequest));
+
+        Comparator<Hit> order = Comparator.comparing(Hit::result, comparator(request));
+        List<Hit> merged = new ArrayList<>();
+        long totalHits = 0;
+        boolean hasMore = false;
+        for (ShardPage page : pages) {
+            totalHits += page.getTotalHits();
+            hasMore |= page.isHasMore();
+            for (int i = 0; i < page.getResults().size(); i++) {
+                merged.add(new Hit(page.getResults().get(i), page.getCursors().get(i)));
+            }
+        }
+        merged.sort(order);
+
+        int from = byCursor ? 0 : Math.min(request.getPage() * request.getSize(), merged.size());
+        int to = Math.min(from + request.getSize(), merged.size());
+        List<PropertySearchResult> results = new ArrayList<>(to - from);
+        List<String> cursors = new ArrayList<>(to - from);
+        for (Hit hit : merged.subList(from, to)) {
+            results.add(hit.result());
+            cursors.add(hit.cursor());
+        }
+        return new ShardPage(results, cursors, totalHits, hasMore || to < merged.size());
+    }
+
+    public Map<String, Map<String, Long>> facets(SearchRequest request) {
+        // The city facet ignores the city filter, so even a city-filtered request needs every shard
+        List<Map<String, Map<String, Long>>> perShard = gather(null, request, this::localFacets,
+                shard -> shardClient.facets(shard, request));
+        Map<String, Map<String, Long>> merged = new HashMap<>();
+        for (Map<String, Map<String, Long>> facets : perShard) {
+            facets.forEach((field, counts) -> {
+                Map<String, Long> mergedCounts = merged.computeIfAbsent(field, f -> new HashMap<>());
+                counts.forEach((value, count) -> mergedCounts.merge(value, count, Long::sum));
+            });
+        }
+        return merged;
+    }
+
+    /**
+     * Ask the target shard, or all shards in parallel when {@code target} is null; this
+     * instance answers its own shard directly.
+     */
+    private <T> List<T> gather(Integer target, SearchRequest shardRequest,
+                               Function<SearchRequest, T> local, Function<Integer, T> remote) {
+        List<Integer> shards = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            if (target == null || target == shard) {
+                shards.add(shard);
+            }
+        }
+
+        Map<Integer, CompletableFuture<T>> futures = new HashMap<>();
+        for (int shard : shards) {
+            if (shard != shardRouter.getShardId()) {
+                futures.put(shard, CompletableFuture.supplyAsync(() -> remote.apply(shard), gatherers));
+            }
+        }
+        List<T> results = new ArrayList<>(shards.size());
+        if (shards.contains(shardRouter.getShardId())) {
+            results.add(local.apply(shardRequest));
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Map.Entry<Integer, CompletableFuture<T>> future : futures.entrySet()) {
+            try {
+                results.add(future.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                futures.values().forEach(f -> f.cancel(true));
+                throw new RuntimeException("Shard " + future.getKey() + " did not answer within " + timeout);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Shard " + future.getKey() + " failed: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while gathering shard results");
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The index's own ordering for a request, on result DTOs.
+     */
+    private static Comparator<PropertySearchResult> comparator(SearchRequest request) {
+        Comparator<PropertySearchResult> byId = Comparator.comparing(PropertySearchResult::getId);
+        if ("relevance".equals(request.getSortBy())) {
+            return Comparator.comparing(PropertySearchResult::getRelevanceScore,
+                    Comparator.nullsLast(Comparator.reverseOrder())).thenComparing(byId);
+        }
+        if ("distance".equals(request.getSortBy()) && request.getLatitude() != null && request.getLongitude() != null) {
+            return Comparator.comparing(PropertySearchResult::getDistanceKm,
+                    Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(byId);
+        }
+        Comparator<PropertySearchResult> comparator = switch (request.getSortBy() != null ? request.getSortBy() : "createdAt") {
+            case "price" -> Comparator.comparing(PropertySearchResult::getPrice,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "areaSqft" -> Comparator.comparing(PropertySearchResult::getAreaSqft,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "viewsCount" -> Comparator.comparing(PropertySearchResult::getViewsCount,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "favoritesCount" -> Comparator.comparing(PropertySearchResult::getFavoritesCount,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "title" -> Comparator.comparing(PropertySearchResult::getTitle,
+                    Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+            default -> Comparator.comparing(PropertySearchResult::getCreatedAt,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+        };
+        comparator = "asc".equalsIgnoreCase(request.getSortOrder()) ? comparator : comparator.reversed();
+        return comparator.thenComparing(byId);
+    }
+
+    private record Hit(PropertySearchResult result, String cursor) {}
+}
@@ -0,0 +1,48 @@
+package com.hyderabadinfra.search.shard;
+
+import com.hyderabadinfra.common.dto.ApiResponse;
+import com.hyderabadinfra.search.dto.SearchRequest;
+import com.hyderabadinfra.search.dto.ShardPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+/**
+ * Calls another search-service instance's shard endpoints over the pooled RestTemplate.
+ */
+@Component
+public class ShardClient {
+
+    private static final ParameterizedTypeReference<ApiResponse<ShardPage>> PAGE_TYPE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<Map<String, Map<String, Long>>>> FACETS_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    public ShardPage search(int shard, SearchRequest request) {
+        return call(shard, "/api/search/shard/properties", request, PAGE_TYPE);
+    }
+
+    public Map<String, Map<String, Long>> facets(int shard, SearchRequest request) {
+        return call(shard, "/api/search/shard/facets", request, FACETS_TYPE);
+    }
+
+    private <T> T call(int shard, String path, SearchRequest request, ParameterizedTypeReference<ApiResponse<T>> type) {
+        ApiResponse<T> response = restTemplate.exchange(shardRouter.url(shard) + path, HttpMethod.POST,
+                new HttpEntity<>(request), type).getBody();
+        if (response == null || !response.isSuccess()) {
+            throw new RuntimeException("Shard " + shard + " failed: " + (response != null ? response.getError() : "empty response"));
+        }
+        return response.getData();
+    }
+}
@@ -0,0 +1,106 @@
+package com.hyderabadinfra.search.shard;
+
+import com.hyderabadinfra.search.dto.SearchRequest;
+import com.hyderabadinfra.search.index.IndexedListing;
+import com.hyderabadinfra.search.index.ListingTokenizer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Assigns listings to search index shards by city.
+ *
+ * Cities listed in {@code search.shard.cities} are pinned to their shard; any other
+ * city goes to {@code hash(city) mod count}. With the default single shard every
+ * instance holds the whole index and nothing is routed.
+ */
+@Component
+public class ShardRouter {
+
+    @Value("${search.shard.count:1}")
+    private int shardCount;
+
+    @Value("${search.shard.id:0}")
+    private int shardId;
+
+    @Value("${search.shard.cities:}")
+    private String pinnedCities;
+
+    @Value("${search.shard.urls:}")
+    private List<String> shardUrls;
+
+    private final Map<String, Integer> pinned = new TreeMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (shardCount < 1 || shardId < 0 || shardId >= shardCount) {
+            throw new IllegalStateException("search.shard.id must be in [0, search.shard.count)");
+        }
+        for (String entry : pinnedCities.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split(":");
+            int shard = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : -1;
+            if (shard < 0 || shard >= shardCount) {
+                throw new IllegalStateException("Invalid search.shard.cities entry: " + entry);
+            }
+            pinned.put(ListingTokenizer.keyword(parts[0]), shard);
+        }
+        if (isSharded() && shardUrls.size() != shardCount) {
+            throw new IllegalStateException("search.shard.urls needs one URL per shard");
+        }
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int getShardId() {
+        return shardId;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public String url(int shard) {
+        return shardUrls.get(shard);
+    }
+
+    public int shardOf(String city) {
+        String key = ListingTokenizer.keyword(city);
+        if (key == null) {
+            key = "";
+        }
+        Integer shard = pinned.get(key);
+        // String.hashCode is specified, so every JVM places a city on the same shard
+        return shard != null ? shard : Math.floorMod(key.hashCode(), shardCount);
+    }
+
+    /**
+     * Whether this instance indexes the listing.
+     */
+    public boolean isLocal(IndexedListing listing) {
+        return !isSharded() || shardOf(listing.getCity()) == shardId;
+    }
+
+    /**
+     * The only shard that can match a city-filtered search, or null when every shard must be asked.
+     */
+    public Integer targetShard(SearchRequest request) {
+        return request.getCity() != null && !request.getCity().isBlank() ? shardOf(request.getCity()) : null;
+    }
+
+    /**
+     * Identifies this instance's share of the catalog; an index snapshot is only reused
+     * by an instance with the same layout.
+     */
+    public String layout() {
+        return shardId + "/" + shardCount + " " + pinned;
+    }
+}
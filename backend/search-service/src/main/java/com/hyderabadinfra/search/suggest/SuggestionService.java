@@ -0,0 +1,222 @@
+package com.hyderabadinfra.search.suggest;
+
+import com.hyderabadinfra.search.index.IndexedListing;
+import com.hyderabadinfra.search.index.ListingChangeListener;
+import com.hyderabadinfra.search.index.ListingTokenizer;
+import com.hyderabadinfra.search.index.PropertySearchIndex;
+import com.hyderabadinfra.search.index.SearchIndexReadyEvent;
+import com.hyderabadinfra.search.repository.SearchHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocomplete backed by an in-memory {@link SuggestionTrie}.
+ *
+ * Seeded once from aggregated search history and from the listing index's locality
+ * and title vocabulary, then kept current from search-events and property-events.
+ * A live query only enters the trie once it has been searched {@code min-search-count}
+ * times, so one-off and mistyped queries never take a node chain; the trie as a whole
+ * is capped at {@code max-terms} by pruning its lightest terms.
+ */
+@Service
+public class SuggestionService implements ListingChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionService.class);
+
+    private static final int MIN_FUZZY_PREFIX = 3;
+    private static final int MIN_TITLE_TERM_LENGTH = 3;
+
+    @Autowired
+    private SearchHistoryRepository searchHistoryRepository;
+
+    @Autowired
+    private PropertySearchIndex propertySearchIndex;
+
+    @Value("${search.suggest.history-seed-terms:50000}")
+    private int historySeedTerms;
+
+    @Value("${search.suggest.history-seed-days:90}")
+    private int historySeedDays;
+
+    @Value("${search.suggest.locality-weight:5}")
+    private long localityWeight;
+
+    @Value("${search.suggest.title-term-weight:1}")
+    private long titleTermWeight;
+
+    @Value("${search.suggest.max-terms:200000}")
+    private int maxTerms;
+
+    @Value("${search.suggest.min-search-count:3}")
+    private int minSearchCount;
+
+    @Value("${search.suggest.pending-terms:10000}")
+    private int pendingTerms;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SuggestionTrie trie;
+
+    // Searches of queries not yet in the trie; least recently searched evicted first. Guarded by the write lock
+    private final Map<String, Integer> pending = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > pendingTerms;
+        }
+    };
+
+    private volatile boolean ready;
+
+    public SuggestionService(@Value("${search.suggest.max-suggestions:20}") int maxSuggestions) {
+        this.trie = new SuggestionTrie(maxSuggestions);
+    }
+
+    /**
+     * Seed with the daily term rollups of the last {@code history-seed-days}; the aggregate
+     * query runs once per startup, not per keystroke.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSearchHistory() {
+        try {
+            List<Object[]> termCounts = searchHistoryRepository.findSearchTermCounts(
+                    LocalDate.now().minusDays(historySeedDays), PageRequest.of(0, historySeedTerms));
+            lock.writeLock().lock();
+            try {
+                for (Object[] termCount : termCounts) {
+                    trie.add((String) termCount[0], ((Number) termCount[1]).longValue());
+                }
+                pruneToCapacity();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            logger.info("Suggestion trie seeded with {} historical search terms", termCounts.size());
+        } catch (Exception e) {
+            logger.error("Failed to seed suggestions from search history - {}", e.getMessage());
+        }
+    }
+
+    @EventListener(SearchIndexReadyEvent.class)
+    public void loadListingVocabulary() {
+        List<IndexedListing> listings = new ArrayList<>();
+        propertySearchIndex.forEachListing(listings::add);
+        listings.forEach(this::recordListing);
+        logger.info("Suggestion trie loaded vocabulary from {} listings", listings.size());
+    }
+
+    /**
+     * Count one executed search towards its term's popularity. A term not yet in the trie
+     * is counted aside and added, with the searches seen so far, at {@code min-search-count}.
+     */
+    public void recordSearch(String query) {
+        String term = SuggestionTrie.normalize(query);
+        if (term.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (trie.contains(term)) {
+                trie.add(term, 1);
+                return;
+            }
+            int searches = pending.merge(term, 1, Integer::sum);
+            if (searches >= minSearchCount) {
+                pending.remove(term);
+                trie.add(term, searches);
+                pruneToCapacity();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a listing's locality names and title words.
+     */
+    public void recordListing(IndexedListing listing) {
+        Set<String> titleTerms = new LinkedHashSet<>();
+        for (String token : ListingTokenizer.tokenize(listing.getTitle())) {
+            if (token.length() >= MIN_TITLE_TERM_LENGTH) {
+                titleTerms.add(token);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (listing.getLocation() != null) {
+                trie.add(listing.getLocation(), localityWeight);
+            }
+            if (listing.getCity() != null) {
+                trie.add(listing.getCity(), localityWeight);
+            }
+            for (String term : titleTerms) {
+                trie.add(term, titleTermWeight);
+            }
+            pruneToCapacity();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Over {@code max-terms}, drop the lightest tenth in one pass rather than one term per
+     * addition. Caller holds the write lock.
+     */
+    private void pruneToCapacity() {
+        if (trie.termCount() > maxTerms) {
+            int pruned = trie.prune(maxTerms - maxTerms / 10);
+            logger.debug("Pruned {} lightest terms from the suggestion trie", pruned);
+        }
+    }
+
+    @Override
+    public void onListingChanged(IndexedListing before, IndexedListing after) {
+        // Only count a listing's vocabulary once, not on every edit
+        if (before == null && after != null) {
+            recordListing(after);
+        }
+    }
+
+    /**
+     * Prefix completions, topped up with one-typo matches when the exact prefix is sparse.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            List<String> suggestions = new ArrayList<>(trie.complete(prefix != null ? prefix : "", limit));
+            if (prefix != null && suggestions.size() < limit && prefix.trim().length() >= MIN_FUZZY_PREFIX) {
+                for (String fuzzy : trie.completeFuzzy(prefix, limit)) {
+                    if (suggestions.size() >= limit) {
+                        break;
+                    }
+                    if (!suggestions.contains(fuzzy)) {
+                        suggestions.add(fuzzy);
+                    }
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+}
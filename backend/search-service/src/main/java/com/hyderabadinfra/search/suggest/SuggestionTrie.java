@@ -0,0 +1,315 @@
+package com.hyderabadinfra.search.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Weighted prefix trie for search-box autocomplete.
+ *
+ * Every node caches the top {@code topK} completions beneath it, so a lookup is a walk
+ * down the prefix plus a copy of one small array. Weights only grow; an increment
+ * re-ranks the cached lists along the term's own path and nothing else. {@link #prune}
+ * drops the lightest terms to bound the trie's size, rebuilding the cached lists along
+ * each removed term's path.
+ *
+ * Not thread-safe; {@link SuggestionService} guards it with a read/write lock.
+ */
+class SuggestionTrie {
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final Node root = new Node();
+    private final int topK;
+    private int termCount;
+
+    SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Add {@code delta} to a term's weight, inserting it if new.
+     */
+    void add(String term, long delta) {
+        String key = normalize(term);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        Node[] path = new Node[key.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            path[i + 1] = node;
+        }
+
+        if (node.entry == null) {
+            node.entry = new Entry(key);
+            termCount++;
+        }
+        node.entry.weight += delta;
+
+        for (Node onPath : path) {
+            onPath.offer(node.entry, topK);
+        }
+    }
+
+    /**
+     * Highest-weighted terms starting with {@code prefix}.
+     */
+    List<String> complete(String prefix, int limit) {
+        Node node = find(normalize(prefix));
+        List<String> result = new ArrayList<>();
+        if (node == null) {
+            return result;
+        }
+        for (int i = 0; i < node.top.length && result.size() < limit; i++) {
+            result.add(node.top[i].term);
+        }
+        return result;
+    }
+
+    /**
+     * Highest-weighted terms whose prefix is within one edit (insert, delete,
+     * substitute or swap adjacent characters) of {@code prefix}.
+     */
+    List<String> completeFuzzy(String prefix, int limit) {
+        String key = normalize(prefix);
+        Set<Node> matches = new LinkedHashSet<>();
+        collectWithinOneEdit(root, key, 0, true, matches);
+
+        Map<String, Entry> merged = new HashMap<>();
+        for (Node node : matches) {
+            for (Entry entry : node.top) {
+                merged.putIfAbsent(entry.term, entry);
+            }
+        }
+        return merged.values().stream()
+                .sorted((a, b) -> Long.compare(b.weight, a.weight))
+                .limit(limit)
+                .map(entry -> entry.term)
+                .toList();
+    }
+
+    boolean contains(String term) {
+        Node node = find(normalize(term));
+        return node != null && node.entry != null;
+    }
+
+    int termCount() {
+        return termCount;
+    }
+
+    /**
+     * Remove the lightest terms until at most {@code targetCount} remain.
+     *
+     * @return the number of terms removed
+     */
+    int prune(int targetCount) {
+        int excess = termCount - targetCount;
+        if (excess <= 0) {
+            return 0;
+        }
+        List<Entry> entries = new ArrayList<>(termCount);
+        collectEntries(root, entries);
+        entries.sort(Comparator.comparingLong(entry -> entry.weight));
+        for (int i = 0; i < excess; i++) {
+            remove(entries.get(i).term);
+        }
+        return excess;
+    }
+
+    private void remove(String key) {
+        Node[] path = new Node[key.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            if (node == null) {
+                return;
+            }
+            path[i + 1] = node;
+        }
+        Entry removed = node.entry;
+        if (removed == null) {
+            return;
+        }
+        node.entry = null;
+        termCount--;
+
+        // Bottom-up, so each node rebuilds from children that are already current
+        for (int i = key.length(); i >= 0; i--) {
+            Node onPath = path[i];
+            if (i < key.length() && path[i + 1].isEmpty()) {
+                onPath.removeChild(key.charAt(i));
+            }
+            if (onPath.ranks(removed)) {
+                onPath.rebuildTop(topK);
+            }
+        }
+    }
+
+    private static void collectEntries(Node node, List<Entry> out) {
+        if (node.entry != null) {
+            out.add(node.entry);
+        }
+        for (Node child : node.children().values()) {
+            collectEntries(child, out);
+        }
+    }
+
+    private void collectWithinOneEdit(Node node, String key, int i, boolean editAvailable, Set<Node> out) {
+        if (i == key.length()) {
+            out.add(node);
+            return;
+        }
+
+        Node exact = node.child(key.charAt(i));
+        if (exact != null) {
+            collectWithinOneEdit(exact, key, i + 1, editAvailable, out);
+        }
+        if (!editAvailable) {
+            return;
+        }
+
+        // Deletion: the user typed an extra character
+        collectWithinOneEdit(node, key, i + 1, false, out);
+
+        for (Map.Entry<Character, Node> child : node.children().entrySet()) {
+            // Substitution
+            collectWithinOneEdit(child.getValue(), key, i + 1, false, out);
+            // Insertion: the user missed a character
+            collectWithinOneEdit(child.getValue(), key, i, false, out);
+        }
+
+        // Transposition of two adjacent characters
+        if (i + 1 < key.length()) {
+            Node first = node.child(key.charAt(i + 1));
+            Node second = first != null ? first.child(key.charAt(i)) : null;
+            if (second != null) {
+                collectWithinOneEdit(second, key, i + 2, false, out);
+            }
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    static String normalize(String term) {
+        if (term == null) {
+            return "";
+        }
+        return term.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    static final class Entry {
+        final String term;
+        long weight;
+
+        Entry(String term) {
+            this.term = term;
+        }
+    }
+
+    private static final class Node {
+        private Map<Character, Node> children;
+        private Entry entry;
+        private Entry[] top = NO_ENTRIES;
+
+        Node child(char c) {
+            return children != null ? children.get(c) : null;
+        }
+
+        Node childOrCreate(char c) {
+            if (children == null) {
+                children = new HashMap<>(4);
+            }
+            return children.computeIfAbsent(c, k -> new Node());
+        }
+
+        Map<Character, Node> children() {
+            return children != null ? children : Map.of();
+        }
+
+        void removeChild(char c) {
+            if (children != null) {
+                children.remove(c);
+            }
+        }
+
+        boolean isEmpty() {
+            return entry == null && (children == null || children.isEmpty());
+        }
+
+        boolean ranks(Entry candidate) {
+            for (Entry ranked : top) {
+                if (ranked == candidate) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Recompute {@code top} from this node's own entry and its children's cached lists;
+         * subtrees are disjoint, so the union holds every candidate exactly once.
+         */
+        void rebuildTop(int topK) {
+            List<Entry> candidates = new ArrayList<>();
+            if (entry != null) {
+                candidates.add(entry);
+            }
+            for (Node child : children().values()) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort((a, b) -> Long.compare(b.weight, a.weight));
+            top = candidates.size() > topK
+                    ? candidates.subList(0, topK).toArray(NO_ENTRIES)
+                    : candidates.toArray(NO_ENTRIES);
+        }
+
+        /**
+         * Keep {@code top} as the best {@code topK} entries seen below this node, heaviest first.
+         */
+        void offer(Entry entry, int topK) {
+            int position = -1;
+            for (int i = 0; i < top.length; i++) {
+                if (top[i] == entry) {
+                    position = i;
+                    break;
+                }
+            }
+
+            if (position < 0) {
+                if (top.length < topK) {
+                    top = Arrays.copyOf(top, top.length + 1);
+                    position = top.length - 1;
+                } else if (entry.weight > top[top.length - 1].weight) {
+                    position = top.length - 1;
+                } else {
+                    return;
+                }
+                top[position] = entry;
+            }
+
+            // Weight only grows, so bubble the entry towards the front
+            while (position > 0 && top[position - 1].weight < entry.weight) {
+                top[position] = top[position - 1];
+                top[position - 1] = entry;
+                position--;
+            }
+        }
+    }
+}
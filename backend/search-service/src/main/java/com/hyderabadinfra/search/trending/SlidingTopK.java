@@ -0,0 +1,73 @@
+package com.hyderabadinfra.search.trending;
+
+import com.hyderabadinfra.search.dto.TrendingTerm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heavy hitters over a sliding time window, as a ring of {@link SpaceSavingSketch}
+ * slots. Each slot covers a fixed span; advancing the clock clears the slots that
+ * fell out of the window, so memory stays at slots x capacity counters.
+ *
+ * Not thread-safe; {@link TrendingSearchService} serializes access.
+ */
+final class SlidingTopK {
+
+    private final SpaceSavingSketch[] slots;
+    private final long slotMillis;
+    private long currentEpoch = Long.MIN_VALUE;
+
+    SlidingTopK(int slotCount, long slotMillis, int capacity) {
+        this.slots = new SpaceSavingSketch[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new SpaceSavingSketch(capacity);
+        }
+        this.slotMillis = slotMillis;
+    }
+
+    void record(String term, long nowMillis) {
+        advance(nowMillis);
+        slots[slotIndex(currentEpoch)].offer(term);
+    }
+
+    /**
+     * Highest counted terms in the window ending at {@code nowMillis}, most frequent first.
+     */
+    List<TrendingTerm> top(int limit, long nowMillis) {
+        advance(nowMillis);
+        Map<String, Long> counts = new HashMap<>();
+        for (SpaceSavingSketch slot : slots) {
+            slot.forEach((term, count) -> counts.merge(term, count, Long::sum));
+        }
+        List<TrendingTerm> terms = new ArrayList<>(counts.size());
+        counts.forEach((term, count) -> terms.add(new TrendingTerm(term, count)));
+        terms.sort(Comparator.comparingLong(TrendingTerm::getCount).reversed()
+                .thenComparing(TrendingTerm::getTerm));
+        return terms.size() > limit ? new ArrayList<>(terms.subList(0, limit)) : terms;
+    }
+
+    private void advance(long nowMillis) {
+        long epoch = Math.floorDiv(nowMillis, slotMillis);
+        if (epoch <= currentEpoch) {
+            return;
+        }
+        if (currentEpoch == Long.MIN_VALUE || epoch - currentEpoch >= slots.length) {
+            for (SpaceSavingSketch slot : slots) {
+                slot.clear();
+            }
+        } else {
+            for (long expired = currentEpoch + 1; expired <= epoch; expired++) {
+                slots[slotIndex(expired)].clear();
+            }
+        }
+        currentEpoch = epoch;
+    }
+
+    private int slotIndex(long epoch) {
+        return (int) Math.floorMod(epoch, (long) slots.length);
+    }
+}
@@ -0,0 +1,163 @@
+package com.hyderabadinfra.search.trending;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitter counter over a fixed number of terms.
+ *
+ * Counters are kept in a stream-summary: buckets of equal count in ascending order,
+ * each holding a linked list of its counters. An increment moves one counter to the
+ * next bucket and replacing the minimum is taking the head of the first bucket, so
+ * every offer is O(1). A replacing term starts from the evicted count, so reported counts
+ * are upper bounds that overestimate by at most the smallest tracked count.
+ *
+ * Not thread-safe; {@link TrendingSearchService} serializes access.
+ */
+final class SpaceSavingSketch {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private Bucket minBucket;
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    void offer(String term) {
+        Counter counter = counters.get(term);
+        if (counter != null) {
+            increment(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(term);
+            counters.put(term, counter);
+            Bucket first = minBucket != null && minBucket.count == 1 ? minBucket : insertBefore(minBucket, 1);
+            first.attach(counter);
+            return;
+        }
+        // Full: the least counted term makes room and the newcomer takes over its count
+        Counter victim = minBucket.head;
+        counters.remove(victim.term);
+        victim.term = term;
+        counters.put(term, victim);
+        increment(victim);
+    }
+
+    /**
+     * Visit every tracked term with its (over-)estimated count.
+     */
+    void forEach(TermCountVisitor visitor) {
+        for (Bucket bucket = minBucket; bucket != null; bucket = bucket.next) {
+            for (Counter counter = bucket.head; counter != null; counter = counter.next) {
+                visitor.visit(counter.term, bucket.count);
+            }
+        }
+    }
+
+    void clear() {
+        counters.clear();
+        minBucket = null;
+    }
+
+    private void increment(Counter counter) {
+        Bucket bucket = counter.bucket;
+        long newCount = bucket.count + 1;
+        Bucket target = bucket.next != null && bucket.next.count == newCount
+                ? bucket.next
+                : insertAfter(bucket, newCount);
+        bucket.detach(counter);
+        target.attach(counter);
+        if (bucket.head == null) {
+            unlink(bucket);
+        }
+    }
+
+    private Bucket insertBefore(Bucket next, long count) {
+        Bucket bucket = new Bucket(count);
+        bucket.next = next;
+        if (next != null) {
+            bucket.prev = next.prev;
+            next.prev = bucket;
+        }
+        if (bucket.prev == null) {
+            minBucket = bucket;
+        } else {
+            bucket.prev.next = bucket;
+        }
+        return bucket;
+    }
+
+    private Bucket insertAfter(Bucket prev, long count) {
+        Bucket bucket = new Bucket(count);
+        bucket.prev = prev;
+        bucket.next = prev.next;
+        if (prev.next != null) {
+            prev.next.prev = bucket;
+        }
+        prev.next = bucket;
+        return bucket;
+    }
+
+    private void unlink(Bucket bucket) {
+        if (bucket.prev != null) {
+            bucket.prev.next = bucket.next;
+        } else {
+            minBucket = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.prev = bucket.prev;
+        }
+    }
+
+    interface TermCountVisitor {
+        void visit(String term, long count);
+    }
+
+    private static final class Bucket {
+        private final long count;
+        private Bucket prev;
+        private Bucket next;
+        private Counter head;
+
+        Bucket(long count) {
+            this.count = count;
+        }
+
+        void attach(Counter counter) {
+            counter.bucket = this;
+            counter.prev = null;
+            counter.next = head;
+            if (head != null) {
+                head.prev = counter;
+            }
+            head = counter;
+        }
+
+        void detach(Counter counter) {
+            if (counter.prev != null) {
+                counter.prev.next = counter.next;
+            } else {
+                head = counter.next;
+            }
+            if (counter.next != null) {
+                counter.next.prev = counter.prev;
+            }
+            counter.prev = null;
+            counter.next = null;
+        }
+    }
+
+    private static final class Counter {
+        private String term;
+        private Bucket bucket;
+        private Counter prev;
+        private Counter next;
+
+        Counter(String term) {
+            this.term = term;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.hyderabadinfra.search.trending;
+
+import com.hyderabadinfra.search.dto.TrendingTerm;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trending search terms over the last hour, day and week, fed by search-events.
+ *
+ * Each window is a {@link SlidingTopK} of Space-Saving sketches, so memory is fixed
+ * no matter how many distinct queries arrive. Recording is O(1); the ranked top terms
+ * are rebuilt every {@code refresh-interval} into immutable snapshots that reads return
+ * directly, so callers never aggregate search_history or walk the sketches.
+ */
+@Service
+public class TrendingSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingSearchService.class);
+
+    @Value("${search.trending.capacity:1000}")
+    private int capacity;
+
+    @Value("${search.trending.refresh-interval:5s}")
+    private Duration refreshInterval;
+
+    @Value("${search.trending.snapshot-size:100}")
+    private int snapshotSize;
+
+    private final Map<TrendingWindow, SlidingTopK> windows = new EnumMap<>(TrendingWindow.class);
+    private final Object lock = new Object();
+
+    private volatile Map<TrendingWindow, List<TrendingTerm>> snapshots;
+
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    public void start() {
+        Map<TrendingWindow, List<TrendingTerm>> empty = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            windows.put(window, new SlidingTopK(window.getSlots(), window.getSlotLength().toMillis(), capacity));
+            empty.put(window, List.of());
+        }
+        snapshots = empty;
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-trending-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::refresh, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    public void record(String query) {
+        String term = normalize(query);
+        if (term.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            for (SlidingTopK window : windows.values()) {
+                window.record(term, now);
+            }
+        }
+    }
+
+    /**
+     * Most searched terms in the window, from the latest snapshot.
+     */
+    public List<TrendingTerm> trending(TrendingWindow window, int limit) {
+        List<TrendingTerm> snapshot = snapshots.get(window);
+        return snapshot.size() > limit ? snapshot.subList(0, Math.max(0, limit)) : snapshot;
+    }
+
+    /**
+     * Popular terms of the past week containing {@code query}, most searched first.
+     */
+    public List<String> popularTerms(String query, int limit) {
+        String filter = normalize(query);
+        return snapshots.get(TrendingWindow.WEEK).stream()
+                .map(TrendingTerm::getTerm)
+                .filter(term -> filter.isEmpty() || term.contains(filter))
+                .limit(limit)
+                .toList();
+    }
+
+    private void refresh() {
+        try {
+            long now = System.currentTimeMillis();
+            Map<TrendingWindow, List<TrendingTerm>> refreshed = new EnumMap<>(TrendingWindow.class);
+            for (TrendingWindow window : TrendingWindow.values()) {
+                List<TrendingTerm> top;
+                synchronized (lock) {
+                    top = windows.get(window).top(snapshotSize, now);
+                }
+                refreshed.put(window, List.copyOf(top));
+            }
+            // Readers see either the previous or the new snapshot, never a partial one
+            snapshots = refreshed;
+        } catch (Exception e) {
+            logger.error("Failed to refresh trending search terms - {}", e.getMessage());
+        }
+    }
+
+    private static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,30 @@
+package com.hyderabadinfra.search.trending;
+
+import java.time.Duration;
+
+/**
+ * Sliding windows tracked for trending search terms. Each window is split into
+ * fixed slots; counts expire one slot at a time.
+ */
+public enum TrendingWindow {
+
+    HOUR(12, Duration.ofMinutes(5)),
+    DAY(24, Duration.ofHours(1)),
+    WEEK(7, Duration.ofDays(1));
+
+    private final int slots;
+    private final Duration slotLength;
+
+    TrendingWindow(int slots, Duration slotLength) {
+        this.slots = slots;
+        this.slotLength = slotLength;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public Duration getSlotLength() {
+        return slotLength;
+    }
+}
@@ -0,0 +1,61 @@
+package com.hyderabadinfra.search.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyderabadinfra.search.index.IndexedListing;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Decode time and allocation per page: {@link PropertyPageDecoder} against the Map path
+ * it replaced, on realistic PropertyResponse pages with two images per listing.
+ *
+ * Not a unit test; run by hand from the search-service directory, e.g. on one core:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * taskset -c 0 java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" \
+ *     com.hyderabadinfra.search.client.PropertyPageDecoderBenchmark
+ * </pre>
+ */
+public final class PropertyPageDecoderBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5_000;
+    private static final int MEASURED_ROUNDS = 5_000;
+
+    private interface Decoder {
+        List<IndexedListing> decode(ObjectMapper mapper, byte[] body) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = PropertyPayloads.objectMapper();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int listings : new int[]{50, 100}) {
+            byte[] body = PropertyPayloads.page(objectMapper, listings, listings);
+            System.out.printf("%d items (%d KB)%n", listings, body.length / 1024);
+            run("  map path ", PropertyPayloads::decodeWithMap, objectMapper, body, threads);
+            run("  streaming", PropertyPayloads::decodeStreaming, objectMapper, body, threads);
+        }
+    }
+
+    private static void run(String label, Decoder decoder, ObjectMapper objectMapper, byte[] body,
+                            com.sun.management.ThreadMXBean threads) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += decoder.decode(objectMapper, body).size();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += decoder.decode(objectMapper, body).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%s: %6.1f us/page, %6d KB allocated/page (%d)%n",
+                label, elapsed / 1_000.0 / MEASURED_ROUNDS, allocated / 1024 / MEASURED_ROUNDS, sink);
+    }
+}
@@ -0,0 +1,132 @@
+package com.hyderabadinfra.search.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hyderabadinfra.search.index.IndexedListing;
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyPageDecoderTest {
+
+    private final ObjectMapper objectMapper = PropertyPayloads.objectMapper();
+
+    @Test
+    void decodesPagesToTheSameListingsAsTheObjectMapperMapPath() throws Exception {
+        byte[] body = PropertyPayloads.page(objectMapper, 200, 42);
+
+        List<IndexedListing> streamed = PropertyPayloads.decodeStreaming(objectMapper, body);
+        List<IndexedListing> mapped = PropertyPayloads.decodeWithMap(objectMapper, body);
+
+        assertThat(streamed).hasSize(200);
+        // The Map path read prices through a double, which drops trailing zeros of the scale
+        assertThat(streamed).usingRecursiveFieldByFieldElementComparator(
+                        RecursiveComparisonConfiguration.builder()
+                                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                                .build())
+                .containsExactlyElementsOf(mapped);
+    }
+
+    @Test
+    void readsPageMetadataOfBothPageShapes() throws Exception {
+        PropertyPage page = decode(PropertyPayloads.page(objectMapper, 10, 1), new ArrayList<>());
+        assertThat(page.getListingCount()).isEqualTo(10);
+        assertThat(page.getTotalElements()).isEqualTo(1_234L);
+        assertThat(page.isLast()).isFalse();
+
+        List<IndexedListing> listings = new ArrayList<>();
+        PropertyPage cursorPage = decode(PropertyPayloads.cursorPage(objectMapper, 10, 2, "next-page"), listings);
+        assertThat(cursorPage.getListingCount()).isEqualTo(10);
+        assertThat(cursorPage.getNextCursor()).isEqualTo("next-page");
+        assertThat(cursorPage.isLast()).isFalse();
+        assertThat(listings).extracting(IndexedListing::getId).doesNotContainNull();
+
+        PropertyPage lastPage = decode(PropertyPayloads.cursorPage(objectMapper, 3, 3, null), new ArrayList<>());
+        assertThat(lastPage.getNextCursor()).isNull();
+        assertThat(lastPage.isLast()).isTrue();
+    }
+
+    @Test
+    void createdAtFastPathMatchesObjectMapper() throws Exception {
+        String[] timestamps = {
+                "2024-02-29T00:00:00",
+                "2023-12-31T23:59:59",
+                "2024-01-05T09:30:15.1",
+                "2024-01-05T09:30:15.12",
+                "2024-01-05T09:30:15.123",
+                "2024-01-05T09:30:15.1234",
+                "2024-01-05T09:30:15.12345",
+                "2024-01-05T09:30:15.123456",
+                "2024-01-05T09:30:15.1234567",
+                "2024-01-05T09:30:15.12345678",
+                "2024-01-05T09:30:15.123456789",
+                "2024-01-05T09:30:15.000000001"
+        };
+        for (String timestamp : timestamps) {
+            LocalDateTime expected = objectMapper.readValue('"' + timestamp + '"', LocalDateTime.class);
+            char[] text = ("xx" + timestamp + "yy").toCharArray();
+
+            assertThat(PropertyPageDecoder.parseIsoDateTime(text, 2, timestamp.length()))
+                    .as(timestamp)
+                    .isEqualTo(expected);
+            assertThat(decodeCreatedAt('"' + timestamp + '"')).as(timestamp).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void createdAtOutsideTheFixedLayoutFallsBackToTheIsoParser() throws Exception {
+        // No seconds: LocalDateTime.toString() writes this form for whole minutes
+        String timestamp = "2024-01-05T09:30";
+        char[] text = timestamp.toCharArray();
+
+        assertThat(PropertyPageDecoder.parseIsoDateTime(text, 0, text.length)).isNull();
+        assertThat(decodeCreatedAt('"' + timestamp + '"'))
+                .isEqualTo(objectMapper.readValue('"' + timestamp + '"', LocalDateTime.class));
+    }
+
+    @Test
+    void createdAtFastPathRejectsMalformedText() {
+        String[] malformed = {
+                "2024-02-30T10:00:00",
+                "2024-13-01T10:00:00",
+                "2024-01-01 10:00:00",
+                "2024-01-01T10:00:00.",
+                "2024-01-01T10:00:00.1234567890",
+                "2024-01-01T10:00:00Z",
+                "2024-0a-01T10:00:00"
+        };
+        for (String timestamp : malformed) {
+            char[] text = timestamp.toCharArray();
+            assertThat(PropertyPageDecoder.parseIsoDateTime(text, 0, text.length)).as(timestamp).isNull();
+        }
+    }
+
+    @Test
+    void readsCreatedAtWrittenAsAnArray() throws Exception {
+        ObjectMapper arrayDates = PropertyPayloads.objectMapper().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 7, 18, 45, 12, 345_000_000);
+
+        assertThat(decodeCreatedAt(arrayDates.writeValueAsString(createdAt))).isEqualTo(createdAt);
+    }
+
+    private PropertyPage decode(byte[] body, List<IndexedListing> sink) throws Exception {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            return PropertyPageDecoder.decode(parser, sink::add);
+        }
+    }
+
+    private LocalDateTime decodeCreatedAt(String createdAtJson) throws Exception {
+        String body = "{\"success\":true,\"data\":{\"content\":[{\"id\":\"p1\",\"createdAt\":" + createdAtJson + "}]}}";
+        List<IndexedListing> listings = new ArrayList<>();
+        decode(body.getBytes(), listings);
+        assertThat(listings).hasSize(1);
+        return listings.get(0).getCreatedAt();
+    }
+}
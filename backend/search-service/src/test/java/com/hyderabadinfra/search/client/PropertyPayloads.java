@@ -0,0 +1,226 @@
+package com.hyderabadinfra.search.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hyderabadinfra.search.index.IndexedListing;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Property-service listing pages for the decoder test and benchmark, plus the Map-based
+ * decoding the search service used before {@link PropertyPageDecoder}.
+ */
+final class PropertyPayloads {
+
+    private static final String[] CITIES = {"Hyderabad", "Secunderabad", "Gachibowli", "Kondapur", "Madhapur"};
+    private static final String[] TYPES = {"APARTMENT", "VILLA", "INDEPENDENT_HOUSE", "PLOT", "COMMERCIAL"};
+
+    private PropertyPayloads() {}
+
+    /**
+     * Serializes as Spring Boot's ObjectMapper does: JSR-310 types as ISO strings.
+     */
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * An {@code ApiResponse<Page<PropertyResponse>>} body with every PropertyResponse field
+     * and two images per listing. Some optional fields are null, and createdAt carries
+     * 0 to 9 fraction digits.
+     */
+    static byte[] page(ObjectMapper mapper, int listings, long seed) throws IOException {
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("content", listings(listings, seed));
+        page.put("pageable", Map.of("pageNumber", 0, "pageSize", listings));
+        page.put("totalElements", 1_234L);
+        page.put("totalPages", (1_234 + listings - 1) / listings);
+        page.put("last", false);
+        page.put("size", listings);
+        page.put("number", 0);
+        page.put("first", true);
+        page.put("numberOfElements", listings);
+        page.put("empty", listings == 0);
+        return response(mapper, page);
+    }
+
+    /**
+     * An {@code ApiResponse<CursorPage<PropertyResponse>>} body.
+     */
+    static byte[] cursorPage(ObjectMapper mapper, int listings, long seed, String nextCursor) throws IOException {
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("content", listings(listings, seed));
+        page.put("size", listings);
+        page.put("hasNext", nextCursor != null);
+        if (nextCursor != null) {
+            page.put("nextCursor", nextCursor);
+        }
+        return response(mapper, page);
+    }
+
+    private static byte[] response(ObjectMapper mapper, Map<String, Object> page) throws IOException {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("message", "Success");
+        response.put("data", page);
+        response.put("timestamp", LocalDateTime.of(2024, 6, 1, 12, 0));
+        return mapper.writeValueAsBytes(response);
+    }
+
+    private static List<Map<String, Object>> listings(int count, long seed) {
+        Random random = new Random(seed);
+        List<Map<String, Object>> listings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = new UUID(random.nextLong(), random.nextLong()).toString();
+            boolean sparse = i % 7 == 3;
+            Map<String, Object> listing = new LinkedHashMap<>();
+            listing.put("id", id);
+            listing.put("title", (2 + random.nextInt(3)) + "BHK Apartment in " + CITIES[i % CITIES.length]);
+            listing.put("description", "Spacious, east facing home near the IT corridor with covered parking, "
+                    + "24x7 security, power backup and a clubhouse. Listing " + i + ".");
+            listing.put("price", BigDecimal.valueOf(2_500_000 + random.nextInt(40_000_000), random.nextInt(3)));
+            listing.put("location", CITIES[(i + 2) % CITIES.length]);
+            listing.put("address", (100 + i) + ", Road No. " + (1 + random.nextInt(40)) + ", Jubilee Hills");
+            listing.put("city", CITIES[i % CITIES.length]);
+            listing.put("state", "Telangana");
+            listing.put("pincode", sparse ? null : "5000" + (10 + random.nextInt(90)));
+            listing.put("propertyType", TYPES[i % TYPES.length]);
+            listing.put("listingType", i % 3 == 0 ? "RENT" : "SALE");
+            listing.put("bedrooms", sparse ? null : 1 + random.nextInt(5));
+            listing.put("bathrooms", sparse ? null : 1 + random.nextInt(4));
+            listing.put("areaSqft", 600 + random.nextInt(4000));
+            listing.put("parkingSpaces", random.nextInt(3));
+            listing.put("floorNumber", random.nextInt(20));
+            listing.put("totalFloors", 20);
+            listing.put("ageOfProperty", random.nextInt(15));
+            listing.put("facing", "EAST");
+            listing.put("furnishedStatus", sparse ? null : "SEMI_FURNISHED");
+            listing.put("amenities", "Gym,Swimming Pool,Clubhouse,Power Backup");
+            listing.put("nearbyFacilities", "Metro,School,Hospital");
+            List<Map<String, Object>> images = new ArrayList<>();
+            for (int image = 0; image < 2; image++) {
+                Map<String, Object> imageResponse = new LinkedHashMap<>();
+                imageResponse.put("id", id + "-" + image);
+                imageResponse.put("imageUrl", "https://cdn.hyderabadinfra.com/properties/" + id + "/" + image + ".jpg");
+                imageResponse.put("imageName", image + ".jpg");
+                imageResponse.put("isPrimary", image == 0);
+                imageResponse.put("displayOrder", image);
+                images.add(imageResponse);
+            }
+            listing.put("images", images);
+            listing.put("primaryImageUrl", images.get(0).get("imageUrl"));
+            listing.put("ownerId", "owner-" + random.nextInt(500));
+            listing.put("contactName", "Owner " + i);
+            listing.put("contactPhone", sparse ? null : "98765" + (10_000 + random.nextInt(90_000)));
+            listing.put("contactEmail", "owner" + i + "@example.com");
+            listing.put("isFeatured", random.nextInt(10) == 0);
+            listing.put("isVerified", random.nextBoolean());
+            listing.put("status", "ACTIVE");
+            listing.put("viewsCount", (long) random.nextInt(100_000));
+            listing.put("favoritesCount", (long) random.nextInt(1_000));
+            listing.put("latitude", sparse ? null : 17.3 + random.nextDouble() * 0.2);
+            listing.put("longitude", sparse ? null : 78.3 + random.nextDouble() * 0.2);
+            listing.put("createdAt", createdAt(random, i));
+            listing.put("updatedAt", LocalDateTime.of(2024, 6, 1, 12, 0));
+            listings.add(listing);
+        }
+        return listings;
+    }
+
+    // Cycles through every fraction length ISO_LOCAL_DATE_TIME writes: none, millis, micros, nanos
+    private static LocalDateTime createdAt(Random random, int i) {
+        LocalDateTime base = LocalDateTime.of(2023, 1 + random.nextInt(12), 1 + random.nextInt(28),
+                random.nextInt(24), random.nextInt(60), random.nextInt(60));
+        return switch (i % 4) {
+            case 0 -> base;
+            case 1 -> base.withNano(random.nextInt(1_000) * 1_000_000);
+            case 2 -> base.withNano(random.nextInt(1_000_000) * 1_000);
+            default -> base.withNano(random.nextInt(1_000_000_000));
+        };
+    }
+
+    /**
+     * The pre-decoder path: the whole body bound to a Map tree, then each listing cast
+     * field by field.
+     */
+    @SuppressWarnings("unchecked")
+    static List<IndexedListing> decodeWithMap(ObjectMapper mapper, byte[] body) throws IOException {
+        Map<String, Object> response = mapper.readValue(body, Map.class);
+        Map<String, Object> data = (Map<String, Object>) response.get("data");
+        List<IndexedListing> listings = new ArrayList<>();
+        for (Map<String, Object> propertyMap : (List<Map<String, Object>>) data.get("content")) {
+            listings.add(fromPropertyMap(propertyMap));
+        }
+        return listings;
+    }
+
+    static List<IndexedListing> decodeStreaming(ObjectMapper mapper, byte[] body) throws IOException {
+        List<IndexedListing> listings = new ArrayList<>();
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            PropertyPageDecoder.decode(parser, listings::add);
+        }
+        return listings;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IndexedListing fromPropertyMap(Map<String, Object> propertyMap) {
+        IndexedListing listing = new IndexedListing();
+        listing.setId((String) propertyMap.get("id"));
+        listing.setTitle((String) propertyMap.get("title"));
+        listing.setDescription((String) propertyMap.get("description"));
+        if (propertyMap.get("price") != null) {
+            listing.setPrice(new BigDecimal(propertyMap.get("price").toString()));
+        }
+        listing.setLocation((String) propertyMap.get("location"));
+        listing.setAddress((String) propertyMap.get("address"));
+        listing.setCity((String) propertyMap.get("city"));
+        listing.setState((String) propertyMap.get("state"));
+        listing.setPincode((String) propertyMap.get("pincode"));
+        listing.setPropertyType((String) propertyMap.get("propertyType"));
+        listing.setListingType((String) propertyMap.get("listingType"));
+        listing.setBedrooms((Integer) propertyMap.get("bedrooms"));
+        listing.setBathrooms((Integer) propertyMap.get("bathrooms"));
+        listing.setAreaSqft((Integer) propertyMap.get("areaSqft"));
+        listing.setFurnishedStatus((String) propertyMap.get("furnishedStatus"));
+        listing.setAmenities((String) propertyMap.get("amenities"));
+        listing.setContactName((String) propertyMap.get("contactName"));
+        listing.setContactPhone((String) propertyMap.get("contactPhone"));
+        listing.setIsFeatured((Boolean) propertyMap.get("isFeatured"));
+        listing.setIsVerified((Boolean) propertyMap.get("isVerified"));
+        if (propertyMap.get("viewsCount") != null) {
+            listing.setViewsCount(Long.valueOf(propertyMap.get("viewsCount").toString()));
+        }
+        if (propertyMap.get("favoritesCount") != null) {
+            listing.setFavoritesCount(Long.valueOf(propertyMap.get("favoritesCount").toString()));
+        }
+        if (propertyMap.get("latitude") != null) {
+            listing.setLatitude(((Number) propertyMap.get("latitude")).doubleValue());
+        }
+        if (propertyMap.get("longitude") != null) {
+            listing.setLongitude(((Number) propertyMap.get("longitude")).doubleValue());
+        }
+        if (propertyMap.get("createdAt") != null) {
+            listing.setCreatedAt(LocalDateTime.parse(propertyMap.get("createdAt").toString()));
+        }
+
+        List<Map<String, Object>> images = (List<Map<String, Object>>) propertyMap.get("images");
+        if (images != null) {
+            listing.setImages(images.stream()
+                    .map(img -> (String) img.get("imageUrl"))
+                    .toList());
+        }
+        return listing;
+    }
+}
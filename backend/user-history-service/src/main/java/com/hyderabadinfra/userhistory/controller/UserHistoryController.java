@@ -28,26 +28,35 @@ public class UserHistoryController {
     
     /**
      * GET /api/user-history/{userId}
-     * Get complete user activity history with pagination
+     * Get complete user activity history, keyset-paginated with an opaque cursor.
+     * {@code page} is deprecated: it is honoured only without a cursor, for one more release.
      */
     @GetMapping("/{userId}")
     public ResponseEntity<ApiResponse<UserHistoryResponse>> getUserHistory(
             @PathVariable String userId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer page,
             @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             @RequestHeader(value = "X-User-Id", required = false) String requestingUserId) {
         
         try {
-            logger.info("Fetching user history for userId: {}, page: {}, size: {}", userId, page, size);
+            logger.info("Fetching user history for userId: {}, cursor: {}, size: {}", userId, cursor, size);
             
             // In production, add authorization check here
             // if (!userId.equals(requestingUserId) && !isAdmin(requestingUserId)) {
             //     return ResponseEntity.status(403).body(ApiResponse.error("Access denied"));
             // }
             
-            UserHistoryResponse history = queryHandler.getUserHistory(userId, page, size);
+            UserHistoryResponse history;
+            if (page != null && (cursor == null || cursor.isBlank())) {
+                logger.warn("Deprecated page parameter used for user history of {}; switch to cursor", userId);
+                history = queryHandler.getUserHistoryPage(userId, page, size);
+            } else {
+                history = queryHandler.getUserHistory(userId, cursor, size, includeTotal);
+            }
             
-            logger.info("Retrieved {} activities for user {}", history.getTotalActivities(), userId);
+            logger.info("Retrieved {} activities for user {}", history.getActivities().size(), userId);
             return ResponseEntity.ok(ApiResponse.success("User history retrieved successfully", history));
             
         } catch (Exception e) {
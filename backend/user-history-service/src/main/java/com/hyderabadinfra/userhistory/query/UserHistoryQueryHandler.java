@@ -1,5 +1,6 @@
 package com.hyderabadinfra.userhistory.query;
 
+import com.hyderabadinfra.common.util.PageCursor;
 import com.hyderabadinfra.userhistory.domain.UserActivity;
 import com.hyderabadinfra.userhistory.repository.UserActivityRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -38,12 +39,14 @@ public class UserHistoryQueryHandler {
     
     private static final String CACHE_PREFIX = "user_history:";
     private static final int CACHE_TTL_MINUTES = 5;
+    private static final String HISTORY_ORDERING = "timestamp:desc";
     
     /**
-     * Get complete user activity history with caching
+     * Get complete user activity history with caching. Pages are keyset-paginated on
+     * (timestamp, activityId); the total is only counted when {@code includeTotal} is set.
      */
-    public UserHistoryResponse getUserHistory(String userId, int page, int size) {
-        String cacheKey = CACHE_PREFIX + userId + ":" + page + ":" + size;
+    public UserHistoryResponse getUserHistory(String userId, String cursor, int size, boolean includeTotal) {
+        String cacheKey = CACHE_PREFIX + userId + ":" + (cursor != null ? cursor : "") + ":" + size + ":" + includeTotal;
         
         try {
             // Try cache first
@@ -56,26 +59,95 @@ public class UserHistoryQueryHandler {
             logger.warn("Cache error, fetching from database: {}", e.getMessage());
         }
         
-        // Fetch from database
-        Pageable pageable = PageRequest.of(page, size, Sort.by("timestamp").descending());
+        // Fetch from database; one extra row tells whether there is a next page
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<UserActivity> activities;
+        if (cursor == null || cursor.isBlank()) {
+            activities = userActivityRepository.findByUserIdOrderByTimestampDescActivityIdDesc(userId, pageable);
+        } else {
+            List<String> keys = PageCursor.decode(cursor, HISTORY_ORDERING, 2);
+            activities = userActivityRepository.findByUserIdBefore(
+                userId, Instant.parse(keys.get(0)), UUID.fromString(keys.get(1)), pageable);
+        }
+        
+        String nextCursor = null;
+        if (activities.size() > size) {
+            activities = activities.subList(0, size);
+            UserActivity last = activities.get(size - 1);
+            nextCursor = PageCursor.encode(HISTORY_ORDERING, last.getTimestamp().toString(), last.getActivityId().toString());
+        }
+        
+        UserHistoryResponse response = new UserHistoryResponse();
+        response.setUserId(userId);
+        response.setActivities(new ArrayList<>(activities));
+        response.setNextCursor(nextCursor);
+        response.setHasNext(nextCursor != null);
+        if (includeTotal) {
+            response.setTotalActivities(userActivityRepository.countByUserId(userId));
+        }
+        response.setSummary(generateActivitySummary(userId));
+        
+        // Cache the result
+        try {
+            redisTemplate.opsForValue().set(cacheKey, response, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
+        } catch (Exception e) {
+            logger.warn("Failed to cache user history: {}", e.getMessage());
+        }
+        
+        logger.info("Retrieved history for user {} - {} activities", userId, activities.size());
+        return response;
+    }
+    
+    /**
+     * Offset-paged user history, kept for clients still sending {@code page}.
+     *
+     * @deprecated page by cursor with {@link #getUserHistory(String, String, int, boolean)};
+     * this path reads and discards every row before the page and will be removed next release.
+     * Its response also carries the cursor for the following page, so a client can switch
+     * mid-listing.
+     */
+    @Deprecated
+    public UserHistoryResponse getUserHistoryPage(String userId, int page, int size) {
+        String cacheKey = CACHE_PREFIX + userId + ":page:" + page + ":" + size;
+        
+        try {
+            Object cached = redisTemplate.opsForValue().get(cacheKey);
+            if (cached != null) {
+                logger.debug("Retrieved user history from cache for user: {}", userId);
+                return objectMapper.convertValue(cached, UserHistoryResponse.class);
+            }
+        } catch (Exception e) {
+            logger.warn("Cache error, fetching from database: {}", e.getMessage());
+        }
+        
+        // activityId tie-break (after the derived timestamp order) matches the cursor order
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "activityId"));
         Page<UserActivity> activities = userActivityRepository.findByUserIdOrderByTimestampDesc(userId, pageable);
         
+        String nextCursor = null;
+        if (activities.hasNext() && activities.hasContent()) {
+            List<UserActivity> content = activities.getContent();
+            UserActivity last = content.get(content.size() - 1);
+            nextCursor = PageCursor.encode(HISTORY_ORDERING, last.getTimestamp().toString(), last.getActivityId().toString());
+        }
+        
         UserHistoryResponse response = new UserHistoryResponse();
         response.setUserId(userId);
-        response.setActivities(activities.getContent());
+        response.setActivities(new ArrayList<>(activities.getContent()));
         response.setTotalActivities(activities.getTotalElements());
         response.setCurrentPage(page);
         response.setTotalPages(activities.getTotalPages());
+        response.setNextCursor(nextCursor);
+        response.setHasNext(nextCursor != null);
         response.setSummary(generateActivitySummary(userId));
         
-        // Cache the result
         try {
             redisTemplate.opsForValue().set(cacheKey, response, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
         } catch (Exception e) {
             logger.warn("Failed to cache user history: {}", e.getMessage());
         }
         
-        logger.info("Retrieved history for user {} - {} activities", userId, activities.getTotalElements());
+        logger.info("Retrieved history page {} for user {} - {} activities", page, userId, activities.getNumberOfElements());
         return response;
     }
     
@@ -143,9 +215,12 @@ public class UserHistoryQueryHandler {
     public static class UserHistoryResponse {
         private String userId;
         private List<UserActivity> activities;
-        private long totalActivities;
-        private int currentPage;
-        private int totalPages;
+        private Long totalActivities;
+        // Only set on the deprecated offset path
+        private Integer currentPage;
+        private Integer totalPages;
+        private String nextCursor;
+        private boolean hasNext;
         private UserActivitySummary summary;
         
         // Getters and Setters
@@ -155,14 +230,20 @@ public class UserHistoryQueryHandler {
         public List<UserActivity> getActivities() { return activities; }
         public void setActivities(List<UserActivity> activities) { this.activities = activities; }
         
-        public long getTotalActivities() { return totalActivities; }
-        public void setTotalActivities(long totalActivities) { this.totalActivities = totalActivities; }
+        public Long getTotalActivities() { return totalActivities; }
+        public void setTotalActivities(Long totalActivities) { this.totalActivities = totalActivities; }
+        
+        public Integer getCurrentPage() { return currentPage; }
+        public void setCurrentPage(Integer currentPage) { this.currentPage = currentPage; }
+        
+        public Integer getTotalPages() { return totalPages; }
+        public void setTotalPages(Integer totalPages) { this.totalPages = totalPages; }
         
-        public int getCurrentPage() { return currentPage; }
-        public void setCurrentPage(int currentPage) { this.currentPage = currentPage; }
+        public String getNextCursor() { return nextCursor; }
+        public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
         
-        public int getTotalPages() { return totalPages; }
-        public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+        public boolean isHasNext() { return hasNext; }
+        public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
         
         public UserActivitySummary getSummary() { return summary; }
         public void setSummary(UserActivitySummary summary) { this.summary = summary; }
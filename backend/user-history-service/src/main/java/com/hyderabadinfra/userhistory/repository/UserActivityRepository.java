@@ -23,6 +23,22 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, UUID
      */
     Page<UserActivity> findByUserIdOrderByTimestampDesc(String userId, Pageable pageable);
     
+    /**
+     * First keyset page of a user's activities, newest first (no count query)
+     */
+    List<UserActivity> findByUserIdOrderByTimestampDescActivityIdDesc(String userId, Pageable pageable);
+    
+    /**
+     * Keyset page of a user's activities strictly older than (timestamp, activityId)
+     */
+    @Query("SELECT ua FROM UserActivity ua WHERE ua.userId = :userId " +
+           "AND (ua.timestamp < :timestamp OR (ua.timestamp = :timestamp AND ua.activityId < :activityId)) " +
+           "ORDER BY ua.timestamp DESC, ua.activityId DESC")
+    List<UserActivity> findByUserIdBefore(@Param("userId") String userId,
+                                          @Param("timestamp") Instant timestamp,
+                                          @Param("activityId") UUID activityId,
+                                          Pageable pageable);
+    
     /**
      * Find recent activities for a user since a specific timestamp
      */
@@ -6,6 +6,8 @@ class CQRSHyderabadAPI {
         this.baseURL = 'http://localhost:8080';
         this.currentUserId = null;
         this.sessionId = this.generateSessionId();
+        this.historyActivities = [];
+        this.historyNextCursor = null;
     }
 
     generateSessionId() {
@@ -114,14 +116,19 @@ class CQRSHyderabadAPI {
     // ==================== QUERY OPERATIONS (Read Side) ====================
     
     /**
-     * Get user's complete activity history
+     * Get user's complete activity history. Pass the previous page's nextCursor
+     * to fetch the following page; without one, the history starts from the newest.
      */
-    async getUserHistory(page = 0, size = 20) {
+    async getUserHistory(cursor = null, size = 20) {
         try {
             console.log(`📊 Fetching user history for ${this.currentUserId}...`);
             
+            const params = new URLSearchParams({ size });
+            if (cursor) {
+                params.set('cursor', cursor);
+            }
             const response = await this.makeRequest(
-                `/api/user-history/${this.currentUserId}?page=${page}&size=${size}`,
+                `/api/user-history/${this.currentUserId}?${params}`,
                 {
                     headers: {
                         'X-User-Id': this.currentUserId
@@ -130,7 +137,10 @@ class CQRSHyderabadAPI {
             );
 
             if (response.success) {
-                this.displayUserHistory(response.data);
+                const activities = response.data.activities || [];
+                this.historyActivities = cursor ? this.historyActivities.concat(activities) : activities;
+                this.historyNextCursor = response.data.nextCursor || null;
+                this.displayUserHistory({ ...response.data, activities: this.historyActivities });
             }
 
             return response;
@@ -140,6 +150,16 @@ class CQRSHyderabadAPI {
         }
     }
 
+    /**
+     * Fetch the next page of history after the ones already shown, if there is one
+     */
+    async loadMoreUserHistory(size = 20) {
+        if (!this.historyNextCursor) {
+            return null;
+        }
+        return this.getUserHistory(this.historyNextCursor, size);
+    }
+
     /**
      * Get user's recent activities (last 24 hours)
      */
@@ -332,6 +352,15 @@ class CQRSHyderabadAPI {
             content.innerHTML = '<div style="text-align: center; color: #666; padding: 20px;">No activities found</div>';
         }
 
+        // Older activities are fetched with the cursor from the last page
+        if (historyData.hasNext) {
+            const loadMore = document.createElement('button');
+            loadMore.textContent = 'Load more';
+            loadMore.style.cssText = 'width: 100%; padding: 8px; margin-top: 10px; border: 1px solid #ddd; border-radius: 6px; background: #f8f9fa; cursor: pointer;';
+            loadMore.addEventListener('click', () => this.loadMoreUserHistory());
+            content.appendChild(loadMore);
+        }
+
         historyContainer.appendChild(header);
         historyContainer.appendChild(content);
         document.body.appendChild(historyContainer);
@@ -413,7 +442,7 @@ class CQRSHyderabadAPI {
      * Convenience method to fetch and display history
      */
     async fetchUserHistory(showInUI = true) {
-        const history = await this.getUserHistory(0, 10);
+        const history = await this.getUserHistory(null, 10);
         if (showInUI && history.success) {
             // Automatically show history for a few seconds
             setTimeout(() => {